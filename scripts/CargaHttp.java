@@ -0,0 +1,91 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga simples para comparar os modos de execução da API
+ * (threads do Tomcat x perfil "virtual").
+ * - Cada cliente faz requisições GET em sequência durante o tempo definido.
+ * - Ao final, mostra a vazão (requisições por segundo) e as latências p50, p99 e máxima.
+ *
+ * Uso (Java 21, sem compilar):
+ *   java scripts/CargaHttp.java <url> <clientes> <segundos>
+ *   java scripts/CargaHttp.java http://localhost:8080/categorias/1 1000 30
+ */
+public class CargaHttp {
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/categorias/1");
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(60)).GET().build();
+
+        AtomicLong falhas = new AtomicLong();   // Respostas diferentes de 2xx e erros de conexão
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        long inicio = System.nanoTime();
+
+        List<Future<long[]>> resultados = new ArrayList<>(clientes);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) { // Um cliente por virtual thread
+            for (int c = 0; c < clientes; c++) {
+                resultados.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];  // Latência de cada requisição deste cliente (nanos)
+                    int total = 0;
+                    while (System.nanoTime() < fim) {
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() / 100 != 2) {
+                                falhas.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            falhas.incrementAndGet();
+                        }
+                        if (total == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        }
+                        latencias[total++] = System.nanoTime() - antes;
+                    }
+                    return Arrays.copyOf(latencias, total);
+                }));
+            }
+        }
+        double duracao = (System.nanoTime() - inicio) / 1e9;
+
+        // Junta as latências de todos os clientes para calcular os percentis
+        long[] todas = resultados.stream().map(CargaHttp::valor).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("url=%s clientes=%d duracao=%.1fs%n", url, clientes, duracao);
+        System.out.printf("requisicoes=%d falhas=%d vazao=%.1f req/s%n", todas.length, falhas.get(), todas.length / duracao);
+        if (todas.length > 0) {
+            System.out.printf("p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    percentil(todas, 0.50), percentil(todas, 0.99), todas[todas.length - 1] / 1e6);
+        }
+    }
+
+    // Percentil (em milissegundos) de uma lista de latências já ordenada
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    private static long[] valor(Future<long[]> futuro) {
+        try {
+            return futuro.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cenário de carga misto sobre a API, com relatório por endpoint (usado por scripts/teste-carga.sh).
+ * - Mistura: 70% leituras, 20% filtros e 10% escritas; dentro de cada grupo, cada operação tem um peso
+ *   (ver OPERACOES). Cobre os endpoints de LancamentoController, PessoaController e CategoriaController,
+ *   exceto POST /lancamentos/arquivamento (moveria os dados de tabela no meio da medição).
+ * - Clientes em malha fechada (uma requisição após a outra), cada um com o seu Random(semente + cliente):
+ *   com a mesma semente, cada cliente repete a mesma sequência de operações.
+ * - Ids escolhidos com viés para os primeiros (as pessoas e categorias com mais lançamentos no gerador);
+ *   exclusões e alterações completas usam os registros que o próprio cliente criou.
+ * - Aquecimento sem medição e depois a medição; o relatório (Markdown) traz, por endpoint: requisições,
+ *   falhas (status diferente de 2xx/304), vazão, latências p50/p95/p99/máx e comandos SQL por requisição
+ *   (métrica financeiro.sql.por.requisicao, lida em /actuator/metrics antes e depois da medição).
+ * - Os dados são os do perfil "carga" (GeradorDadosService); a data de referência precisa ser a mesma
+ *   de financeiro.gerador.referencia (padrão 2025-12-31; outra: -Dreferencia=AAAA-MM-DD).
+ *
+ * Uso (Java 21, sem compilar):
+ *   java scripts/CenarioCarga.java <url> <clientes> <segundos> [aquecimento] [semente] [relatorio.md]
+ *   java scripts/CenarioCarga.java http://localhost:8080 50 60 15 42 carga-relatorio.md
+ */
+public class CenarioCarga {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String[] PALAVRAS = {"supermercado", "aluguel", "energia", "salário", "farmácia", "restaurante"};
+
+    // Dados existentes, lidos da API antes do teste
+    private static long[] pessoas;
+    private static long[] categorias;
+    private static long[] lancamentos;
+    private static LocalDate referencia;
+
+    /**
+     * Uma operação do cenário: grupo e peso no sorteio, endpoint (método + rota, como na métrica) e
+     * a requisição. criar retorna null quando a operação não se aplica agora (ex: excluir sem ter criado);
+     * nesse caso outra operação é sorteada. lerId guarda o id da resposta na lista do cliente.
+     */
+    record Operacao(String grupo, int peso, String metodo, String rota, boolean streaming,
+                    Function<Cliente, HttpRequest> criar, Function<Cliente, Deque<Long>> lerId) { }
+
+    // Estado de um cliente: sorteio próprio e registros que ele criou
+    static final class Cliente {
+        final Random aleatorio;
+        final Deque<Long> lancamentos = new ArrayDeque<>();
+        final Deque<Long> pessoas = new ArrayDeque<>();
+        final Deque<Long> categorias = new ArrayDeque<>();
+
+        Cliente(long semente) {
+            this.aleatorio = new Random(semente);
+        }
+
+        // Índice 0..n-1 com viés para os primeiros (metade dos sorteios cai nos primeiros 25%)
+        int enviesado(int n) {
+            double u = aleatorio.nextDouble();
+            return (int) (n * u * u);
+        }
+
+        long qualquer(long[] ids) {
+            return ids[enviesado(ids.length)];
+        }
+
+        String mes() { // Faixa de datas de um dos 12 meses anteriores à referência (recentes mais frequentes)
+            LocalDate inicio = referencia.withDayOfMonth(1).minusMonths(enviesado(12));
+            return "dataInicial=" + inicio + "&dataFinal=" + inicio.plusMonths(1).minusDays(1);
+        }
+    }
+
+    private static final Map<String, Integer> GRUPOS = Map.of("leitura", 70, "filtro", 20, "escrita", 10);
+
+    private static final List<Operacao> OPERACOES = List.of(
+            // Leituras (70%)
+            get("leitura", 30, "/lancamentos/{id}", c -> "/lancamentos/" + c.qualquer(lancamentos)),
+            get("leitura", 15, "/pessoas/{id}", c -> "/pessoas/" + c.qualquer(pessoas)),
+            get("leitura", 10, "/categorias/{id}", c -> "/categorias/" + c.qualquer(categorias)),
+            get("leitura", 10, "/categorias", c -> "/categorias"),
+            get("leitura", 15, "/lancamentos/pagina", c -> "/lancamentos/pagina?tamanho=50"),
+            get("leitura", 5, "/pessoas", c -> "/pessoas"),
+            get("leitura", 4, "/lancamentos/changes", c -> "/lancamentos/changes?since=0&limite=100&espera=0"),
+            streaming("leitura", 1, "/lancamentos", c -> "/lancamentos"),
+            // Filtros (20%)
+            streaming("filtro", 35, "/lancamentos/filtro", c -> "/lancamentos/filtro?idPessoa=" + c.qualquer(pessoas)
+                    + "&dataInicial=" + referencia.minusYears(1) + "&dataFinal=" + referencia),
+            streaming("filtro", 25, "/lancamentos/filtro", c -> "/lancamentos/filtro?idCategoria=" + c.qualquer(categorias)
+                    + "&tipo=DESPESA&" + c.mes()),
+            get("filtro", 20, "/lancamentos/resumo", c -> "/lancamentos/resumo?idPessoa=" + c.qualquer(pessoas)
+                    + "&dataInicial=" + referencia.minusYears(1) + "&dataFinal=" + referencia + "&agrupar=MES,CATEGORIA"),
+            get("filtro", 12, "/lancamentos/busca", c -> "/lancamentos/busca?texto="
+                    + URLEncoder.encode(PALAVRAS[c.aleatorio.nextInt(PALAVRAS.length)], StandardCharsets.UTF_8) + "&idPessoa=" + c.qualquer(pessoas)),
+            streaming("filtro", 8, "/lancamentos/export", c -> "/lancamentos/export?compactar=true&" + c.mes()),
+            // Escritas (10%)
+            new Operacao("escrita", 30, "POST", "/lancamentos", false,
+                    c -> json("POST", "/lancamentos", lancamento(c)), c -> c.lancamentos),
+            new Operacao("escrita", 20, "PATCH", "/lancamentos/{id}", false,
+                    c -> json("PATCH", "/lancamentos/" + c.qualquer(lancamentos),
+                            "{\"dataPagamento\":\"" + referencia.minusDays(c.aleatorio.nextInt(30)) + "\"}"), null),
+            new Operacao("escrita", 10, "PUT", "/lancamentos/{id}", false,
+                    c -> c.lancamentos.isEmpty() ? null : json("PUT", "/lancamentos/" + c.lancamentos.peekLast(), lancamento(c)), null),
+            new Operacao("escrita", 10, "DELETE", "/lancamentos/{id}", false,
+                    c -> c.lancamentos.isEmpty() ? null : requisicao("/lancamentos/" + c.lancamentos.pollFirst()).DELETE().build(), null),
+            new Operacao("escrita", 5, "POST", "/lancamentos/lote", false,
+                    c -> json("POST", "/lancamentos/lote", lote(c, 20)), null),
+            new Operacao("escrita", 5, "POST", "/lancamentos/baixa", false,
+                    c -> c.lancamentos.isEmpty() ? null : json("POST", "/lancamentos/baixa", "{\"dataPagamento\":\"" + referencia
+                            + "\",\"ids\":" + c.lancamentos.stream().limit(5).toList() + "}"), null),
+            new Operacao("escrita", 6, "PUT", "/pessoas/{id}", false,
+                    c -> json("PUT", "/pessoas/" + pessoas[c.aleatorio.nextInt(pessoas.length)], pessoa(c)), null),
+            new Operacao("escrita", 4, "POST", "/pessoas", false,
+                    c -> json("POST", "/pessoas", pessoa(c)), c -> c.pessoas),
+            new Operacao("escrita", 2, "DELETE", "/pessoas/{id}", false,
+                    c -> c.pessoas.isEmpty() ? null : requisicao("/pessoas/" + c.pessoas.pollFirst()).DELETE().build(), null),
+            new Operacao("escrita", 3, "POST", "/categorias", false,
+                    c -> json("POST", "/categorias", "{\"nome\":\"Carga " + c.aleatorio.nextInt(1_000_000) + "\"}"), c -> c.categorias),
+            new Operacao("escrita", 3, "PUT", "/categorias/{id}", false,
+                    c -> c.categorias.isEmpty() ? null : json("PUT", "/categorias/" + c.categorias.peekLast(),
+                            "{\"nome\":\"Carga alterada " + c.aleatorio.nextInt(1_000_000) + "\"}"), null),
+            new Operacao("escrita", 2, "DELETE", "/categorias/{id}", false,
+                    c -> c.categorias.isEmpty() ? null : requisicao("/categorias/" + c.categorias.pollFirst()).DELETE().build(), null));
+
+    private static final Map<String, List<Operacao>> POR_GRUPO = OPERACOES.stream()
+            .collect(java.util.stream.Collectors.groupingBy(Operacao::grupo));
+
+    private static String base;
+    private static HttpClient http;
+
+    public static void main(String[] args) throws Exception {
+        base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int aquecimento = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        long semente = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        Path relatorio = Path.of(args.length > 5 ? args[5] : "carga-relatorio.md");
+        referencia = LocalDate.parse(System.getProperty("referencia", "2025-12-31"));
+
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Ids existentes: todas as categorias e pessoas e os lançamentos dos últimos 90 dias
+        categorias = ids(get("/categorias"));
+        pessoas = ids(get("/pessoas"));
+        lancamentos = ids(get("/lancamentos/filtro?dataInicial=" + referencia.minusDays(90) + "&dataFinal=" + referencia));
+        if (categorias.length == 0 || pessoas.length == 0 || lancamentos.length == 0) {
+            throw new IllegalStateException("Sem dados para o teste: suba a aplicação com o perfil carga");
+        }
+
+        // Endpoints na ordem da tabela de operações, sem repetir
+        Map<String, Integer> endpoints = new LinkedHashMap<>();
+        for (Operacao op : OPERACOES) {
+            endpoints.putIfAbsent(op.metodo() + " " + op.rota(), endpoints.size());
+        }
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + Duration.ofSeconds(aquecimento).toNanos();
+        long fim = inicioMedicao + Duration.ofSeconds(segundos).toNanos();
+
+        List<Future<Medicao[]>> resultados = new ArrayList<>(clientes);
+        Map<String, double[]> sqlAntes;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) { // Um cliente por virtual thread
+            for (int c = 0; c < clientes; c++) {
+                Cliente cliente = new Cliente(semente + c);
+                resultados.add(executor.submit(() -> executar(cliente, endpoints, inicioMedicao, fim)));
+            }
+            Thread.sleep(Duration.ofNanos(inicioMedicao - System.nanoTime()));
+            sqlAntes = sql(endpoints.keySet());
+        }
+        Map<String, double[]> sqlDepois = sql(endpoints.keySet());
+
+        // Junta as medições de todos os clientes por endpoint
+        Medicao[] total = new Medicao[endpoints.size()];
+        for (int i = 0; i < total.length; i++) {
+            total[i] = new Medicao();
+        }
+        for (Future<Medicao[]> resultado : resultados) {
+            Medicao[] doCliente = resultado.get();
+            for (int i = 0; i < total.length; i++) {
+                total[i].juntar(doCliente[i]);
+            }
+        }
+
+        String texto = relatorio(endpoints, total, sqlAntes, sqlDepois, clientes, segundos, aquecimento, semente);
+        Files.writeString(relatorio, texto);
+        System.out.print(texto);
+        System.out.println("Relatório: " + relatorio);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Laço de um cliente: sorteia e executa operações até o fim, medindo só depois do aquecimento
+    private static Medicao[] executar(Cliente c, Map<String, Integer> endpoints, long inicioMedicao, long fim) {
+        Medicao[] medicoes = new Medicao[endpoints.size()];
+        for (int i = 0; i < medicoes.length; i++) {
+            medicoes[i] = new Medicao();
+        }
+        while (System.nanoTime() < fim) {
+            Operacao op = sortear(c.aleatorio);
+            HttpRequest requisicao = op.criar().apply(c);
+            if (requisicao == null) { // Não se aplica agora (ex: nada criado para excluir)
+                continue;
+            }
+            long antes = System.nanoTime();
+            boolean ok;
+            try {
+                if (op.lerId() != null) {
+                    HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                    ok = sucesso(resposta.statusCode());
+                    Matcher m = ID.matcher(resposta.body());
+                    if (ok && m.find()) {
+                        op.lerId().apply(c).addLast(Long.parseLong(m.group(1)));
+                    }
+                } else {
+                    ok = sucesso(http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode());
+                }
+            } catch (Exception e) {
+                ok = false;
+            }
+            long depois = System.nanoTime();
+            if (antes >= inicioMedicao && depois <= fim) {
+                medicoes[endpoints.get(op.metodo() + " " + op.rota())].registrar(depois - antes, ok);
+            }
+        }
+        return medicoes;
+    }
+
+    // Sorteia o grupo (70/20/10) e, dentro dele, a operação pelo peso
+    private static Operacao sortear(Random aleatorio) {
+        int r = aleatorio.nextInt(100);
+        String grupo = r < GRUPOS.get("leitura") ? "leitura" : r < GRUPOS.get("leitura") + GRUPOS.get("filtro") ? "filtro" : "escrita";
+        List<Operacao> doGrupo = POR_GRUPO.get(grupo);
+        int sorteio = aleatorio.nextInt(doGrupo.stream().mapToInt(Operacao::peso).sum());
+        for (Operacao op : doGrupo) {
+            sorteio -= op.peso();
+            if (sorteio < 0) {
+                return op;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static boolean sucesso(int status) {
+        return status / 100 == 2 || status == 304;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Latências e falhas de um endpoint
+    static final class Medicao {
+        long[] latencias = new long[256]; // Nanos
+        int total;
+        int falhas;
+
+        void registrar(long nanos, boolean ok) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = nanos;
+            if (!ok) {
+                falhas++;
+            }
+        }
+
+        void juntar(Medicao outra) {
+            latencias = Arrays.copyOf(latencias, total + outra.total);
+            System.arraycopy(outra.latencias, 0, latencias, total, outra.total);
+            total += outra.total;
+            falhas += outra.falhas;
+        }
+    }
+
+    private static String relatorio(Map<String, Integer> endpoints, Medicao[] medicoes, Map<String, double[]> sqlAntes,
+                                    Map<String, double[]> sqlDepois, int clientes, int segundos, int aquecimento, long semente) {
+        var texto = new java.io.ByteArrayOutputStream();
+        PrintStream saida = new PrintStream(texto, true, StandardCharsets.UTF_8);
+        saida.printf("# Teste de carga - %s%n%n", LocalDateTime.now().withNano(0));
+        saida.printf("- url: %s; clientes: %d; medição: %d s (após %d s de aquecimento); semente: %d%n",
+                base, clientes, segundos, aquecimento, semente);
+        saida.printf("- mistura: %d%% leituras, %d%% filtros, %d%% escritas; dados: %d pessoas, %d categorias, "
+                        + "%d lançamentos nos 90 dias até %s%n%n", GRUPOS.get("leitura"), GRUPOS.get("filtro"),
+                GRUPOS.get("escrita"), pessoas.length, categorias.length, lancamentos.length, referencia);
+        saida.println("| endpoint | req | falhas | req/s | p50 ms | p95 ms | p99 ms | máx ms | SQL/req |");
+        saida.println("|---|---:|---:|---:|---:|---:|---:|---:|---:|");
+
+        long[] todas = new long[0];
+        int falhas = 0;
+        for (Map.Entry<String, Integer> e : endpoints.entrySet()) {
+            Medicao m = medicoes[e.getValue()];
+            long[] ordenadas = Arrays.copyOf(m.latencias, m.total);
+            Arrays.sort(ordenadas);
+            boolean streaming = OPERACOES.stream().anyMatch(op -> (op.metodo() + " " + op.rota()).equals(e.getKey()) && op.streaming());
+            saida.printf(Locale.ROOT, "| %s | %d | %d | %.1f | %s | %s | %s | %s | %s |%n", e.getKey(), m.total, m.falhas,
+                    m.total / (double) segundos, percentil(ordenadas, 0.50), percentil(ordenadas, 0.95),
+                    percentil(ordenadas, 0.99), percentil(ordenadas, 1.0),
+                    sqlPorRequisicao(sqlAntes.get(e.getKey()), sqlDepois.get(e.getKey())) + (streaming ? " *" : ""));
+            int n = todas.length;
+            todas = Arrays.copyOf(todas, n + m.total);
+            System.arraycopy(ordenadas, 0, todas, n, m.total);
+            falhas += m.falhas;
+        }
+        Arrays.sort(todas);
+        saida.printf(Locale.ROOT, "| **total** | %d | %d | %.1f | %s | %s | %s | %s | |%n%n", todas.length, falhas,
+                todas.length / (double) segundos, percentil(todas, 0.50), percentil(todas, 0.95),
+                percentil(todas, 0.99), percentil(todas, 1.0));
+        saida.println("\\* resposta em streaming: as consultas feitas ao escrever o corpo (fora da thread da requisição)");
+        saida.println("não entram na contagem de SQL.");
+        return texto.toString(StandardCharsets.UTF_8);
+    }
+
+    // Percentil (em milissegundos) de uma lista de latências já ordenada
+    private static String percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return "-";
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return String.format(Locale.ROOT, "%.1f", ordenadas[Math.max(indice, 0)] / 1e6);
+    }
+
+    // Média de comandos SQL por requisição entre as duas leituras da métrica ({quantidade, soma})
+    private static String sqlPorRequisicao(double[] antes, double[] depois) {
+        double quantidade = depois[0] - antes[0];
+        return quantidade > 0 ? String.format(Locale.ROOT, "%.1f", (depois[1] - antes[1]) / quantidade) : "-";
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Quantidade e soma de financeiro.sql.por.requisicao de cada endpoint ("GET /lancamentos/{id}")
+    private static Map<String, double[]> sql(Iterable<String> endpoints) throws IOException, InterruptedException {
+        Map<String, double[]> valores = new LinkedHashMap<>();
+        for (String endpoint : endpoints) {
+            String[] partes = endpoint.split(" ");
+            HttpResponse<String> resposta = http.send(requisicao("/actuator/metrics/financeiro.sql.por.requisicao?tag="
+                    + URLEncoder.encode("uri:" + partes[1], StandardCharsets.UTF_8) + "&tag="
+                    + URLEncoder.encode("method:" + partes[0], StandardCharsets.UTF_8)).build(), HttpResponse.BodyHandlers.ofString());
+            valores.put(endpoint, resposta.statusCode() == 200 // 404: nenhuma requisição ainda
+                    ? new double[]{estatistica(resposta.body(), "COUNT"), estatistica(resposta.body(), "TOTAL")}
+                    : new double[]{0, 0});
+        }
+        return valores;
+    }
+
+    private static double estatistica(String json, String nome) {
+        Matcher m = Pattern.compile("\"statistic\"\\s*:\\s*\"" + nome + "\"\\s*,\\s*\"value\"\\s*:\\s*([-0-9.E]+)").matcher(json);
+        return m.find() ? Double.parseDouble(m.group(1)) : 0;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    private static Operacao get(String grupo, int peso, String rota, Function<Cliente, String> caminho) {
+        return new Operacao(grupo, peso, "GET", rota, false, c -> requisicao(caminho.apply(c)).GET().build(), null);
+    }
+
+    private static Operacao streaming(String grupo, int peso, String rota, Function<Cliente, String> caminho) {
+        return new Operacao(grupo, peso, "GET", rota, true, c -> requisicao(caminho.apply(c)).GET().build(), null);
+    }
+
+    private static HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(Duration.ofSeconds(60));
+    }
+
+    private static HttpRequest json(String metodo, String caminho, String corpo) {
+        return requisicao(caminho).header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo)).build();
+    }
+
+    private static String get(String caminho) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(requisicao(caminho).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("GET " + caminho + ": HTTP " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+
+    private static long[] ids(String json) {
+        return ID.matcher(json).results().mapToLong(r -> Long.parseLong(r.group(1))).toArray();
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    private static String lancamento(Cliente c) {
+        boolean receita = c.aleatorio.nextInt(100) < 20;
+        return String.format(Locale.ROOT, "{\"descricao\":\"%s carga\",\"dataVencimento\":\"%s\",\"valor\":%.2f,"
+                        + "\"tipo\":\"%s\",\"idCategoria\":%d,\"idPessoa\":%d}",
+                receita ? "Freelance" : "Supermercado", referencia.minusDays(c.aleatorio.nextInt(60) - 30),
+                10 + c.aleatorio.nextDouble() * 490, receita ? "RECEITA" : "DESPESA",
+                c.qualquer(categorias), c.qualquer(pessoas));
+    }
+
+    private static String lote(Cliente c, int tamanho) {
+        List<String> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            itens.add(lancamento(c));
+        }
+        return "[" + String.join(",", itens) + "]";
+    }
+
+    private static String pessoa(Cliente c) {
+        return "{\"nome\":\"Pessoa carga " + c.aleatorio.nextInt(1_000_000) + "\",\"ativo\":true,\"endereco\":{"
+                + "\"logradouro\":\"Rua A\",\"numero\":\"" + (1 + c.aleatorio.nextInt(999)) + "\",\"bairro\":\"Centro\","
+                + "\"cep\":\"58000-000\",\"cidade\":\"João Pessoa\",\"estado\":\"PB\"}}";
+    }
+}
@@ -0,0 +1,37 @@
+#!/bin/sh
+#
+# Compara a latência do filtro de lançamentos antes e depois do arquivamento
+# (tabela única x tabela ativa + lancamento_arquivo).
+# - Requer a aplicação no ar com o MySQL carregado com vários anos de lançamentos.
+# - Mede, com o CargaHttp, uma faixa recente (só a tabela ativa depois do arquivamento),
+#   uma faixa antiga (só o arquivo) e o filtro sem datas (as duas tabelas).
+# - O arquivamento não é desfeito ao final: rode sobre uma cópia da base.
+#
+# Uso: scripts/benchmark-arquivo.sh [idPessoa] [segundos] [clientes]
+#
+
+PESSOA=${1:-1}
+SEGUNDOS=${2:-30}
+CLIENTES=${3:-20}
+BASE=http://localhost:8080/lancamentos/filtro
+
+RECENTE="$BASE?idPessoa=$PESSOA&dataInicial=$(date -d '-12 months' +%Y-%m-01)"
+ANTIGO="$BASE?idPessoa=$PESSOA&dataInicial=$(date -d '-5 years' +%Y-01-01)&dataFinal=$(date -d '-5 years' +%Y-12-31)"
+TUDO="$BASE?idPessoa=$PESSOA"
+
+medir() {
+    for URL in "$RECENTE" "$ANTIGO" "$TUDO"; do
+        echo "-- $URL"
+        java scripts/CargaHttp.java "$URL" 5 5 > /dev/null   # Aquecimento (JIT, pool de conexões, buffer pool)
+        java scripts/CargaHttp.java "$URL" $CLIENTES $SEGUNDOS
+    done
+}
+
+echo "== antes do arquivamento (tabela única)"
+medir
+
+echo "== arquivamento"
+curl -s -X POST http://localhost:8080/lancamentos/arquivamento; echo
+
+echo "== depois do arquivamento (tabela ativa + arquivo)"
+medir
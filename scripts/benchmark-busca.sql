@@ -0,0 +1,25 @@
+--
+-- Comparação da busca textual: LIKE '%termo%' x MATCH ... AGAINST (índice ft_lancamento_texto, V7).
+-- Rodar no MySQL com uma base carregada (ex.: alguns milhões de lançamentos):
+--   mysql -u root -p financeiro < scripts/benchmark-busca.sql
+--
+-- O LIKE com curinga no início não usa índice e lê a tabela inteira; o MATCH consulta o índice
+-- invertido e lê só as linhas que contêm as palavras. Compare "actual time" e "rows" das duas saídas.
+--
+
+SET @termo = 'aluguel';
+
+-- Antes: varredura completa da tabela
+EXPLAIN ANALYZE
+SELECT l.id, l.descricao
+FROM lancamento l
+WHERE l.descricao LIKE CONCAT('%', @termo, '%')
+   OR l.observacao LIKE CONCAT('%', @termo, '%');
+
+-- Depois: índice FULLTEXT, com ordenação por relevância (mesma consulta de /lancamentos/busca)
+EXPLAIN ANALYZE
+SELECT l.id, l.descricao, MATCH(l.descricao, l.observacao) AGAINST (@termo IN NATURAL LANGUAGE MODE) AS relevancia
+FROM lancamento l
+WHERE MATCH(l.descricao, l.observacao) AGAINST (@termo IN NATURAL LANGUAGE MODE) > 0
+ORDER BY relevancia DESC, l.id
+LIMIT 20;
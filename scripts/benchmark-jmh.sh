@@ -0,0 +1,28 @@
+#!/bin/sh
+#
+# Roda os benchmarks JMH (perfil jmh) e guarda o resultado em JSON, identificado pelo commit atual,
+# para comparar versões com scripts/comparar-jmh.sh.
+# - Resultado em jmh-resultados/<commit>.json (<commit>-alterado.json se há alterações não commitadas).
+# - Os benchmarks com banco (FiltroLancamento) rodam com 10 mil, 1 milhão e 10 milhões de lançamentos;
+#   a primeira execução de cada volume carrega o banco em target/jmh-banco (10 milhões: alguns minutos
+#   e alguns GB em disco). Para limitar: -p volume=10000
+#
+# Uso: scripts/benchmark-jmh.sh [benchmarks] [opções do JMH]
+#   scripts/benchmark-jmh.sh                                # todos
+#   scripts/benchmark-jmh.sh FiltroLancamento -p volume=10000
+#   scripts/benchmark-jmh.sh "Mapeamento|TipoLancamento"
+#
+
+set -e
+cd "$(dirname "$0")/.."
+
+BENCHMARKS=${1:-.}
+[ $# -gt 0 ] && shift
+
+COMMIT=$(git rev-parse --short HEAD)
+git diff --quiet HEAD -- src pom.xml || COMMIT="$COMMIT-alterado"
+mkdir -p jmh-resultados
+SAIDA=jmh-resultados/$COMMIT.json
+
+mvn -B -q -Pjmh test-compile exec:exec -Djmh.args="$BENCHMARKS -prof gc -rf json -rff $SAIDA $*"
+echo "Resultado: $SAIDA"
@@ -0,0 +1,29 @@
+#!/bin/sh
+#
+# Compara dois resultados do JMH em JSON (gerados por scripts/benchmark-jmh.sh).
+# - Para cada benchmark e combinação de parâmetros presente nos dois arquivos, mostra o score de cada
+#   um, a variação percentual e os bytes alocados por operação (com -prof gc).
+# - Em ops/s, maior é melhor; em tempo por operação (us/op, ns/op), menor é melhor.
+# - Requer jq.
+#
+# Uso: scripts/comparar-jmh.sh <antes.json> <depois.json>
+#   scripts/comparar-jmh.sh jmh-resultados/6e4d3e9.json jmh-resultados/429de89.json
+#
+
+if [ $# -ne 2 ]; then
+    echo "Uso: $0 <antes.json> <depois.json>" >&2
+    exit 1
+fi
+
+jq -r -n --slurpfile antes "$1" --slurpfile depois "$2" '
+  def chave: (.benchmark | split(".") | .[-2:] | join("."))
+      + (if .params then " [" + (.params | to_entries | map(.key + "=" + .value) | join(",")) + "]" else "" end);
+  def alocacao: (.secondaryMetrics["gc.alloc.rate.norm"] // .secondaryMetrics["·gc.alloc.rate.norm"] | .score? // null);
+  def arred: if . == null then "-" else (. * 100 | round / 100 | tostring) end;
+  ($antes[0] | map({key: chave, value: .}) | from_entries) as $a
+  | ["benchmark", "antes", "depois", "unidade", "variação", "B/op antes", "B/op depois"],
+    ($depois[0][] | chave as $k | select($a[$k] != null) | $a[$k] as $x
+      | [$k, ($x.primaryMetric.score | arred), (.primaryMetric.score | arred), .primaryMetric.scoreUnit,
+         (((.primaryMetric.score - $x.primaryMetric.score) / $x.primaryMetric.score * 100 * 10 | round / 10 | tostring) + "%"),
+         ($x | alocacao | arred), (alocacao | arred)])
+  | @tsv' | awk -F '\t' '{ printf "%-72s %12s %12s %-6s %9s %12s %12s\n", $1, $2, $3, $4, $5, $6, $7 }'
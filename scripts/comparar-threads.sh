@@ -0,0 +1,29 @@
+#!/bin/sh
+#
+# Compara a API rodando com as threads do Tomcat (padrão) e com o perfil "virtual".
+# - Requer o MySQL do docker-compose no ar e o jar gerado (mvn -DskipTests package).
+# - Para cada modo, sobe a aplicação, aquece e roda o CargaHttp com 1k, 5k e 10k clientes.
+#
+# Uso: scripts/comparar-threads.sh [url] [segundos]
+#
+
+URL=${1:-http://localhost:8080/lancamentos/pagina?tamanho=20}
+SEGUNDOS=${2:-30}
+JAR=target/financeiro-0.0.1-SNAPSHOT.jar
+
+for PERFIL in default virtual; do
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --spring.profiles.active=$PERFIL > "carga-$PERFIL.log" 2>&1 &
+    PID=$!
+    until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+
+    echo "== perfil: $PERFIL"
+    java scripts/CargaHttp.java "$URL" 100 10 > /dev/null   # Aquecimento (JIT, pool de conexões, caches)
+    for CLIENTES in 1000 5000 10000; do
+        java scripts/CargaHttp.java "$URL" $CLIENTES $SEGUNDOS
+    done
+
+    kill $PID; wait $PID 2>/dev/null
+done
+
+# Pinning registrado durante o teste (jdk.tracePinnedThreads)
+grep -c "onPinned\|pinned" carga-virtual.log | sed 's/^/linhas de pinning no perfil virtual: /'
@@ -0,0 +1,63 @@
+#!/bin/sh
+#
+# Mede a subida da aplicação em cada modo de inicialização:
+# - padrao: sem perfil (ddl-auto=update, todos os beans criados na subida);
+# - producao: perfil producao (esquema só pelo Flyway, inicialização preguiçosa);
+# - producao-aot: + código gerado pelo processamento AOT do Spring (-Dspring.aot.enabled=true);
+# - producao-aot-cds: + arquivo CDS gerado por uma execução de treino, como no Dockerfile.
+# - Para cada modo, mostra a mediana de RODADAS execuções: o tempo de subida informado pelo Spring
+#   ("Started ... in") e o tempo até a primeira resposta 200 de GET /categorias, contado do início do
+#   processo (inclui a JVM e os beans criados só na primeira requisição).
+# - Requer o MySQL do docker-compose no ar (o perfil producao depende das migrations do Flyway).
+# - Sem MySQL, InicializacaoTest mede o mesmo (subida e primeira resposta) para o perfil producao sobre o H2.
+#
+# Uso: scripts/medir-inicializacao.sh [rodadas]
+#   scripts/medir-inicializacao.sh 5
+#   ARGS="--spring.datasource.url=jdbc:mysql://..." scripts/medir-inicializacao.sh   # argumentos extras da aplicação
+#
+
+set -e
+cd "$(dirname "$0")/.."
+
+RODADAS=${1:-5}
+URL=http://localhost:8080/categorias
+APP=target/app
+JAR=$APP/financeiro-0.0.1-SNAPSHOT.jar
+
+# Jar com o processamento AOT, extraído (jar da aplicação + lib/) como na imagem Docker
+mvn -B -q -Paot -DskipTests package
+rm -rf $APP
+java -Djarmode=tools -jar target/financeiro-0.0.1-SNAPSHOT.jar extract --destination $APP
+
+# Execução de treino do CDS: sobe o contexto, sai e grava as classes carregadas em app.jsa
+java -XX:ArchiveClassesAtExit=$APP/app.jsa -Xlog:cds=off -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -jar $JAR --spring.profiles.active=producao $ARGS > target/treino-cds.log 2>&1
+
+# Mediana dos números do arquivo (um por linha)
+mediana() {
+    sort -n "$1" | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2)) }'
+}
+
+# Roda o modo RODADAS vezes: medir <nome> <opções da JVM> <argumentos da aplicação>
+medir() {
+    rm -f target/subida.txt target/primeira.txt
+    for i in $(seq "$RODADAS"); do
+        INICIO=$(date +%s%N)
+        java $2 -jar $JAR $3 $ARGS > target/inicializacao.log 2>&1 &
+        PID=$!
+        until curl -sf -o /dev/null $URL; do
+            kill -0 $PID 2>/dev/null || { echo "$1: a aplicação terminou; veja target/inicializacao.log" >&2; exit 1; }
+            sleep 0.02
+        done
+        echo $(( ($(date +%s%N) - INICIO) / 1000000 )) >> target/primeira.txt
+        grep -o "Started FinanceiroApplication in [0-9.]*" target/inicializacao.log | awk '{ print int($4 * 1000) }' >> target/subida.txt
+        kill $PID; wait $PID 2>/dev/null || true
+    done
+    printf "%-18s %12s %22s\n" "$1" "$(mediana target/subida.txt)" "$(mediana target/primeira.txt)"
+}
+
+printf "%-18s %12s %22s\n" "modo" "subida (ms)" "primeira resposta (ms)"
+medir padrao "" ""
+medir producao "" "--spring.profiles.active=producao"
+medir producao-aot "-Dspring.aot.enabled=true" "--spring.profiles.active=producao"
+medir producao-aot-cds "-XX:SharedArchiveFile=$APP/app.jsa -Xlog:cds=off -Dspring.aot.enabled=true" "--spring.profiles.active=producao"
@@ -0,0 +1,82 @@
+#!/bin/sh
+#
+# Smoke test do executável nativo (GraalVM): gera target/financeiro com mvn -Paot,native, sobe com o
+# perfil producao e confere os caminhos que dependem das dicas de ImagemNativaConfig:
+# - migrations do Flyway lidas do classpath (a subida falha sem elas);
+# - JSON dos DTOs (Jackson) e consultas "SELECT new ...DTO(...)" (Hibernate), com gravação e leitura;
+# - associações LAZY (bytecode enhancement) e o cache de segundo nível (Caffeine JCache).
+# - Mostra o tempo até a primeira resposta 200 (contado do início do processo) e a memória residente
+#   (VmRSS) após as requisições.
+# - Requer GraalVM 21 (native-image) no JAVA_HOME e o MySQL do docker-compose no ar: o AOT é gerado para o
+#   perfil producao, com o Flyway ligado, e as migrations são do MySQL (o H2 do perfil embarcado não serve).
+#
+# Uso: scripts/smoke-nativo.sh
+#   SEM_BUILD=1 scripts/smoke-nativo.sh                                     # usa o target/financeiro existente
+#   ARGS="--spring.datasource.url=jdbc:mysql://..." scripts/smoke-nativo.sh   # argumentos extras da aplicação
+#
+
+set -e
+cd "$(dirname "$0")/.."
+
+URL=http://localhost:8080
+EXECUTAVEL=${EXECUTAVEL:-target/financeiro}
+
+[ -n "$SEM_BUILD" ] || mvn -B -q -Paot,native -DskipTests package
+
+INICIO=$(date +%s%N)
+$EXECUTAVEL --spring.profiles.active=producao $ARGS > target/smoke-nativo.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null' EXIT
+
+until curl -sf -o /dev/null $URL/categorias; do
+    kill -0 $PID 2>/dev/null || { echo "A aplicação terminou; veja target/smoke-nativo.log" >&2; exit 1; }
+    sleep 0.01
+done
+PRIMEIRA=$(( ($(date +%s%N) - INICIO) / 1000000 ))
+
+FALHAS=0
+
+# Confere a resposta: verificar <descrição> <status esperado> <curl args...>; a resposta fica em target/smoke-resposta.json
+verificar() {
+    NOME=$1; ESPERADO=$2; shift 2
+    STATUS=$(curl -s -o target/smoke-resposta.json -w "%{http_code}" "$@")
+    if [ "$STATUS" = "$ESPERADO" ]; then
+        echo "ok     $NOME"
+    else
+        echo "FALHOU $NOME (HTTP $STATUS, esperado $ESPERADO)"
+        FALHAS=$((FALHAS + 1))
+    fi
+}
+
+# Primeiro "id" do JSON da última resposta
+id() {
+    sed -n 's/^{"id":\([0-9]*\).*/\1/p' target/smoke-resposta.json
+}
+
+JSON="Content-Type: application/json"
+verificar "POST /categorias" 200 -X POST $URL/categorias -H "$JSON" -d '{"nome":"Smoke nativo"}'
+CATEGORIA=$(id)
+verificar "POST /pessoas" 200 -X POST $URL/pessoas -H "$JSON" -d '{"nome":"Smoke nativo","ativo":true,
+    "endereco":{"logradouro":"Rua A","numero":"1","bairro":"Centro","cep":"58000000","cidade":"João Pessoa","estado":"PB"}}'
+PESSOA=$(id)
+verificar "POST /lancamentos" 200 -X POST $URL/lancamentos -H "$JSON" -d "{\"descricao\":\"Smoke nativo\",
+    \"dataVencimento\":\"2025-01-10\",\"valor\":100.50,\"tipo\":\"DESPESA\",\"idCategoria\":$CATEGORIA,\"idPessoa\":$PESSOA}"
+LANCAMENTO=$(id)
+verificar "GET /lancamentos/{id}" 200 $URL/lancamentos/$LANCAMENTO
+verificar "GET /pessoas/{id} (cache de segundo nível)" 200 $URL/pessoas/$PESSOA
+verificar "GET /lancamentos" 200 $URL/lancamentos
+verificar "GET /lancamentos/filtro" 200 "$URL/lancamentos/filtro?idPessoa=$PESSOA"
+verificar "GET /lancamentos/pagina" 200 $URL/lancamentos/pagina
+verificar "GET /lancamentos/resumo" 200 $URL/lancamentos/resumo
+verificar "GET /saldos/pessoa/{id}" 200 $URL/saldos/pessoa/$PESSOA
+verificar "GET /actuator/health" 200 $URL/actuator/health
+verificar "DELETE /lancamentos/{id}" 204 -X DELETE $URL/lancamentos/$LANCAMENTO
+
+RSS=$(awk '/VmRSS/ { print int($2 / 1024) }' /proc/$PID/status)
+SUBIDA=$(grep -o "Started FinanceiroApplication in [0-9.]*" target/smoke-nativo.log | awk '{ print int($4 * 1000) }')
+echo
+echo "subida (Spring):    $SUBIDA ms"
+echo "primeira resposta:  $PRIMEIRA ms"
+echo "memória residente:  $RSS MB"
+
+[ $FALHAS -eq 0 ] || { echo "$FALHAS verificação(ões) falharam; veja target/smoke-nativo.log" >&2; exit 1; }
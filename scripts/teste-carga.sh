@@ -0,0 +1,45 @@
+#!/bin/sh
+#
+# Teste de carga reproduzível da API, sem rede externa: sobe a aplicação com o perfil "carga", que gera a
+# massa de dados sintética (GeradorDadosService), e roda o cenário misto de scripts/CenarioCarga.java
+# (70% leituras, 20% filtros, 10% escritas).
+# - Por padrão usa o H2 em memória (perfil embarcado): os dados são gerados de novo a cada execução, sempre
+#   iguais para a mesma semente. Com PERFIS=carga, usa o MySQL local de application.properties.
+# - Relatório em carga-relatorio-<commit>.md: vazão, latências p50/p95/p99/máx e SQL por requisição
+#   de cada endpoint. Log da aplicação em carga-aplicacao.log.
+#
+# Uso: scripts/teste-carga.sh [clientes] [segundos] [aquecimento]
+#   scripts/teste-carga.sh                 # 50 clientes, 60 s de medição após 15 s de aquecimento
+#   PERFIS=carga scripts/teste-carga.sh 100 120
+#
+
+set -e
+cd "$(dirname "$0")/.."
+
+CLIENTES=${1:-50}
+SEGUNDOS=${2:-60}
+AQUECIMENTO=${3:-15}
+PERFIS=${PERFIS:-embarcado,carga}
+SEMENTE=${SEMENTE:-42}
+URL=http://localhost:8080
+
+COMMIT=$(git rev-parse --short HEAD)
+git diff --quiet HEAD -- src pom.xml || COMMIT="$COMMIT-alterado"
+RELATORIO=carga-relatorio-$COMMIT.md
+
+# Roda a partir das classes compiladas, com o classpath das dependências resolvido pelo Maven
+mvn -B -q compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+java -cp "target/classes:$(cat target/classpath.txt)" br.edu.uniesp.financeiro.FinanceiroApplication \
+    --spring.profiles.active=$PERFIS --financeiro.gerador.semente=$SEMENTE > carga-aplicacao.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null' EXIT
+
+# Espera a geração dos dados terminar (readiness só fica UP depois dos ApplicationRunners)
+echo "Aguardando a aplicação e a geração dos dados (log em carga-aplicacao.log)..."
+until curl -s $URL/actuator/health/readiness | grep -q UP; do
+    kill -0 $PID 2>/dev/null || { echo "A aplicação terminou; veja carga-aplicacao.log" >&2; exit 1; }
+    sleep 2
+done
+grep "Gerador de dados" carga-aplicacao.log || true
+
+java scripts/CenarioCarga.java $URL "$CLIENTES" "$SEGUNDOS" "$AQUECIMENTO" "$SEMENTE" "$RELATORIO"
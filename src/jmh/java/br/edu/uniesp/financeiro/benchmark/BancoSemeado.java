@@ -0,0 +1,194 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.FinanceiroApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contexto do Spring (perfil embarcado, sem servidor web) sobre um H2 em arquivo com um volume
+ * configurável de lançamentos, para os benchmarks que chamam os serviços.
+ * - Um banco por volume em target/jmh-banco; criado e carregado na primeira execução e reaproveitado
+ *   nas seguintes (carregar 10 milhões de linhas leva alguns minutos).
+ * - O banco roda dentro da JVM do benchmark (arquivo) ou, com iniciarServidor, em outro processo (TCP),
+ *   quando a memória medida não pode incluir a do banco.
+ * - Os dados são determinísticos: 20 categorias, volume / 1000 pessoas (mínimo 10) e lançamentos
+ *   espalhados por 5 anos a partir de INICIO, com os mesmos índices das migrations do MySQL (V2).
+ */
+final class BancoSemeado {
+
+    static final LocalDate INICIO = LocalDate.of(2020, 1, 1); // Primeiro vencimento gerado
+    static final int DIAS = 5 * 365;                          // Faixa de vencimentos
+    static final int CATEGORIAS = 20;
+
+    private static final int TAMANHO_LOTE = 10_000; // Linhas por commit na carga
+    private static final String DIRETORIO = "target/jmh-banco";
+    private static final String OPCOES_URL = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE";
+    private static final int PORTA_SERVIDOR = 9093;
+
+    private BancoSemeado() {
+    }
+
+    /**
+     * Quantidade de pessoas geradas para o volume.
+     */
+    static int pessoas(int volume) {
+        return Math.max(10, volume / 1000);
+    }
+
+    /**
+     * Sobe a aplicação sobre o banco do volume informado, carregando os dados se preciso.
+     * - argumentos: propriedades a mais, como na linha de comando (ex: "--financeiro.metricas.instrumentacao=false").
+     */
+    static ConfigurableApplicationContext iniciar(int volume, String... argumentos) throws SQLException {
+        return subir(volume, "jdbc:h2:file:./" + DIRETORIO + "/lancamentos-" + volume + OPCOES_URL, argumentos);
+    }
+
+    /**
+     * Sobe a aplicação sobre o banco do volume no servidor H2 de iniciarServidor (mesmos arquivos de iniciar).
+     * - O resultado das consultas chega em blocos (fetch size), e o banco ordena e junta as tabelas na
+     *   memória do outro processo, como um servidor MySQL.
+     */
+    static ConfigurableApplicationContext iniciarNoServidor(int volume) throws SQLException {
+        return subir(volume, "jdbc:h2:tcp://localhost:" + PORTA_SERVIDOR + "/lancamentos-" + volume + OPCOES_URL);
+    }
+
+    /**
+     * Inicia o servidor H2 (TCP) em outro processo, sobre o diretório dos bancos; encerrar com destroy().
+     */
+    static Process iniciarServidor() throws IOException, InterruptedException {
+        Process servidor = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), "org.h2.tools.Server",
+                "-tcp", "-tcpPort", String.valueOf(PORTA_SERVIDOR), "-baseDir", Path.of(DIRETORIO).toAbsolutePath().toString(), "-ifNotExists")
+                .inheritIO()
+                .start();
+        while (true) { // Espera o servidor aceitar conexões
+            try (Socket ignorado = new Socket("localhost", PORTA_SERVIDOR)) {
+                return servidor;
+            } catch (IOException e) {
+                if (!servidor.isAlive()) {
+                    throw new IOException("O servidor H2 terminou ao iniciar (porta " + PORTA_SERVIDOR + " em uso?)", e);
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Sobe a aplicação sobre o banco da URL, carregando os dados se o volume não confere
+    private static ConfigurableApplicationContext subir(int volume, String url, String... argumentos) throws SQLException {
+        List<String> linhaDeComando = new ArrayList<>(List.of( // Têm precedência sobre application-embarcado.properties
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.hibernate.ddl-auto=update",          // Mantém os dados entre as execuções
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--financeiro.arquivo.cron=-",                     // Sem tarefas agendadas durante a medição
+                "--financeiro.auditoria.arquivo=target/jmh-auditoria-pendente.log"));
+        linhaDeComando.addAll(List.of(argumentos));
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(FinanceiroApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embarcado")
+                .run(linhaDeComando.toArray(String[]::new));
+        DataSource dataSource = contexto.getBean(DataSource.class);
+        Long atual = new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM lancamento", Long.class);
+        if (atual == null || atual != volume) {
+            carregar(dataSource, volume);
+        }
+        return contexto;
+    }
+
+    // Apaga os dados anteriores e grava categorias, pessoas e lançamentos em lotes
+    private static void carregar(DataSource dataSource, int volume) throws SQLException {
+        long inicio = System.nanoTime();
+        System.out.println("Carregando " + volume + " lançamentos (primeira execução com este volume)...");
+        try (Connection c = dataSource.getConnection()) {
+            c.setAutoCommit(false);
+            try (Statement st = c.createStatement()) {
+                st.execute("DELETE FROM lancamento");
+                st.execute("DELETE FROM pessoa");
+                st.execute("DELETE FROM categoria");
+            }
+            Timestamp agora = Timestamp.from(Instant.now());
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO categoria (id, nome, versao, atualizado_em) VALUES (?, ?, 0, ?)")) {
+                for (int i = 1; i <= CATEGORIAS; i++) {
+                    ps.setLong(1, i);
+                    ps.setString(2, "Categoria " + i);
+                    ps.setTimestamp(3, agora);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            int pessoas = pessoas(volume);
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO pessoa (id, nome, ativo, logradouro, numero, " +
+                    "bairro, cep, cidade, estado, versao, atualizado_em) VALUES (?, ?, TRUE, 'Rua A', ?, 'Centro', " +
+                    "'58000-000', 'João Pessoa', 'PB', 0, ?)")) {
+                for (int i = 1; i <= pessoas; i++) {
+                    ps.setLong(1, i);
+                    ps.setString(2, "Pessoa " + i);
+                    ps.setString(3, String.valueOf(i));
+                    ps.setTimestamp(4, agora);
+                    ps.addBatch();
+                    if (i % TAMANHO_LOTE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO lancamento (id, descricao, data_vencimento, " +
+                    "data_pagamento, valor, observacao, tipo, id_categoria, id_pessoa, versao, atualizado_em) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)")) {
+                for (int i = 1; i <= volume; i++) {
+                    LocalDate vencimento = INICIO.plusDays(i % DIAS);
+                    ps.setLong(1, i);
+                    ps.setString(2, "Lançamento " + i);
+                    ps.setDate(3, Date.valueOf(vencimento));
+                    ps.setDate(4, i % 3 == 0 ? null : Date.valueOf(vencimento.plusDays(i % 7)));
+                    ps.setBigDecimal(5, BigDecimal.valueOf(i * 37L % 1_000_000, 2));
+                    ps.setString(6, i % 4 == 0 ? "Observação " + i : null);
+                    ps.setString(7, i % 5 == 0 ? "RECEITA" : "DESPESA");
+                    ps.setLong(8, i % CATEGORIAS + 1);
+                    ps.setLong(9, i % pessoas + 1);
+                    ps.setTimestamp(10, agora);
+                    ps.addBatch();
+                    if (i % TAMANHO_LOTE == 0) {
+                        ps.executeBatch();
+                        c.commit();
+                    }
+                }
+                ps.executeBatch();
+            }
+
+            try (Statement st = c.createStatement()) { // Índices do filtro (mesmos de V2__create_lancamento_indexes.sql)
+                st.execute("CREATE INDEX IF NOT EXISTS idx_lancamento_vencimento ON lancamento (data_vencimento, id)");
+                st.execute("CREATE INDEX IF NOT EXISTS idx_lancamento_pessoa_vencimento ON lancamento (id_pessoa, data_vencimento)");
+                st.execute("CREATE INDEX IF NOT EXISTS idx_lancamento_categoria_vencimento ON lancamento (id_categoria, data_vencimento)");
+                st.execute("CREATE INDEX IF NOT EXISTS idx_lancamento_tipo_vencimento ON lancamento (tipo, data_vencimento)");
+                st.execute("ANALYZE");
+            }
+            c.commit();
+        }
+        System.out.printf("Carga concluída em %d s%n", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+}
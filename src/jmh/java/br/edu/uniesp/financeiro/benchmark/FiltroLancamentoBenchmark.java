@@ -0,0 +1,149 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import br.edu.uniesp.financeiro.repository.LancamentoRepository;
+import br.edu.uniesp.financeiro.service.ConsultasFiltroLancamento;
+import br.edu.uniesp.financeiro.service.EscritorJsonLancamento;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de lançamentos sobre o banco carregado por BancoSemeado.
+ * - consultaNomeada: montagem da consulta registrada (named query da máscara + parâmetros), sem executar;
+ *   é a consulta da exportação em CSV e do filtro com texto (LancamentoService.percorrerFiltro).
+ * - jpqlDinamico: montagem como antes das named queries (StringBuilder + createQuery + parâmetros a cada
+ *   chamada), reproduzida em montarComoAntes.
+ * - filtrar: GET /lancamentos/filtro completo (EscritorJsonLancamento: consulta e JSON de todas as linhas,
+ *   escrito em uma saída descartada).
+ *
+ * Filtros (@Param filtro):
+ * - pessoa-ano: uma pessoa em um ano (cerca de 200 linhas em qualquer volume);
+ * - categoria-tipo-mes: categoria + tipo em um mês (cresce com o volume).
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="FiltroLancamento -p volume=10000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FiltroLancamentoBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int volume; // Lançamentos no banco
+
+    @Param({"pessoa-ano", "categoria-tipo-mes"})
+    private String filtro;
+
+    private ConfigurableApplicationContext contexto;
+    private EscritorJsonLancamento escritorJson;
+    private ObjectMapper objectMapper;
+    private ConsultasFiltroLancamento consultas;
+    private EntityManager em;          // Usado só para montar as consultas (não executa)
+    private FiltroLancamentoDTO dto;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = BancoSemeado.iniciar(volume);
+        escritorJson = contexto.getBean(EscritorJsonLancamento.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        consultas = contexto.getBean(ConsultasFiltroLancamento.class);
+        em = contexto.getBean(EntityManagerFactory.class).createEntityManager();
+        dto = switch (filtro) {
+            case "pessoa-ano" -> new FiltroLancamentoDTO(BancoSemeado.INICIO.plusYears(2),
+                    BancoSemeado.INICIO.plusYears(3).minusDays(1), null, null, 7L, null);
+            case "categoria-tipo-mes" -> new FiltroLancamentoDTO(BancoSemeado.INICIO.plusMonths(30),
+                    BancoSemeado.INICIO.plusMonths(31).minusDays(1), "despesa", 3L, null, null);
+            default -> throw new RuntimeException("Filtro desconhecido: " + filtro);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        em.close();
+        contexto.close();
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Benchmark
+    public TypedQuery<LancamentoResponseDTO> consultaNomeada() {
+        return consultas.criar(em, dto);
+    }
+
+    @Benchmark
+    public TypedQuery<LancamentoResponseDTO> jpqlDinamico() {
+        return montarComoAntes(em, dto);
+    }
+
+    @Benchmark
+    public void filtrar() throws IOException {
+        try (JsonGenerator gerador = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            escritorJson.escreverFiltro(dto, gerador);
+        }
+    }
+
+    // -----------------------------||-------------------------------- \
+
+    // Consulta do filtro antes do registro de consultas: JPQL montado e compilado a cada chamada
+    private static TypedQuery<LancamentoResponseDTO> montarComoAntes(EntityManager em, FiltroLancamentoDTO filtro) {
+        StringBuilder jpql = new StringBuilder(LancamentoRepository.SELECT_RESPONSE_DTO + "WHERE 1 = 1 ");
+        if (filtro.dataInicial() != null) {
+            jpql.append("AND l.dataVencimento >= :dataInicial ");
+        }
+        if (filtro.dataFinal() != null) {
+            jpql.append("AND l.dataVencimento <= :dataFinal ");
+        }
+        if (filtro.tipo() != null && !filtro.tipo().isBlank()) {
+            jpql.append("AND l.tipo = :tipo ");
+        }
+        if (filtro.idCategoria() != null) {
+            jpql.append("AND c.id = :idCategoria ");
+        }
+        if (filtro.idPessoa() != null) {
+            jpql.append("AND p.id = :idPessoa ");
+        }
+
+        TypedQuery<LancamentoResponseDTO> query = em.createQuery(jpql.toString(), LancamentoResponseDTO.class);
+        if (filtro.dataInicial() != null) {
+            query.setParameter("dataInicial", filtro.dataInicial());
+        }
+        if (filtro.dataFinal() != null) {
+            query.setParameter("dataFinal", filtro.dataFinal());
+        }
+        if (filtro.tipo() != null && !filtro.tipo().isBlank()) {
+            query.setParameter("tipo", TipoLancamento.valueOf(filtro.tipo().toUpperCase()));
+        }
+        if (filtro.idCategoria() != null) {
+            query.setParameter("idCategoria", filtro.idCategoria());
+        }
+        if (filtro.idPessoa() != null) {
+            query.setParameter("idPessoa", filtro.idPessoa());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PaginaLancamentoDTO;
+import br.edu.uniesp.financeiro.service.LancamentoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação das métricas (MetricasConfig) no caminho serviço → repositório → JDBC.
+ * - ligada: @Timed do serviço, MetricasRepositorioAspect (tempo e linhas) e ContadorSql no DataSource.
+ * - desligada: a mesma aplicação com financeiro.metricas.instrumentacao=false (nenhum dos três registrado).
+ * A diferença entre as duas é o custo por chamada; compare com o tempo da própria consulta.
+ *
+ * Operações:
+ * - buscarResposta: um lançamento pelo ID (uma consulta curta, onde a instrumentação pesa mais);
+ * - listarPagina: primeira página de 50 lançamentos (consulta com junções e 51 linhas).
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="InstrumentacaoBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentacaoBenchmark {
+
+    @Param({"10000"})
+    private int volume; // Lançamentos no banco
+
+    @Param({"ligada", "desligada"})
+    private String instrumentacao;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService service;
+    private long proximoId; // IDs percorridos em sequência, para não ler sempre a mesma linha
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = BancoSemeado.iniciar(volume,
+                "--financeiro.metricas.instrumentacao=" + instrumentacao.equals("ligada"));
+        service = contexto.getBean(LancamentoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Benchmark
+    public LancamentoResponseDTO buscarResposta() {
+        proximoId = proximoId % volume + 1;
+        return service.buscarResposta(proximoId);
+    }
+
+    @Benchmark
+    public PaginaLancamentoDTO listarPagina() {
+        return service.listarPagina(null, 50);
+    }
+}
@@ -0,0 +1,128 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.repository.LancamentoRepository;
+import br.edu.uniesp.financeiro.service.EscritorJsonLancamento;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memória da listagem completa de lançamentos (GET /lancamentos) conforme o volume cresce.
+ * - streaming: caminho atual; EscritorJsonLancamento escreve cada linha do banco direto no JSON.
+ * - listaCompleta: caminho anterior; findAll() carrega todas as entidades, a lista de DTOs é montada
+ *   e o Jackson serializa a lista inteira.
+ *
+ * Além do tempo de cada execução, imprime ao final o pico da geração antiga do heap (old gen) acima do
+ * início da iteração: é o que fica vivo durante a listagem. No streaming ele não cresce com o volume;
+ * na lista completa, cresce junto com a tabela.
+ * - Heap fixo (-Xmx2g) para os volumes serem comparáveis; a lista completa de volumes maiores pode não caber.
+ * - O H2 roda em outro processo (BancoSemeado.iniciarServidor): dentro da JVM, ele monta o resultado
+ *   ordenado inteiro no mesmo heap, e a medida seria a do banco, não a da aplicação.
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="ListagemLancamento"
+ *      mvn -Pjmh test-compile exec:exec -Djmh.args="ListagemLancamentoBenchmark.streaming -p volume=10000,1000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ListagemLancamentoBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int volume; // Lançamentos no banco
+
+    private Process servidor;                // Servidor H2, fora do heap medido
+    private ConfigurableApplicationContext contexto;
+    private EscritorJsonLancamento escritor;
+    private LancamentoRepository repository;
+    private TransactionTemplate transacao;
+    private ObjectMapper objectMapper;       // Mesmo ObjectMapper do controller
+    private List<MemoryPoolMXBean> geracaoAntiga;
+    private long usadoNoInicio;              // Geração antiga no início da iteração
+    private long maiorPico;                  // Maior pico entre as iterações medidas
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        servidor = BancoSemeado.iniciarServidor();
+        try {
+            contexto = BancoSemeado.iniciarNoServidor(volume);
+        } catch (Exception e) {
+            servidor.destroy(); // Sem o contexto, o TearDown não roda
+            throw e;
+        }
+        escritor = contexto.getBean(EscritorJsonLancamento.class);
+        repository = contexto.getBean(LancamentoRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transacao.setReadOnly(true);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        geracaoAntiga = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .filter(p -> p.getName().contains("Old") || p.getName().contains("Tenured"))
+                .toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void zerarPico() {
+        System.gc(); // Descarta o que sobrou da iteração anterior
+        geracaoAntiga.forEach(MemoryPoolMXBean::resetPeakUsage);
+        usadoNoInicio = geracaoAntiga.stream().mapToLong(p -> p.getUsage().getUsed()).sum();
+    }
+
+    @TearDown(Level.Iteration)
+    public void registrarPico() {
+        long pico = geracaoAntiga.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+        maiorPico = Math.max(maiorPico, pico - usadoNoInicio);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar(BenchmarkParams params) {
+        System.out.printf("%n%s (volume=%d): pico da geração antiga = %d MB%n",
+                params.getBenchmark(), volume, maiorPico / (1024 * 1024));
+        contexto.close();
+        servidor.destroy();
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Benchmark
+    public void streaming() throws IOException {
+        try (JsonGenerator gerador = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            escritor.escreverTodos(gerador);
+        }
+    }
+
+    @Benchmark
+    public void listaCompleta() throws IOException {
+        List<LancamentoResponseDTO> lancamentos = transacao.execute(status -> repository.findAll().stream()
+                .map(LancamentoResponseDTO::new)
+                .toList());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), lancamentos);
+    }
+}
@@ -0,0 +1,100 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PessoaResponseDTO;
+import br.edu.uniesp.financeiro.entity.Categoria;
+import br.edu.uniesp.financeiro.entity.Endereco;
+import br.edu.uniesp.financeiro.entity.Lancamento;
+import br.edu.uniesp.financeiro.entity.Pessoa;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão das entidades para os DTOs de resposta, sem banco:
+ * - LancamentoResponseDTO(Lancamento) e PessoaResponseDTO(Pessoa) de um objeto;
+ * - lista de LISTA lançamentos, como nas respostas que convertem as entidades (ex: GET /pessoas).
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="Mapeamento -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    private static final int LISTA = 1000;
+
+    private Lancamento lancamento;
+    private Pessoa pessoa;
+    private List<Lancamento> lancamentos;
+
+    @Setup
+    public void preparar() {
+        Categoria categoria = new Categoria();
+        categoria.setId(3L);
+        categoria.setNome("Aluguel");
+
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro("Rua A");
+        endereco.setNumero("100");
+        endereco.setBairro("Centro");
+        endereco.setCep("58000-000");
+        endereco.setCidade("João Pessoa");
+        endereco.setEstado("PB");
+        pessoa = new Pessoa();
+        pessoa.setId(7L);
+        pessoa.setNome("Ana Souza");
+        pessoa.setAtivo(true);
+        pessoa.setEndereco(endereco);
+
+        lancamentos = new ArrayList<>(LISTA);
+        for (int i = 1; i <= LISTA; i++) {
+            Lancamento l = new Lancamento();
+            l.setId((long) i);
+            l.setDescricao("Lançamento " + i);
+            l.setDataVencimento(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+            l.setDataPagamento(i % 3 == 0 ? null : LocalDate.of(2025, 1, 5).plusDays(i % 365));
+            l.setValor(BigDecimal.valueOf(i * 37L, 2));
+            l.setObservacao(i % 4 == 0 ? "Observação " + i : null);
+            l.setTipo(i % 5 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA);
+            l.setCategoria(categoria);
+            l.setPessoa(pessoa);
+            lancamentos.add(l);
+        }
+        lancamento = lancamentos.get(0);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Benchmark
+    public LancamentoResponseDTO lancamentoResponseDTO() {
+        return new LancamentoResponseDTO(lancamento);
+    }
+
+    @Benchmark
+    public PessoaResponseDTO pessoaResponseDTO() {
+        return new PessoaResponseDTO(pessoa);
+    }
+
+    @Benchmark
+    public List<LancamentoResponseDTO> listaLancamentos() {
+        return lancamentos.stream().map(LancamentoResponseDTO::new).toList();
+    }
+}
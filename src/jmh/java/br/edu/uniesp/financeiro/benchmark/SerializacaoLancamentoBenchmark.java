@@ -0,0 +1,171 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import br.edu.uniesp.financeiro.service.EscritorJsonLancamento;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a escrita em JSON da lista de lançamentos:
+ * - dtoJackson: caminho anterior de /lancamentos/filtro; cada linha vira um LancamentoResponseDTO
+ *   (BigDecimal, LocalDate, enum), a lista inteira é montada e o Jackson serializa por reflexão.
+ * - escritorJson: EscritorJsonLancamento, que escreve cada linha do JDBC direto no JsonGenerator.
+ *
+ * As duas versões leem as mesmas linhas de um H2 em memória (a leitura também é medida; o caminho
+ * anterior ainda passava pelo Hibernate, então a diferença real é maior que a medida aqui).
+ * Com -prof gc, a coluna gc.alloc.rate.norm mostra os bytes alocados por operação.
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="SerializacaoLancamento -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+    private static final String SELECT = "SELECT l.id, l.descricao, l.data_vencimento, l.data_pagamento, l.valor, " +
+            "l.observacao, l.tipo, c.id, c.nome, p.id, p.nome FROM lancamento l " +
+            "JOIN categoria c ON c.id = l.id_categoria JOIN pessoa p ON p.id = l.id_pessoa ORDER BY l.data_vencimento, l.id";
+
+    @Param({"1000", "10000"})
+    private int linhas; // Lançamentos na tabela
+
+    private JdbcDataSource dataSource;
+    private Connection conexao;          // Mantém o banco em memória vivo durante o benchmark
+    private ObjectMapper objectMapper;   // Mesma configuração de datas do Spring Boot
+    private EscritorJsonLancamento escritor;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:serializacao" + linhas + ";MODE=MySQL");
+        conexao = dataSource.getConnection();
+        criarDados();
+
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()                                      // JavaTimeModule (LocalDate)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)  // Datas como "yyyy-MM-dd"
+                .build();
+        escritor = new EscritorJsonLancamento(dataSource, null, null); // escreverTodos só usa o DataSource
+
+        // As duas versões precisam gerar exatamente o mesmo JSON
+        ByteArrayOutputStream a = new ByteArrayOutputStream();
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        dtoJackson(a);
+        escritorJson(b);
+        if (!Arrays.equals(a.toByteArray(), b.toByteArray())) {
+            throw new RuntimeException("JSON diferente entre as versões:\n" + a + "\n" + b);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        conexao.close();
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Benchmark
+    public void dtoJackson() throws Exception {
+        dtoJackson(OutputStream.nullOutputStream()); // A saída HTTP não entra na medida (o gerador fecha a saída)
+    }
+
+    @Benchmark
+    public void escritorJson() throws Exception {
+        escritorJson(OutputStream.nullOutputStream());
+    }
+
+    private void dtoJackson(OutputStream saida) throws SQLException, IOException {
+        List<LancamentoResponseDTO> lista = new ArrayList<>();
+        try (Connection c = dataSource.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(SELECT)) {
+            while (rs.next()) {
+                Date pagamento = rs.getDate(4);
+                lista.add(new LancamentoResponseDTO(
+                        rs.getLong(1), rs.getString(2), rs.getDate(3).toLocalDate(),
+                        pagamento == null ? null : pagamento.toLocalDate(), rs.getBigDecimal(5), rs.getString(6),
+                        TipoLancamento.valueOf(rs.getString(7)), rs.getLong(8), rs.getString(9),
+                        rs.getLong(10), rs.getString(11)));
+            }
+        }
+        objectMapper.writeValue(saida, lista);
+    }
+
+    private void escritorJson(OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+            escritor.escreverTodos(gerador);
+        }
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Esquema mínimo (colunas lidas pelas consultas) e lançamentos com textos, datas e valores variados
+    private void criarDados() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("CREATE TABLE categoria (id BIGINT PRIMARY KEY, nome VARCHAR(100))");
+            st.execute("CREATE TABLE pessoa (id BIGINT PRIMARY KEY, nome VARCHAR(100))");
+            st.execute("CREATE TABLE lancamento (id BIGINT PRIMARY KEY, descricao VARCHAR(255), data_vencimento DATE, " +
+                    "data_pagamento DATE, valor DECIMAL(10,2), observacao VARCHAR(255), tipo VARCHAR(20), " +
+                    "id_categoria BIGINT, id_pessoa BIGINT)");
+            st.execute("INSERT INTO categoria VALUES (1, 'Aluguel'), (2, 'Salário'), (3, 'Mercado')");
+            st.execute("INSERT INTO pessoa VALUES (1, 'Ana Souza'), (2, 'João \"Jô\" Lima')");
+        }
+        String insert = "INSERT INTO lancamento VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        try (PreparedStatement ps = conexao.prepareStatement(insert)) {
+            for (int i = 1; i <= linhas; i++) {
+                LocalDate vencimento = inicio.plusDays(i % 730);
+                ps.setLong(1, i);
+                ps.setString(2, "Lançamento " + i);
+                ps.setDate(3, Date.valueOf(vencimento));
+                ps.setDate(4, i % 3 == 0 ? null : Date.valueOf(vencimento.plusDays(2)));
+                ps.setBigDecimal(5, new BigDecimal((i * 37L % 100000) + ".5" + (i % 10)));
+                ps.setString(6, i % 4 == 0 ? "observação " + i : null);
+                ps.setString(7, i % 5 == 0 ? "RECEITA" : "DESPESA");
+                ps.setLong(8, i % 3 + 1);
+                ps.setLong(9, i % 2 + 1);
+                ps.addBatch();
+                if (i % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.uniesp.financeiro.benchmark;
+
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão do tipo recebido na requisição (ex: "despesa") para TipoLancamento.
+ * - valueOfToUpperCase: como os serviços fazem hoje, TipoLancamento.valueOf(tipo.toUpperCase()).
+ * - equalsIgnoreCase: comparação direta com as constantes, sem criar a String em maiúsculas
+ *   (referência para avaliar se a conversão atual vale uma mudança).
+ *
+ * Uso: mvn -Pjmh test-compile exec:exec -Djmh.args="TipoLancamento -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TipoLancamentoBenchmark {
+
+    private static final TipoLancamento[] TIPOS = TipoLancamento.values();
+
+    @Param({"DESPESA", "despesa", "Receita"})
+    private String entrada;
+
+    @Benchmark
+    public TipoLancamento valueOfToUpperCase() {
+        return TipoLancamento.valueOf(entrada.toUpperCase());
+    }
+
+    @Benchmark
+    public TipoLancamento equalsIgnoreCase() {
+        for (TipoLancamento tipo : TIPOS) {
+            if (tipo.name().equalsIgnoreCase(entrada)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo inválido: " + entrada);
+    }
+}
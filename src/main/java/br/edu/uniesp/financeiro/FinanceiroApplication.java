@@ -3,13 +3,19 @@ package br.edu.uniesp.financeiro;
 // Importa a anotação que marca a aplicação como Spring Boot
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação.
  * - @SpringBootApplication informa ao Spring Boot que esta é a classe de inicialização.
  * - Contém o método main, que é o ponto de entrada da aplicação Java.
+ * - @EnableCaching ativa as anotações @Cacheable/@CacheEvict dos serviços.
+ * - @EnableScheduling ativa as tarefas agendadas (@Scheduled), como o arquivamento de lançamentos.
  */
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class FinanceiroApplication {
 
     /**
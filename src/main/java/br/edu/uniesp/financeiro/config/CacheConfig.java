@@ -0,0 +1,32 @@
+package br.edu.uniesp.financeiro.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache das buscas por ID de categorias e pessoas (@Cacheable/@CacheEvict dos serviços).
+ * - Caffeine configurado pelas mesmas propriedades spring.cache.* (nomes dos caches e spec).
+ * - Ciente de transações: dentro de uma transação, @CacheEvict e os puts só chegam ao Caffeine
+ *   depois do commit. Sem isso, a remoção acontecia antes do commit e uma busca simultânea
+ *   recolocava no cache o estado antigo, que ficava lá até expirar.
+ */
+@Configuration // Classe de configuração do Spring
+@EnableConfigurationProperties(CacheProperties.class) // spring.cache.* (a configuração automática sai com este bean)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties propriedades) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String spec = propriedades.getCaffeine().getSpec();
+        if (spec != null) {
+            caffeine.setCacheSpecification(spec); // Tamanho, expiração e estatísticas
+        }
+        caffeine.setCacheNames(propriedades.getCacheNames()); // Só os caches declarados (categorias, pessoas)
+        return new TransactionAwareCacheManagerProxy(caffeine); // Operações aplicadas após o commit
+    }
+}
@@ -0,0 +1,182 @@
+package br.edu.uniesp.financeiro.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL executados pela aplicação, na camada JDBC.
+ * - Envolve o DataSource da aplicação (ver MetricasConfig), então conta tudo o que passa por ele:
+ *   Hibernate, JdbcTemplate (listagem e filtro em streaming, outbox de alterações) e gravação da auditoria.
+ * - Total por tipo (select, insert, update, delete) na métrica "financeiro.sql.comandos"; um executeBatch
+ *   conta como um comando (uma ida ao banco).
+ * - Contagem da requisição atual, lida por MetricasRequisicaoFilter ao final de cada requisição; é o que
+ *   mostra consultas N+1 (muitos SELECTs em uma única chamada). A contagem acompanha a requisição nas
+ *   threads do executor de tarefas (respostas em streaming), via TarefasConfig.
+ */
+public class ContadorSql {
+
+    // Comandos executados na requisição atual (nulo fora de uma requisição)
+    private static final ThreadLocal<AtomicInteger> DA_REQUISICAO = new ThreadLocal<>();
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter outros;
+
+    public ContadorSql(MeterRegistry registry) {
+        this.selects = contador(registry, "select");
+        this.inserts = contador(registry, "insert");
+        this.updates = contador(registry, "update");
+        this.deletes = contador(registry, "delete");
+        this.outros = contador(registry, "outro");
+    }
+
+    private static Counter contador(MeterRegistry registry, String tipo) {
+        return Counter.builder("financeiro.sql.comandos")
+                .description("Comandos SQL executados pela aplicação")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Envolve o DataSource: as conexões entregues contam os comandos executados nos seus Statements.
+     * - Continua um DelegatingDataSource, então unwrap/isWrapperFor chegam ao pool (métricas do Hikari).
+     */
+    public DataSource envolver(DataSource alvo) {
+        return new DelegatingDataSource(alvo) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return conexao(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String usuario, String senha) throws SQLException {
+                return conexao(super.getConnection(usuario, senha));
+            }
+        };
+    }
+
+    // Conexão que devolve Statements contados (createStatement, prepareStatement e prepareCall)
+    private Connection conexao(Connection alvo) {
+        return (Connection) Proxy.newProxyInstance(ContadorSql.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    Object retorno = invocar(proxy, alvo, metodo, argumentos);
+                    if (retorno instanceof Statement comando && metodo.getName().startsWith("prepare")) {
+                        return comando(comando, metodo.getReturnType(), (String) argumentos[0]); // SQL conhecido na preparação
+                    }
+                    if (retorno instanceof Statement comando) {
+                        return comando(comando, metodo.getReturnType(), null); // SQL chega em execute(sql)
+                    }
+                    return retorno;
+                });
+    }
+
+    // Statement que conta cada execute*/executeBatch
+    private Object comando(Statement alvo, Class<?> tipo, String sqlPreparado) {
+        InvocationHandler contagem = (proxy, metodo, argumentos) -> {
+            Object retorno = invocar(proxy, alvo, metodo, argumentos);
+            if (metodo.getName().startsWith("execute")) {
+                String sql = sqlPreparado;
+                if (sql == null && argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto) {
+                    sql = texto;
+                }
+                registrar(sql);
+            }
+            return retorno;
+        };
+        return Proxy.newProxyInstance(ContadorSql.class.getClassLoader(), new Class<?>[]{tipo}, contagem);
+    }
+
+    // Chama o método no objeto real, repassando a exceção original (SQLException) em vez da do reflection
+    // - equals/hashCode pela identidade do proxy (o Hibernate guarda os Statements em mapas)
+    private static Object invocar(Object proxy, Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        if (metodo.getName().equals("equals") && metodo.getParameterCount() == 1) {
+            return proxy == argumentos[0];
+        }
+        if (metodo.getName().equals("hashCode") && metodo.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void registrar(String sql) {
+        tipo(sql).increment();
+        AtomicInteger contagem = DA_REQUISICAO.get();
+        if (contagem != null) {
+            contagem.incrementAndGet();
+        }
+    }
+
+    // Identifica o tipo do comando pela primeira palavra (executeBatch de Statement não tem SQL: "outro")
+    private Counter tipo(String sql) {
+        if (sql == null) {
+            return outros;
+        }
+        String inicio = sql.stripLeading();
+        int fim = Math.min(inicio.length(), 6);
+        return switch (inicio.substring(0, fim).toLowerCase(Locale.ROOT)) {
+            case "select" -> selects;
+            case "insert" -> inserts;
+            case "update" -> updates;
+            case "delete" -> deletes;
+            default -> outros;
+        };
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Começa a contar os comandos da requisição atual e retorna a contagem (guardada na requisição
+     * por MetricasRequisicaoFilter, para o despacho assíncrono do fim das respostas em streaming).
+     */
+    static AtomicInteger iniciarRequisicao() {
+        AtomicInteger contagem = new AtomicInteger();
+        DA_REQUISICAO.set(contagem);
+        return contagem;
+    }
+
+    /**
+     * Contagem da requisição na thread atual (nula fora de uma requisição); levada às threads do
+     * executor de tarefas por TarefasConfig.
+     */
+    static AtomicInteger contagemAtual() {
+        return DA_REQUISICAO.get();
+    }
+
+    /**
+     * Passa a contar na thread atual os comandos de uma requisição já iniciada (nula: deixa de contar).
+     */
+    static void continuarRequisicao(AtomicInteger contagem) {
+        if (contagem != null) {
+            DA_REQUISICAO.set(contagem);
+        } else {
+            DA_REQUISICAO.remove();
+        }
+    }
+
+    /**
+     * Deixa de contar na thread atual (a contagem continua guardada na requisição).
+     */
+    static void finalizarRequisicao() {
+        DA_REQUISICAO.remove();
+    }
+}
@@ -0,0 +1,29 @@
+package br.edu.uniesp.financeiro.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Funções SQL próprias disponíveis nas consultas JPQL.
+ * - match_against(descricao, observacao, texto): relevância da busca textual (0 = não encontrado).
+ *   No MySQL vira MATCH(...) AGAINST(... IN NATURAL LANGUAGE MODE), usando o índice FULLTEXT da V7.
+ *   Em outros bancos (ex: testes locais) vira uma comparação simples, sem índice, que retorna 1 ou 0.
+ * - Registrado no Hibernate via META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class FuncoesBancoContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions funcoes) {
+        BasicType<Double> relevancia = funcoes.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        String padrao = funcoes.getDialect() instanceof MySQLDialect
+                ? "match(?1, ?2) against (?3 in natural language mode)"
+                : "(case when locate(lower(?3), lower(concat(?1, ' ', coalesce(?2, '')))) > 0 then 1.0 else 0.0 end)";
+
+        funcoes.getFunctionRegistry().registerPattern("match_against", padrao, relevancia);
+    }
+}
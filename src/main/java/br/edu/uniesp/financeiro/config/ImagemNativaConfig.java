@@ -0,0 +1,64 @@
+package br.edu.uniesp.financeiro.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Dicas (hints) para a imagem nativa do GraalVM (perfil Maven native).
+ * - Na imagem nativa só existe o que foi visto no build: reflexão e arquivos do classpath usados
+ *   em tempo de execução precisam ser declarados aqui.
+ * - As dicas são lidas só no processamento AOT (mvn -Paot,native); na JVM esta classe não tem efeito.
+ */
+@Configuration // Classe de configuração do Spring
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+public class ImagemNativaConfig {
+
+    static class Dicas implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entidades: o Hibernate lê os campos e cria as instâncias por reflexão
+            for (Class<?> entidade : classesDoPacote("br.edu.uniesp.financeiro.entity", classLoader)) {
+                hints.reflection().registerType(entidade, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+
+            // DTOs: serializados pelo Jackson e criados pelo Hibernate nas consultas "SELECT new ...DTO(...)"
+            List<Class<?>> dtos = classesDoPacote("br.edu.uniesp.financeiro.dto", classLoader);
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), dtos.toArray(Class<?>[]::new));
+            for (Class<?> dto : dtos) {
+                hints.reflection().registerType(dto, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // Migrations do Flyway, lidas do classpath na subida
+            hints.resources().registerPattern("db/migration/*.sql");
+
+            // Cache de segundo nível: provedor JCache instanciado pelo Hibernate pelo nome da classe,
+            // configurado por application.conf (+ reference.conf do próprio Caffeine)
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("application.conf");
+            hints.resources().registerPattern("reference.conf");
+        }
+
+        // Classes (concretas) do pacote, encontradas no classpath durante o build
+        private List<Class<?>> classesDoPacote(String pacote, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((leitor, fabrica) -> true);
+            return scanner.findCandidateComponents(pacote).stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .<Class<?>>map(nome -> ClassUtils.resolveClassName(nome, classLoader))
+                    .toList();
+        }
+    }
+}
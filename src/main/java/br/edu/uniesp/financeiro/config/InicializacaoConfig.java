@@ -0,0 +1,26 @@
+package br.edu.uniesp.financeiro.config;
+
+import br.edu.uniesp.financeiro.service.AuditoriaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans que continuam sendo criados na subida com spring.main.lazy-initialization=true (perfil producao).
+ * - FlywayMigrationInitializer: as migrations rodam antes de a instância receber requisições.
+ * - EntityManagerFactory: o Hibernate monta o metamodelo na subida, e não na primeira requisição.
+ * - AuditoriaService: a thread de gravação precisa rodar desde o início (grava o arquivo pendente).
+ * - Os beans com @Scheduled (ArquivamentoService) já são mantidos pelo próprio Spring Boot.
+ * Sem a inicialização preguiçosa, este filtro não tem efeito.
+ */
+@Configuration // Classe de configuração do Spring
+public class InicializacaoConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter beansDaSubida() { // static: lido antes da criação dos demais beans
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, AuditoriaService.class);
+    }
+}
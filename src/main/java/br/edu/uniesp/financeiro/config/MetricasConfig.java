@@ -0,0 +1,81 @@
+package br.edu.uniesp.financeiro.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+
+/**
+ * Configuração das métricas da aplicação (expostas em /actuator/prometheus).
+ * - Tempo dos serviços: classes anotadas com @Timed("financeiro.servico").
+ * - Tempo e linhas dos repositórios: MetricasRepositorioAspect.
+ * - Comandos SQL (total e por requisição): ContadorSql + MetricasRequisicaoFilter.
+ * - Acertos/erros do cache de segundo nível do Hibernate: cache.gets com cache.manager=hibernate.
+ * Com financeiro.metricas.instrumentacao=false, nada disso é registrado (usado para medir o custo da
+ * própria instrumentação, ver InstrumentacaoBenchmark).
+ */
+@Configuration // Classe de configuração do Spring
+@ConditionalOnProperty(name = "financeiro.metricas.instrumentacao", havingValue = "true", matchIfMissing = true)
+public class MetricasConfig {
+
+    /**
+     * Habilita a anotação @Timed nos beans do Spring.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Publica as estatísticas do JCache das regiões do cache de segundo nível (categoria, pessoa).
+     * - Lidas do próprio JCache (MBean CacheStatistics), sem hibernate.generate_statistics.
+     * - As regiões criadas pelo Hibernate (missing_cache_strategy=create) não recebem o monitoring.statistics
+     *   de application.conf, então as estatísticas são ligadas aqui.
+     * - Mesmas tags dos caches do Spring (cache, name e cache.manager), exigidas pelo Prometheus para o mesmo nome.
+     */
+    @Bean
+    public MeterBinder cacheSegundoNivel(EntityManagerFactory emf) {
+        return registry -> {
+            RegionFactory regioes = emf.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+            if (regioes instanceof JCacheRegionFactory jcache) {
+                CacheManager caches = jcache.getCacheManager();
+                for (String nome : caches.getCacheNames()) {
+                    caches.enableStatistics(nome, true);
+                    JCacheMetrics.monitor(registry, caches.getCache(nome), Tags.of("cache.manager", "hibernate", "name", nome));
+                }
+            }
+        };
+    }
+
+    /**
+     * Envolve o DataSource da aplicação ("dataSource") com o contador de comandos SQL.
+     * - static e com ObjectProvider: o MeterRegistry só é criado quando o DataSource aparece.
+     * - Só o DataSource da aplicação: os pools do primário e da réplica (ReplicaConfig) ficam atrás dele,
+     *   e o Flyway, que usa o primário direto, não entra na contagem.
+     */
+    @Bean
+    public static BeanPostProcessor contadorSql(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof DataSource dataSource && nome.equals("dataSource")) {
+                    return new ContadorSql(registry.getObject()).envolver(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
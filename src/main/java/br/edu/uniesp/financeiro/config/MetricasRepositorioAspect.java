@@ -0,0 +1,87 @@
+package br.edu.uniesp.financeiro.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Mede as chamadas aos repositórios (Spring Data).
+ * - "financeiro.repositorio": tempo de cada método, separado por repositório e método.
+ * - "financeiro.repositorio.linhas": linhas devolvidas por chamada (tamanho da lista, 0/1 para Optional).
+ *   Métodos que retornam Stream não são contados, pois as linhas ainda não foram lidas.
+ */
+@Aspect     // Intercepta as chamadas aos repositórios
+@Component  // Gerenciado pelo Spring
+@ConditionalOnProperty(name = "financeiro.metricas.instrumentacao", havingValue = "true", matchIfMissing = true)
+public class MetricasRepositorioAspect {
+
+    private final MeterRegistry registry; // Registro das métricas (Micrometer)
+
+    public MetricasRepositorioAspect(MeterRegistry registry) { // Construtor com injeção de dependência
+        this.registry = registry;
+    }
+
+    // Nome do repositório (ex: LancamentoRepository) a partir da classe do proxy, calculado uma vez por classe
+    private static final ClassValue<String> NOMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxy) {
+            for (Class<?> interfaceRepositorio : proxy.getInterfaces()) {
+                if (interfaceRepositorio.getPackageName().equals(PACOTE_REPOSITORIOS)) {
+                    return interfaceRepositorio.getSimpleName();
+                }
+            }
+            return proxy.getSimpleName();
+        }
+    };
+    private static final String PACOTE_REPOSITORIOS = "br.edu.uniesp.financeiro.repository";
+
+    // Qualquer método de um repositório, inclusive os herdados (findById, save...)
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+        String repositorio = NOMES.get(chamada.getThis().getClass());
+        String metodo = chamada.getSignature().getName();
+        Timer.Sample inicio = Timer.start(registry);
+        String resultado = "sucesso";
+        try {
+            Object retorno = chamada.proceed();
+            registrarLinhas(repositorio, metodo, retorno);
+            return retorno;
+        } catch (Throwable e) {
+            resultado = "erro";
+            throw e;
+        } finally {
+            inicio.stop(Timer.builder("financeiro.repositorio")
+                    .description("Tempo das chamadas aos repositórios")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .tag("resultado", resultado)
+                    .register(registry));
+        }
+    }
+
+    // Quantidade de linhas devolvidas pela chamada
+    private void registrarLinhas(String repositorio, String metodo, Object retorno) {
+        long linhas;
+        if (retorno instanceof Collection<?> lista) {
+            linhas = lista.size();
+        } else if (retorno instanceof Optional<?> opcional) {
+            linhas = opcional.isPresent() ? 1 : 0;
+        } else {
+            return; // Stream, número ou void: nada a contar
+        }
+        DistributionSummary.builder("financeiro.repositorio.linhas")
+                .description("Linhas devolvidas por chamada aos repositórios")
+                .tag("repositorio", repositorio)
+                .tag("metodo", metodo)
+                .register(registry)
+                .record(linhas);
+    }
+}
@@ -0,0 +1,71 @@
+package br.edu.uniesp.financeiro.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou ("financeiro.sql.por.requisicao").
+ * - A métrica é separada pela rota e pelo método (ex: GET /lancamentos/filtro), então um valor alto
+ *   em uma rota indica consultas N+1.
+ * - Nas respostas em streaming, a contagem segue para a thread que escreve a resposta (TarefasConfig) e
+ *   é registrada no despacho assíncrono que encerra a requisição, já com as consultas do streaming.
+ */
+@Component // Registrado pelo Spring Boot como filtro de todas as requisições
+@ConditionalOnProperty(name = "financeiro.metricas.instrumentacao", havingValue = "true", matchIfMissing = true)
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final String ATRIBUTO = MetricasRequisicaoFilter.class.getName() + ".contagem";
+
+    private final MeterRegistry registry; // Registro das métricas (Micrometer)
+
+    public MetricasRequisicaoFilter(MeterRegistry registry) { // Construtor com injeção de dependência
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false; // Passa também no despacho do fim das respostas em streaming
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger contagem;
+        if (isAsyncDispatch(request)) { // Fim de uma resposta assíncrona: continua a contagem do início
+            contagem = (AtomicInteger) request.getAttribute(ATRIBUTO);
+            ContadorSql.continuarRequisicao(contagem);
+        } else {
+            contagem = ContadorSql.iniciarRequisicao();
+            request.setAttribute(ATRIBUTO, contagem);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContadorSql.finalizarRequisicao();
+            if (contagem != null && !request.isAsyncStarted()) { // Assíncrona: registra no último despacho
+                registrar(request, contagem.get());
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, int comandos) {
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE); // Ex: /lancamentos/{id}
+        DistributionSummary.builder("financeiro.sql.por.requisicao")
+                .description("Comandos SQL executados por requisição")
+                .tag("uri", rota != null ? rota.toString() : "desconhecida")
+                .tag("method", request.getMethod()) // GET e PUT de /lancamentos/{id} contados separadamente
+                .register(registry)
+                .record(comandos);
+    }
+}
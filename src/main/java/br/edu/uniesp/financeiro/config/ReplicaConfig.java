@@ -0,0 +1,108 @@
+package br.edu.uniesp.financeiro.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Separação de leitura e escrita: transações somente leitura na réplica, escritas no primário.
+ * - Ativada só quando financeiro.replica.url está definida; sem ela, o Spring Boot cria o DataSource
+ *   de spring.datasource.* como sempre.
+ * - Primário: spring.datasource.* (pool em spring.datasource.hikari.*), também usado pelo Flyway.
+ * - Réplica: financeiro.replica.url/username/password (usuário e senha do primário por padrão),
+ *   pool em financeiro.replica.hikari.*.
+ * - O DataSource da aplicação (JPA, JdbcTemplate) é o RoteamentoDataSource atrás de um
+ *   LazyConnectionDataSourceProxy.
+ * - O roteamento acompanha as respostas em streaming pelo TaskDecorator de TarefasConfig.
+ */
+@Configuration // Classe de configuração do Spring
+@ConditionalOnProperty("financeiro.replica.url")
+public class ReplicaConfig {
+
+    /**
+     * Pool do primário (escritas e migrações).
+     */
+    @Bean
+    @FlywayDataSource // O Flyway migra sempre o primário
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        HikariDataSource ds = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primario");
+        return ds;
+    }
+
+    /**
+     * Pool da réplica (transações somente leitura).
+     */
+    @Bean
+    @ConfigurationProperties("financeiro.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties propriedades,
+                                              @Value("${financeiro.replica.url}") String url,
+                                              @Value("${financeiro.replica.username:}") String usuario,
+                                              @Value("${financeiro.replica.password:}") String senha) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propriedades.determineDriverClassName())
+                .url(url)
+                .username(usuario.isEmpty() ? propriedades.determineUsername() : usuario)
+                .password(senha.isEmpty() ? propriedades.determinePassword() : senha)
+                .build();
+        ds.setPoolName("replica");
+        return ds;
+    }
+
+    /**
+     * DataSource da aplicação: escolhe o pool na hora em que a conexão é usada de fato.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, HikariDataSource dataSourceReplica,
+                                 @Value("${financeiro.replica.ler-apos-escrita:true}") boolean lerAposEscrita) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(lerAposEscrita);
+        roteamento.setTargetDataSources(Map.of(
+                RoteamentoDataSource.PRIMARIO, dataSourcePrimario,
+                RoteamentoDataSource.REPLICA, dataSourceReplica));
+        roteamento.setDefaultTargetDataSource(dataSourcePrimario);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Devolve a conexão ao fim de cada transação.
+     * - Por padrão, com open-in-view, a sessão do Hibernate segura a primeira conexão até o fim da requisição,
+     *   e uma escrita depois de uma leitura iria para a réplica. Assim, cada transação escolhe o seu banco.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexaoPorTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Filtro que delimita o roteamento de cada requisição (cabeçalho X-Ler-Primario e leitura após escrita).
+     */
+    @Bean
+    public FilterRegistrationBean<RoteamentoRequisicaoFilter> roteamentoRequisicaoFilter() {
+        FilterRegistrationBean<RoteamentoRequisicaoFilter> registro = new FilterRegistrationBean<>(new RoteamentoRequisicaoFilter());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 100); // Antes dos filtros que acessam o banco
+        return registro;
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.uniesp.financeiro.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que escolhe o banco de cada conexão: transações somente leitura vão para a réplica,
+ * todo o resto (escritas, Flyway, threads sem transação) vai para o primário.
+ * - Fica atrás de um LazyConnectionDataSourceProxy (ver ReplicaConfig): a conexão real só é pedida no
+ *   primeiro comando SQL, quando a transação já foi marcada como readOnly.
+ * - Leitura após escrita: uma requisição fixada no primário lê sempre do primário. A fixação é ligada
+ *   pelo cabeçalho X-Ler-Primario (RoteamentoRequisicaoFilter) ou, com financeiro.replica.ler-apos-escrita,
+ *   automaticamente na primeira transação de escrita da requisição; assim a requisição enxerga o que
+ *   acabou de gravar, mesmo com a réplica atrasada.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+    public static final String REPLICA = "replica";
+
+    // Estado da requisição atual: nulo fora de uma requisição; [0] = fixada no primário
+    private static final ThreadLocal<boolean[]> DA_REQUISICAO = new ThreadLocal<>();
+
+    private final boolean lerAposEscrita; // Fixa a requisição no primário após a primeira escrita
+
+    public RoteamentoDataSource(boolean lerAposEscrita) {
+        this.lerAposEscrita = lerAposEscrita;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean[] requisicao = DA_REQUISICAO.get();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return requisicao != null && requisicao[0] ? PRIMARIO : REPLICA;
+        }
+        if (lerAposEscrita && requisicao != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            requisicao[0] = true; // Escrita: as próximas leituras desta requisição vão para o primário
+        }
+        return PRIMARIO;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Começa o roteamento de uma requisição, já fixada no primário ou não.
+     */
+    static void iniciarRequisicao(boolean fixada) {
+        DA_REQUISICAO.set(new boolean[]{fixada});
+    }
+
+    /**
+     * Encerra o roteamento da requisição atual.
+     */
+    static void finalizarRequisicao() {
+        DA_REQUISICAO.remove();
+    }
+
+    /**
+     * Estado da requisição atual, para ser levado a outra thread (respostas em streaming).
+     */
+    static boolean[] estadoAtual() {
+        return DA_REQUISICAO.get();
+    }
+
+    /**
+     * Aplica na thread atual o estado capturado por estadoAtual().
+     */
+    static void aplicarEstado(boolean[] estado) {
+        if (estado == null) {
+            DA_REQUISICAO.remove();
+        } else {
+            DA_REQUISICAO.set(estado);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.uniesp.financeiro.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Delimita o roteamento primário/réplica de cada requisição (ver RoteamentoDataSource).
+ * - Com o cabeçalho "X-Ler-Primario: true", todas as leituras da requisição vão para o primário;
+ *   o cliente usa logo após uma escrita sua, quando precisa ler o que acabou de gravar.
+ * - Registrado só quando há réplica configurada (ReplicaConfig).
+ */
+public class RoteamentoRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Ler-Primario";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RoteamentoDataSource.iniciarRequisicao(Boolean.parseBoolean(request.getHeader(CABECALHO)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoteamentoDataSource.finalizarRequisicao();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.edu.uniesp.financeiro.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leva o estado da requisição para as threads do executor de tarefas do Spring (@Async e respostas em
+ * streaming, que rodam fora da thread da requisição).
+ * - Contagem de comandos SQL da requisição (ContadorSql).
+ * - Roteamento primário/réplica da requisição (RoteamentoDataSource; sem réplica, não tem efeito).
+ * Um único TaskDecorator: com mais de um bean, o Spring Boot não aplica nenhum ao executor.
+ */
+@Configuration // Classe de configuração do Spring
+public class TarefasConfig {
+
+    @Bean
+    public TaskDecorator requisicaoTaskDecorator() {
+        return tarefa -> {
+            AtomicInteger contagem = ContadorSql.contagemAtual();
+            boolean[] roteamento = RoteamentoDataSource.estadoAtual();
+            return () -> {
+                ContadorSql.continuarRequisicao(contagem);
+                RoteamentoDataSource.aplicarEstado(roteamento);
+                try {
+                    tarefa.run();
+                } finally {
+                    RoteamentoDataSource.finalizarRequisicao();
+                    ContadorSql.finalizarRequisicao();
+                }
+            };
+        };
+    }
+}
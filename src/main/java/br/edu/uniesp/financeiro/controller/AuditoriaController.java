@@ -0,0 +1,34 @@
+package br.edu.uniesp.financeiro.controller;
+
+import br.edu.uniesp.financeiro.entity.RegistroAuditoria;
+import br.edu.uniesp.financeiro.repository.AuditoriaRepository;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST da trilha de auditoria.
+ * - Somente leitura: os registros são gravados pelo AuditoriaService, em segundo plano.
+ */
+@RestController // indica ao spring que esta classe é um REST e retorna um JSON
+@RequestMapping("/auditoria") // define o prefixo para as rotas
+public class AuditoriaController {
+
+    private final AuditoriaRepository repository; // repositório da auditoria (consulta direta, sem regra de negócio)
+
+    public AuditoriaController(AuditoriaRepository repository) { // construtor utilizado pelo spring para injetar o repositório
+        this.repository = repository;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Histórico de alterações de um registro, do mais antigo para o mais recente.
+     * - GET /auditoria/{entidade}/{id}  (entidade: Lancamento, Pessoa ou Categoria)
+     * - Eventos recentes podem levar alguns instantes para aparecer (gravação em segundo plano).
+     */
+    @GetMapping("/{entidade}/{id}") // mapeia requisições get para o HTTP com o caminho /{entidade}/{id}
+    public List<RegistroAuditoria> historico(@PathVariable String entidade, @PathVariable Long id) {
+        return repository.findByEntidadeAndIdRegistroOrderById(entidade, id); // retorna os registros do histórico
+    }
+}
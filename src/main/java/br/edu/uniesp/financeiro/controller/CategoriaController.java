@@ -2,11 +2,13 @@ package br.edu.uniesp.financeiro.controller;
 
 import br.edu.uniesp.financeiro.dto.CategoriaRequestDTO;
 import br.edu.uniesp.financeiro.dto.CategoriaResponseDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Categoria;
 import br.edu.uniesp.financeiro.service.CategoriaService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -43,9 +45,14 @@ public class CategoriaController {
     /**
      * Lista todas as categorias.
      * - GET /categorias
+     * - Responde 304 (sem corpo) se a lista não mudou desde o ETag enviado pelo cliente.
      */
     @GetMapping // mapeia requisições get para o HTTP
-    public ResponseEntity<List<CategoriaResponseDTO>> listar() { // retorna uma lista de CategoriaResponseDTO
+    public ResponseEntity<List<CategoriaResponseDTO>> listar(WebRequest request) { // retorna uma lista de CategoriaResponseDTO
+        VersaoRecursoDTO versao = service.versaoDaLista(); // versão da lista, sem carregar as categorias
+        if (request.checkNotModified(versao.etag())) { // compara com If-None-Match (sem Last-Modified: exclusões não mudam a data)
+            return null; // o spring já respondeu 304 (Not Modified)
+        }
         List<CategoriaResponseDTO> list = service.listar() // chama o service para listar todas as categorias
                 .stream()// transforma a lista em um stream para manipulação
                 .map(CategoriaResponseDTO::new) // converte cada Categoria para CategoriaResponseDTO
@@ -0,0 +1,53 @@
+package br.edu.uniesp.financeiro.controller;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PessoaResponseDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
+import br.edu.uniesp.financeiro.entity.Lancamento;
+import br.edu.uniesp.financeiro.entity.Pessoa;
+import br.edu.uniesp.financeiro.service.LancamentoService;
+import br.edu.uniesp.financeiro.service.PessoaService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Trata os conflitos de versão (controle otimista).
+ * - Acontecem quando o If-Match enviado não é mais o ETag atual, ou quando duas alterações
+ *   simultâneas tentam gravar a mesma versão (@Version).
+ * - Responde 409 (Conflict) com o estado atual do registro e o seu ETag, para o cliente
+ *   reaplicar a alteração sobre a versão nova.
+ * - O estado é lido do primário e sem cache: com uma versão atrasada, o cliente reenviaria um
+ *   ETag antigo e receberia 409 de novo a cada tentativa.
+ */
+@RestControllerAdvice // aplica o tratamento a todos os controllers
+public class ConflitoVersaoHandler {
+
+    private final LancamentoService lancamentoService; // busca o estado atual do lançamento
+    private final PessoaService pessoaService; // busca o estado atual da pessoa
+
+    public ConflitoVersaoHandler(LancamentoService lancamentoService, PessoaService pessoaService) { // construtor utilizado pelo spring para injetar os services
+        this.lancamentoService = lancamentoService;
+        this.pessoaService = pessoaService;
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class) // conflito de versão em qualquer controller
+    public ResponseEntity<Object> conflito(ObjectOptimisticLockingFailureException e) {
+        Long id = (Long) e.getIdentifier(); // ID do registro em conflito
+        if (Lancamento.class.getName().equals(e.getPersistentClassName())) {
+            Lancamento atual = lancamentoService.buscarAtual(id); // estado gravado pela alteração que venceu
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .eTag(VersaoRecursoDTO.de(atual).etag())
+                    .body(new LancamentoResponseDTO(atual));
+        }
+        if (Pessoa.class.getName().equals(e.getPersistentClassName())) {
+            Pessoa atual = pessoaService.buscarAtual(id); // estado gravado pela alteração que venceu
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .eTag(VersaoRecursoDTO.de(atual).etag())
+                    .body(new PessoaResponseDTO(atual));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).build(); // outras entidades: só o status
+    }
+}
@@ -0,0 +1,68 @@
+package br.edu.uniesp.financeiro.controller;
+
+import br.edu.uniesp.financeiro.dto.ImportacaoDTO;
+import br.edu.uniesp.financeiro.entity.FormatoImportacao;
+import br.edu.uniesp.financeiro.service.ImportacaoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Controller REST de importação de extratos bancários.
+ * - O arquivo é enviado como corpo da requisição (sem multipart) e lido em streaming.
+ * - O corpo não pode ser enviado como formulário (application/x-www-form-urlencoded), senão o servidor o consome.
+ *
+ * Exemplo de chamada:
+ *   curl -X POST -H "Content-Type: text/plain" --data-binary @extrato.csv "http://localhost:8080/importacoes?formato=CSV&idPessoa=1&idCategoria=2"
+ */
+@RestController // indica ao spring que esta classe é um REST e retorna um JSON
+@RequestMapping("/importacoes") // define o prefixo para as rotas
+public class ImportacaoController {
+
+    private final ImportacaoService service; // injeção do serviço que contém a lógica de negócio
+
+    public ImportacaoController(ImportacaoService service) { // construtor utilizado pelo spring para injetar o service
+        this.service = service; // atribui o service injetado ao atributo da classe
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Importa um extrato CSV ou OFX.
+     * - POST /importacoes?formato=CSV&idPessoa=1&idCategoria=2&charset=UTF-8
+     */
+    @PostMapping // mapeia requisições post para o HTTP
+    public ResponseEntity<ImportacaoDTO> importar(@RequestParam FormatoImportacao formato, // CSV ou OFX
+                                                  @RequestParam Long idPessoa, // pessoa dos lançamentos importados
+                                                  @RequestParam Long idCategoria, // categoria dos lançamentos importados
+                                                  @RequestParam(defaultValue = "UTF-8") String charset, // codificação do arquivo
+                                                  InputStream arquivo) { // corpo da requisição, lido aos poucos
+        return ResponseEntity.ok(service.iniciar(formato, idPessoa, idCategoria, arquivo, Charset.forName(charset)));
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Retoma uma importação interrompida, reenviando o mesmo arquivo.
+     * - POST /importacoes/{id}/retomada
+     */
+    @PostMapping("/{id}/retomada") // mapeia requisições post para o HTTP com o caminho /{id}/retomada
+    public ResponseEntity<ImportacaoDTO> retomar(@PathVariable Long id, // extrai o id da URL
+                                                 @RequestParam(defaultValue = "UTF-8") String charset, // codificação do arquivo
+                                                 InputStream arquivo) { // corpo da requisição, lido aos poucos
+        return ResponseEntity.ok(service.retomar(id, arquivo, Charset.forName(charset)));
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Consulta o andamento de uma importação.
+     * - GET /importacoes/{id}
+     */
+    @GetMapping("/{id}") // mapeia requisições get para o HTTP com o caminho /{id}
+    public ResponseEntity<ImportacaoDTO> buscarPorId(@PathVariable Long id) { // extrai o id da URL
+        return ResponseEntity.ok(service.buscarPorId(id));
+    }
+}
@@ -1,17 +1,48 @@
 package br.edu.uniesp.financeiro.controller;
 
+import br.edu.uniesp.financeiro.dto.AgrupamentoResumo;
+import br.edu.uniesp.financeiro.dto.AlteracoesLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.BaixaLancamentoDTO;
 import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoPatchDTO;
 import br.edu.uniesp.financeiro.dto.LancamentoRequestDTO;
 import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PaginaLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoArquivamentoDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoBaixaDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoLoteDTO;
+import br.edu.uniesp.financeiro.dto.ResumoLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Lancamento;
+import br.edu.uniesp.financeiro.service.AlteracaoLancamentoService;
+import br.edu.uniesp.financeiro.service.ArquivamentoService;
+import br.edu.uniesp.financeiro.service.EscritorJsonLancamento;
 import br.edu.uniesp.financeiro.service.LancamentoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller REST de Lancamento.
@@ -21,10 +52,23 @@ import java.util.List;
 @RequestMapping("/lancamentos") // define o prefixo para as rotas 
 public class LancamentoController { 
 
+    private static final String CABECALHO_CSV = "id;data_vencimento;data_pagamento;descricao;valor;tipo;categoria;pessoa;observacao\r\n"; // colunas da exportação
+    private static final int TAMANHO_BUFFER = 64 * 1024; // buffer de escrita da exportação
+
     private final LancamentoService service; // injeção do serviço que contém a lógica de negócio
+    private final ObjectMapper objectMapper; // conversor JSON do spring, usado na listagem em streaming
+    private final AlteracaoLancamentoService alteracoes; // feed de alterações (outbox)
+    private final ArquivamentoService arquivamento; // arquivamento dos períodos encerrados
+    private final EscritorJsonLancamento escritorJson; // escrita da listagem e do filtro direto das linhas do banco
 
-    public LancamentoController(LancamentoService service) { // construtor utilizado pelo spring para injetar o service
+    public LancamentoController(LancamentoService service, ObjectMapper objectMapper, // construtor utilizado pelo spring para injetar as dependências
+                                AlteracaoLancamentoService alteracoes, ArquivamentoService arquivamento,
+                                EscritorJsonLancamento escritorJson) {
         this.service = service; // atribui o service injetado ao atributo da classe
+        this.objectMapper = objectMapper; // atribui o conversor JSON injetado ao atributo da classe
+        this.alteracoes = alteracoes; // atribui o serviço do feed de alterações
+        this.arquivamento = arquivamento; // atribui o serviço de arquivamento
+        this.escritorJson = escritorJson; // atribui o escritor JSON dos lançamentos
     }
 
 
@@ -42,19 +86,106 @@ public class LancamentoController {
     // @valid ativa as validações do DTO 
 
 
+    // -----------------------------||-------------------------------- \\ 
+    /**
+     * Cria vários lançamentos de uma vez.
+     * - POST /lancamentos/lote
+     * - Cada item é validado separadamente: os inválidos voltam na lista de erros e os demais são gravados.
+     */
+    @PostMapping("/lote") // mapeia requisições post para o HTTP com o caminho /lote
+    public ResponseEntity<ResultadoLoteDTO> salvarLote(@RequestBody List<LancamentoRequestDTO> itens) { // lê a lista JSON (sem @Valid, a validação é por item)
+        return ResponseEntity.ok(service.salvarLote(itens)); // retorna quantos foram gravados e os erros de cada item
+    }
+
+
+    // -----------------------------||-------------------------------- \\ 
+
+    /**
+     * Baixa em massa: marca como pagos os lançamentos escolhidos por IDs ou por filtro.
+     * - POST /lancamentos/baixa
+     * - Retorna quantos lançamentos foram atualizados.
+     *
+     * Exemplo de corpo: { "dataPagamento": "2025-01-31", "filtro": { "dataFinal": "2025-01-31", "idPessoa": 2 } }
+     */
+    @PostMapping("/baixa") // mapeia requisições post para o HTTP com o caminho /baixa
+    public ResponseEntity<ResultadoBaixaDTO> baixar(@RequestBody @Valid BaixaLancamentoDTO dto) { // lê o corpo JSON e ativa as validações
+        return ResponseEntity.ok(service.baixar(dto)); // retorna a quantidade de lançamentos baixados
+    }
+
+
+    // -----------------------------||-------------------------------- \\
+    /**
+     * Move para o arquivo os lançamentos de períodos encerrados.
+     * - POST /lancamentos/arquivamento
+     * - Também pode rodar agendado (financeiro.arquivo.cron). Os lançamentos arquivados continuam no filtro,
+     *   na exportação, no resumo, na busca textual e em GET /lancamentos/{id}, mas saem da listagem e da
+     *   paginação; PUT, PATCH e DELETE de um lançamento arquivado respondem 410 (Gone).
+     */
+    @PostMapping("/arquivamento") // mapeia requisições post para o HTTP com o caminho /arquivamento
+    public ResponseEntity<ResultadoArquivamentoDTO> arquivar() {
+        return ResponseEntity.ok(arquivamento.arquivar()); // retorna o corte e a quantidade de lançamentos movidos
+    }
+
+
     // -----------------------------||-------------------------------- \\ 
 
     /**
      * Lista todos os lançamentos.
      * - GET /lancamentos
+     * - O JSON é escrito em streaming: cada lançamento vai para a resposta assim que sai do banco,
+     *   sem montar a lista inteira na memória (ver EscritorJsonLancamento).
      */
     @GetMapping // mapeia requisições get para o HTTP 
-    public ResponseEntity<List<LancamentoResponseDTO>> listar() { // retorna uma lista de LancamentoResponseDTO
-        List<LancamentoResponseDTO> list = service.listar()//  chama o service para listar todos os lançamentos
-                .stream() // transforma a lista em um stream para manipulação
-                .map(LancamentoResponseDTO::new) // converte cada Lancamento para LancamentoResponseDTO
-                .toList(); // converte o stream de volta para lista
-        return ResponseEntity.ok(list); // retorna a lista como resposta HTTP
+    public ResponseEntity<StreamingResponseBody> listar() { // retorna o corpo da resposta escrito aos poucos
+        StreamingResponseBody corpo = saida -> { // executado pelo spring fora da thread da requisição
+            try (JsonGenerator gerador = objectMapper.createGenerator(saida)) { // escreve JSON direto na saída HTTP
+                escritorJson.escreverTodos(gerador); // escreve cada lançamento assim que sai do banco, sem criar DTOs
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo); // retorna o corpo em streaming como JSON
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Feed de alterações de lançamentos, para sincronização incremental.
+     * - GET /lancamentos/changes?since=0&limite=500&espera=30
+     * - Retorna as alterações com sequência maior que since, em ordem, com o estado atual de cada lançamento;
+     *   na próxima chamada, envie em since o campo "proximo" da resposta.
+     * - Long-poll: sem alterações novas, a resposta espera até "espera" segundos (máx. 60) por um commit;
+     *   espera=0 responde na hora.
+     */
+    @GetMapping("/changes") // mapeia requisições get para o HTTP com o caminho /changes
+    public DeferredResult<AlteracoesLancamentoDTO> alteracoes(@RequestParam(defaultValue = "0") long since, // última sequência já lida
+                                                              @RequestParam(defaultValue = "500") int limite, // máximo de alterações
+                                                              @RequestParam(defaultValue = "30") int espera) { // segundos de espera
+        long esperaMillis = TimeUnit.SECONDS.toMillis(Math.min(Math.max(espera, 1), 60));
+        DeferredResult<AlteracoesLancamentoDTO> resposta = new DeferredResult<>(esperaMillis); // libera a thread enquanto espera
+        Runnable responder = () -> resposta.setResult(alteracoes.listar(since, limite));
+        Runnable aviso = () -> Thread.ofVirtual().start(responder); // chamado na thread do commit: consulta em outra thread
+        resposta.onTimeout(responder);   // tempo esgotado: consulta de novo (pega commits de outras instâncias)
+        resposta.onCompletion(() -> alteracoes.cancelar(aviso));
+
+        alteracoes.aguardar(aviso); // registra antes de consultar, para não perder um commit que ocorra no meio
+        AlteracoesLancamentoDTO atual = alteracoes.listar(since, limite);
+        if (!atual.alteracoes().isEmpty() || espera <= 0) { // já há alterações (ou não é para esperar)
+            resposta.setResult(atual);
+        }
+        return resposta;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Lista os lançamentos em páginas, usando cursor (keyset).
+     * - GET /lancamentos/pagina?tamanho=100
+     * - GET /lancamentos/pagina?cursor={next da página anterior}&tamanho=100
+     */
+    @GetMapping("/pagina") // mapeia requisições get para o HTTP com o caminho /pagina
+    public ResponseEntity<PaginaLancamentoDTO> listarPagina(
+            @RequestParam(required = false) String cursor, // cursor devolvido no campo "next" da página anterior
+            @RequestParam(defaultValue = "100") int tamanho) { // quantidade de itens por página
+        return ResponseEntity.ok(service.listarPagina(cursor, tamanho)); // retorna a página com o cursor da próxima
     }
 
     // -----------------------------||-------------------------------- \\
@@ -62,11 +193,16 @@ public class LancamentoController {
     /**
      * Busca um lançamento pelo ID.
      * - GET /lancamentos/{id}
+     * - Responde 304 (sem corpo) se o lançamento não mudou desde o ETag / data enviados pelo cliente.
+     * - Lançamentos arquivados também são encontrados (somente leitura).
      */
     @GetMapping("/{id}") // mapeia requisições get para o HTTP com o caminho /{id}
-    public ResponseEntity<LancamentoResponseDTO> buscarPorId(@PathVariable Long id) { // extrai o id da URL
-        Lancamento l = service.buscarPorId(id); // busca o lançamento via service
-        return ResponseEntity.ok(new LancamentoResponseDTO(l)); // converte para DTO e retorna
+    public ResponseEntity<LancamentoResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) { // extrai o id da URL
+        VersaoRecursoDTO versao = service.buscarVersao(id); // versão do lançamento, sem carregar as entidades
+        if (request.checkNotModified(versao.etag(), versao.ultimaAlteracaoMillis())) { // compara com If-None-Match / If-Modified-Since
+            return null; // o spring já respondeu 304 (Not Modified)
+        }
+        return ResponseEntity.ok(service.buscarResposta(id)); // busca o lançamento (ativo ou arquivado) já como DTO
     }
 
     // @pathVariable lê os valores da URl e os atribui aos parâmetros do método 
@@ -76,11 +212,30 @@ public class LancamentoController {
     /**
      * Atualiza um lançamento existente.
      * - PUT /lancamentos/{id}
+     * - Com o cabeçalho If-Match (ETag de GET /lancamentos/{id}), só atualiza se o lançamento não mudou;
+     *   caso contrário responde 409 com o estado atual.
      */
     @PutMapping("/{id}") // mapeia requisições put para o HTTP com o caminho /{id}
-    public ResponseEntity<LancamentoResponseDTO> atualizar(@PathVariable Long id, @RequestBody @Valid LancamentoRequestDTO dto) { // extrai o id da URL e lê o corpo JSON com os novos dados
-        Lancamento l = service.atualizar(id, dto); // atualiza o lançamento via service
-        return ResponseEntity.ok(new LancamentoResponseDTO(l)); // converte para DTO e retorna
+    public ResponseEntity<LancamentoResponseDTO> atualizar(@PathVariable Long id, @RequestBody @Valid LancamentoRequestDTO dto, // extrai o id da URL e lê o corpo JSON com os novos dados
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) { // ETag da versão que o cliente leu (opcional)
+        Lancamento l = service.atualizar(id, dto, ifMatch); // atualiza o lançamento via service
+        return ResponseEntity.ok().eTag(VersaoRecursoDTO.de(l).etag()).body(new LancamentoResponseDTO(l)); // converte para DTO e retorna com o novo ETag
+    }
+
+    /**
+     * Altera só os campos enviados (descricao, dataPagamento, observacao).
+     * - PATCH /lancamentos/{id}
+     * - Grava apenas as colunas enviadas, então alterações simultâneas em campos diferentes não conflitam.
+     * - Com o cabeçalho If-Match, como no PUT, só atualiza se o lançamento não mudou; caso contrário
+     *   responde 409 com o estado atual.
+     *
+     * Exemplo de corpo: { "dataPagamento": "2025-01-10" }  ou  { "observacao": null }
+     */
+    @PatchMapping("/{id}") // mapeia requisições patch para o HTTP com o caminho /{id}
+    public ResponseEntity<LancamentoResponseDTO> atualizarParcial(@PathVariable Long id, @RequestBody LancamentoPatchDTO dto, // extrai o id da URL e lê os campos enviados
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) { // ETag da versão que o cliente leu (opcional)
+        LancamentoResponseDTO atualizado = service.atualizarParcial(id, dto, ifMatch); // grava só os campos enviados
+        return ResponseEntity.ok().eTag(service.buscarVersao(id).etag()).body(atualizado); // retorna o estado gravado com o novo ETag
     }
 
     // @pathVariable lê os valores da url e os atribui aos parametros do método
@@ -111,11 +266,14 @@ public class LancamentoController {
      * - GET /lancamentos/filtro
      * - Todos os parâmetros são opcionais, passados via query string.
      *
+     * - A resposta é escrita em streaming, como em GET /lancamentos.
+     *
      * Exemplo de chamada:
      *   /lancamentos/filtro?dataInicial=2025-01-01&dataFinal=2025-12-31&tipo=RECEITA&idCategoria=1&idPessoa=2
+     *   /lancamentos/filtro?texto=aluguel
      */
     @GetMapping("/filtro") // mapeia requisições get para o HTTP com o caminho /filtro
-    public List<Lancamento> filtrar( // define os parâmetros de filtro
+    public ResponseEntity<StreamingResponseBody> filtrar( // define os parâmetros de filtro
             // Datas no formato ISO (yyyy-MM-dd), aceitas opcionalmente
             @RequestParam(required = false) // indica que o parâmetro é opcional
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
@@ -135,7 +293,11 @@ public class LancamentoController {
 
             // ID da pessoa
             @RequestParam(required = false) // indica que o parâmetro é opcional
-            Long idPessoa   // ID da pessoa
+            Long idPessoa,   // ID da pessoa
+
+            // Palavras buscadas na descrição e na observação (índice FULLTEXT)
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String texto   // texto da busca
     ) {
         // Monta o DTO de filtro a partir dos parâmetros recebidos
         FiltroLancamentoDTO filtro = new FiltroLancamentoDTO( // cria um novo objeto FiltroLancamentoDTO
@@ -143,11 +305,192 @@ public class LancamentoController {
                 dataFinal, // data final
                 tipo, // tipo de lançamento
                 idCategoria,   // ID da categoria
-                idPessoa    // ID da pessoa
+                idPessoa,    // ID da pessoa
+                texto   // texto da busca
         );
 
-        // Delegamos para o serviço executar a lógica de filtro
-        return service.filtrar(filtro); // retorna a lista de lançamentos filtrados
+        // O JSON é escrito em streaming, direto das linhas do banco (mesmo formato de LancamentoResponseDTO)
+        EscritorJsonLancamento.validar(filtro); // filtro inválido gera erro antes de o streaming começar
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.createGenerator(saida)) { // escreve JSON direto na saída HTTP
+                escritorJson.escreverFiltro(filtro, gerador); // escreve os lançamentos filtrados
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo); // retorna o corpo em streaming como JSON
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Endpoint de resumo (saldo) dos lançamentos.
+     * - GET /lancamentos/resumo
+     * - Aceita os mesmos filtros de /lancamentos/filtro e o parâmetro "agrupar" (MES, CATEGORIA, PESSOA).
+     * - A soma é feita no banco; a resposta traz apenas os totais de cada grupo.
+     *
+     * Exemplo de chamada:
+     *   /lancamentos/resumo?dataInicial=2025-01-01&dataFinal=2025-12-31&idPessoa=2&agrupar=MES,CATEGORIA
+     */
+    @GetMapping("/resumo") // mapeia requisições get para o HTTP com o caminho /resumo
+    public List<ResumoLancamentoDTO> resumir( // define os parâmetros de filtro e agrupamento
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataInicial, // data inicial
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataFinal, // data final
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String tipo, // tipo de lançamento
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idCategoria,   // ID da categoria
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idPessoa,   // ID da pessoa
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String texto,   // texto da busca
+
+            // Agrupamentos desejados; sem o parâmetro, retorna um único total
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Set<AgrupamentoResumo> agrupar // agrupamentos (MES, CATEGORIA, PESSOA)
+    ) {
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(dataInicial, dataFinal, tipo, idCategoria, idPessoa, texto); // monta o DTO de filtro
+        Set<AgrupamentoResumo> agrupamentos = agrupar == null || agrupar.isEmpty()
+                ? EnumSet.noneOf(AgrupamentoResumo.class) // sem agrupamento
+                : EnumSet.copyOf(agrupar); // agrupamentos informados
+        return service.resumir(filtro, agrupamentos); // retorna os totais calculados no banco
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Busca textual de lançamentos, ordenada por relevância.
+     * - GET /lancamentos/busca?texto=...
+     * - Procura as palavras em descrição e observação usando o índice FULLTEXT; aceita os mesmos filtros
+     *   de /lancamentos/filtro e é paginada (pagina começa em 0).
+     *
+     * Exemplo de chamada:
+     *   /lancamentos/busca?texto=aluguel%20apartamento&idPessoa=2&pagina=0&tamanho=20
+     */
+    @GetMapping("/busca") // mapeia requisições get para o HTTP com o caminho /busca
+    public List<LancamentoResponseDTO> buscar( // define o texto, os filtros e a página
+            @RequestParam // texto obrigatório
+            String texto, // texto da busca
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataInicial, // data inicial
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataFinal, // data final
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String tipo, // tipo de lançamento
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idCategoria,   // ID da categoria
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idPessoa,   // ID da pessoa
+
+            @RequestParam(defaultValue = "0") int pagina, // número da página (começa em 0)
+            @RequestParam(defaultValue = "20") int tamanho // quantidade de itens por página
+    ) {
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(dataInicial, dataFinal, tipo, idCategoria, idPessoa, texto); // monta o DTO de filtro
+        return service.buscar(filtro, pagina, tamanho); // retorna a página, dos mais relevantes para os menos
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Exporta os lançamentos filtrados em CSV.
+     * - GET /lancamentos/export
+     * - Aceita os mesmos filtros de /lancamentos/filtro; com compactar=true o arquivo sai em gzip (.csv.gz).
+     * - Cada linha é escrita na resposta assim que sai do banco, então a memória usada é a mesma
+     *   para mil ou dezenas de milhões de lançamentos.
+     *
+     * Exemplo de chamada:
+     *   /lancamentos/export?dataInicial=2025-01-01&dataFinal=2025-12-31&compactar=true
+     */
+    @GetMapping("/export") // mapeia requisições get para o HTTP com o caminho /export
+    public ResponseEntity<StreamingResponseBody> exportar( // define os parâmetros de filtro
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataInicial, // data inicial
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // define o formato da data como ISO
+            LocalDate dataFinal, // data final
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String tipo, // tipo de lançamento
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idCategoria,   // ID da categoria
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            Long idPessoa,   // ID da pessoa
+
+            @RequestParam(required = false) // indica que o parâmetro é opcional
+            String texto,   // texto da busca
+
+            @RequestParam(defaultValue = "false") // sem o parâmetro, o CSV sai sem compactação
+            boolean compactar // compacta o arquivo com gzip
+    ) {
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(dataInicial, dataFinal, tipo, idCategoria, idPessoa, texto); // monta o DTO de filtro
+        EscritorJsonLancamento.validar(filtro); // filtro inválido gera erro antes de o streaming começar
+        StreamingResponseBody corpo = saida -> { // executado pelo spring fora da thread da requisição
+            OutputStream destino = compactar ? new GZIPOutputStream(saida, TAMANHO_BUFFER) : saida; // compacta enquanto escreve, se pedido
+            try (Writer csv = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANHO_BUFFER)) {
+                csv.write(CABECALHO_CSV); // primeira linha: nomes das colunas
+                service.percorrerFiltro(filtro, dto -> escreverCsv(csv, dto)); // escreve cada lançamento assim que sai do banco
+            }
+        };
+        String arquivo = compactar ? "lancamentos.csv.gz" : "lancamentos.csv"; // nome sugerido para o download
+        return ResponseEntity.ok()
+                .contentType(compactar ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo); // retorna o arquivo em streaming
+    }
+
+    // escreve um lançamento como uma linha do CSV (separador ";", valores com ponto decimal)
+    private static void escreverCsv(Writer csv, LancamentoResponseDTO l) {
+        try {
+            csv.write(String.valueOf(l.id()));
+            csv.write(';');
+            csv.write(l.dataVencimento().toString());
+            csv.write(';');
+            csv.write(l.dataPagamento() != null ? l.dataPagamento().toString() : "");
+            csv.write(';');
+            csv.write(campoCsv(l.descricao()));
+            csv.write(';');
+            csv.write(l.valor().toPlainString());
+            csv.write(';');
+            csv.write(l.tipo().name());
+            csv.write(';');
+            csv.write(campoCsv(l.nomeCategoria()));
+            csv.write(';');
+            csv.write(campoCsv(l.nomePessoa()));
+            csv.write(';');
+            csv.write(campoCsv(l.observacao()));
+            csv.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // coloca o texto entre aspas quando ele contém separador, aspas ou quebra de linha
+    private static String campoCsv(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        if (texto.indexOf(';') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
     }
 }
 
@@ -2,11 +2,14 @@ package br.edu.uniesp.financeiro.controller;
 
 import br.edu.uniesp.financeiro.dto.PessoaRequestDTO;
 import br.edu.uniesp.financeiro.dto.PessoaResponseDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Pessoa;
 import br.edu.uniesp.financeiro.service.PessoaService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -60,9 +63,15 @@ public class PessoaController {
      * URL: /pessoas
      *
      * Retorna uma lista de PessoaResponseDTO.
+     * Responde 304 (sem corpo) se a lista não mudou desde o ETag enviado pelo cliente.
      */
     @GetMapping // Mapeia requisições GET para o HTTP
-    public ResponseEntity<List<PessoaResponseDTO>> listar() { // Retorna uma lista de PessoaResponseDTO
+    public ResponseEntity<List<PessoaResponseDTO>> listar(WebRequest request) { // Retorna uma lista de PessoaResponseDTO
+
+        VersaoRecursoDTO versao = service.versaoDaLista(); // Versão da lista, sem carregar as pessoas
+        if (request.checkNotModified(versao.etag())) { // Compara com If-None-Match (sem Last-Modified: exclusões não mudam a data)
+            return null; // O Spring já respondeu 304 (Not Modified)
+        }
 
         // Converte cada entidade Pessoa para PessoaResponseDTO
 
@@ -85,11 +94,12 @@ public class PessoaController {
      * URL: /pessoas/{id}
      *
      * @PathVariable → extrai o "id" da URL.
+     * Lida do banco, sem cache: o ETag devolvido é o atual, e o If-Match do PUT seguinte não dá 409 à toa.
      */
     @GetMapping("/{id}") // Mapeia requisições GET para o HTTP com o caminho /{id}
      public ResponseEntity<PessoaResponseDTO> buscarPorId(@PathVariable Long id) { // Extrai o id da URL
-        Pessoa p = service.buscarPorId(id); // Busca a pessoa via service
-        return ResponseEntity.ok(new PessoaResponseDTO(p)); // Retorna a pessoa como resposta HTTP
+        Pessoa p = service.buscarAtual(id); // Busca o estado gravado da pessoa via service
+        return ResponseEntity.ok().eTag(VersaoRecursoDTO.de(p).etag()).body(new PessoaResponseDTO(p)); // Retorna a pessoa com o ETag (usado no If-Match do PUT)
     }
 
     //@pathvariable lê os valores da URL e os atribui aos parâmetros do método
@@ -102,14 +112,17 @@ public class PessoaController {
      * URL: /pessoas/{id}
      *
      * Recebe o DTO com os novos dados e aplica a atualização.
+     * Com o cabeçalho If-Match (ETag de GET /pessoas/{id}), só atualiza se a pessoa não mudou;
+     * caso contrário responde 409 com o estado atual.
      */
     @PutMapping("/{id}") // Mapeia requisições PUT para /pessoas/{id}   
     public ResponseEntity<PessoaResponseDTO> atualizar(
             @PathVariable Long id, // Extrai o ID da URL
-            @RequestBody @Valid PessoaRequestDTO dto) { // Lê o corpo JSON com os novos dados
+            @RequestBody @Valid PessoaRequestDTO dto, // Lê o corpo JSON com os novos dados
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) { // ETag da versão que o cliente leu (opcional)
 
-        Pessoa p = service.atualizar(id, dto);               // Atualiza no service
-        return ResponseEntity.ok(new PessoaResponseDTO(p));  // Retorna JSON atualizado
+        Pessoa p = service.atualizar(id, dto, ifMatch);      // Atualiza no service
+        return ResponseEntity.ok().eTag(VersaoRecursoDTO.de(p).etag()).body(new PessoaResponseDTO(p));  // Retorna JSON atualizado com o novo ETag
     }
 
     // @pathvariable lê os valores da url e os atribui aos paâmetros do método
@@ -0,0 +1,61 @@
+package br.edu.uniesp.financeiro.controller;
+
+import br.edu.uniesp.financeiro.dto.DivergenciaSaldoDTO;
+import br.edu.uniesp.financeiro.dto.SaldoAnualDTO;
+import br.edu.uniesp.financeiro.service.SaldoMensalService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST dos saldos mensais.
+ * - Consulta os saldos já consolidados e expõe a reconstrução e a verificação da tabela.
+ */
+@RestController // indica ao spring que esta classe é um REST e retorna um JSON
+@RequestMapping("/saldos") // define o prefixo para as rotas
+public class SaldoMensalController {
+
+    private final SaldoMensalService service; // injeção do serviço que contém a lógica de negócio
+
+    public SaldoMensalController(SaldoMensalService service) { // construtor utilizado pelo spring para injetar o service
+        this.service = service; // atribui o service injetado ao atributo da classe
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Saldo de uma pessoa no ano (padrão: ano atual), mês a mês.
+     * - GET /saldos/pessoa/{idPessoa}?ano=2025
+     */
+    @GetMapping("/pessoa/{idPessoa}") // mapeia requisições get para o HTTP com o caminho /pessoa/{idPessoa}
+    public ResponseEntity<SaldoAnualDTO> consultarAno(@PathVariable Long idPessoa, // extrai o id da pessoa da URL
+                                                      @RequestParam(required = false) Integer ano) { // ano desejado (opcional)
+        int anoConsulta = ano != null ? ano : LocalDate.now().getYear(); // usa o ano atual se não for informado
+        return ResponseEntity.ok(service.consultarAno(idPessoa, anoConsulta)); // retorna o saldo do ano
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Reconstrói a tabela de saldos a partir dos lançamentos.
+     * - POST /saldos/reconstrucao
+     */
+    @PostMapping("/reconstrucao") // mapeia requisições post para o HTTP com o caminho /reconstrucao
+    public ResponseEntity<Void> reconstruir() {
+        service.reconstruir(); // recalcula todos os saldos
+        return ResponseEntity.noContent().build(); // retorna status 204 (sem conteúdo)
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Verifica a consistência dos saldos; retorna os grupos divergentes (vazio = consistente).
+     * - GET /saldos/verificacao
+     */
+    @GetMapping("/verificacao") // mapeia requisições get para o HTTP com o caminho /verificacao
+    public ResponseEntity<List<DivergenciaSaldoDTO>> verificar() {
+        return ResponseEntity.ok(service.verificar()); // retorna as divergências encontradas
+    }
+}
@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.dto;
+
+/**
+ * Enumeração com as formas de agrupar o resumo de lançamentos (/lancamentos/resumo).
+ * - MES: agrupa por ano/mês da data de vencimento.
+ * - CATEGORIA: agrupa por categoria.
+ * - PESSOA: agrupa por pessoa.
+ */
+public enum AgrupamentoResumo {
+    MES,
+    CATEGORIA,
+    PESSOA
+}
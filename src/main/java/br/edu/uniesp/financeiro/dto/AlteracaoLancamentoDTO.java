@@ -0,0 +1,33 @@
+package br.edu.uniesp.financeiro.dto;
+
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO de saída de uma alteração do feed de lançamentos.
+ * - "lancamento" traz o estado atual do lançamento (null se ele já foi excluído); um lançamento arquivado
+ *   (operação ARQUIVAMENTO) continua com o estado lido de lancamento_arquivo.
+ */
+public record AlteracaoLancamentoDTO(
+        long sequencia,                 // Posição no feed
+        Long idLancamento,              // Lançamento alterado
+        OperacaoAuditoria operacao,     // CRIACAO, ALTERACAO, EXCLUSAO ou ARQUIVAMENTO
+        Instant ocorridoEm,             // Momento da alteração
+        LancamentoResponseDTO lancamento // Estado atual (null se excluído)
+) {
+    /**
+     * Construtor usado na consulta do feed (LEFT JOIN com o lançamento ativo ou arquivado, a categoria e a pessoa).
+     */
+    public AlteracaoLancamentoDTO(Long sequencia, Long idLancamento, OperacaoAuditoria operacao, Instant ocorridoEm,
+                                  Long id, String descricao, LocalDate dataVencimento, LocalDate dataPagamento,
+                                  BigDecimal valor, String observacao, TipoLancamento tipo,
+                                  Long idCategoria, String nomeCategoria, Long idPessoa, String nomePessoa) {
+        this(sequencia, idLancamento, operacao, ocorridoEm, id == null ? null : new LancamentoResponseDTO(
+                id, descricao, dataVencimento, dataPagamento, valor, observacao, tipo,
+                idCategoria, nomeCategoria, idPessoa, nomePessoa));
+    }
+}
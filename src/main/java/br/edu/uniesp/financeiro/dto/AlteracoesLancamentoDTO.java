@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.util.List;
+
+/**
+ * DTO de saída do feed de alterações de lançamentos.
+ * - "proximo" é o valor a enviar em since na próxima chamada (a última sequência entregue).
+ */
+public record AlteracoesLancamentoDTO(
+        List<AlteracaoLancamentoDTO> alteracoes,    // Alterações em ordem de sequência
+        long proximo                                // since da próxima chamada
+) {
+}
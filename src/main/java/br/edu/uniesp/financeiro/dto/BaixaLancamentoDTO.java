@@ -0,0 +1,20 @@
+package br.edu.uniesp.financeiro.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de entrada da baixa (marcar como pago) em massa (POST /lancamentos/baixa).
+ * - Os lançamentos são escolhidos pela lista de IDs ou, se ela não for enviada, pelo filtro
+ *   (mesmos campos de /lancamentos/filtro).
+ * - Por padrão só lançamentos ainda em aberto (sem data de pagamento) são baixados;
+ *   com sobrescrever=true a data de pagamento dos já pagos também é trocada.
+ */
+public record BaixaLancamentoDTO(
+        @NotNull LocalDate dataPagamento,   // Data de pagamento a gravar
+        List<Long> ids,                     // IDs dos lançamentos (opcional)
+        FiltroLancamentoDTO filtro,         // Filtro dos lançamentos, usado quando não há IDs (opcional)
+        boolean sobrescrever                // Troca também a data dos lançamentos já pagos
+) { }
@@ -0,0 +1,18 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de saída da verificação de consistência dos saldos mensais.
+ * - Cada item é um grupo em que o saldo gravado difere do calculado a partir dos lançamentos.
+ */
+public record DivergenciaSaldoDTO(
+        Long idPessoa,                  // ID da pessoa
+        Integer anoMes,                 // Mês de vencimento no formato AAAAMM
+        Long idCategoria,               // ID da categoria
+        String tipo,                    // RECEITA ou DESPESA
+        BigDecimal totalGravado,        // Soma gravada em saldo_mensal
+        Long quantidadeGravada,         // Quantidade gravada em saldo_mensal
+        BigDecimal totalCalculado,      // Soma calculada a partir de lancamento
+        Long quantidadeCalculada        // Quantidade calculada a partir de lancamento
+) { }
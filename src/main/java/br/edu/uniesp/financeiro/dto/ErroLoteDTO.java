@@ -0,0 +1,10 @@
+package br.edu.uniesp.financeiro.dto;
+
+/**
+ * DTO de saída com o erro de um item do lote de lançamentos.
+ * - "indice" é a posição do item na lista enviada (começando em 0).
+ */
+public record ErroLoteDTO(
+        int indice,         // Posição do item no lote
+        String mensagem     // Motivo da rejeição
+) { }
@@ -12,5 +12,6 @@ public record FiltroLancamentoDTO(
         LocalDate dataFinal,     // Filtrar data de vencimento até esta data
         String tipo,             // "RECEITA" ou "DESPESA"
         Long idCategoria,        // ID da categoria
-        Long idPessoa            // ID da pessoa
+        Long idPessoa,           // ID da pessoa
+        String texto             // Palavras buscadas em descrição e observação (busca textual)
 ) { }
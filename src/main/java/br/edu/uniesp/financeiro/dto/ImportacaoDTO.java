@@ -0,0 +1,39 @@
+package br.edu.uniesp.financeiro.dto;
+
+import br.edu.uniesp.financeiro.entity.FormatoImportacao;
+import br.edu.uniesp.financeiro.entity.Importacao;
+import br.edu.uniesp.financeiro.entity.StatusImportacao;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de saída de uma importação de extrato.
+ * - Mostra o progresso (registros processados, inseridos e rejeitados) e a vazão em linhas por segundo.
+ * - "erros" traz os primeiros registros rejeitados da execução atual (o número do registro no arquivo e o motivo).
+ */
+public record ImportacaoDTO(
+        Long id,                        // ID da importação
+        FormatoImportacao formato,      // CSV ou OFX
+        StatusImportacao status,        // Situação da importação
+        long linhasProcessadas,         // Registros do arquivo já gravados (ponto de retomada)
+        long inseridos,                 // Lançamentos criados
+        long rejeitados,                // Registros rejeitados
+        String mensagem,                // Motivo da falha, quando houver
+        LocalDateTime iniciadoEm,       // Início da importação
+        LocalDateTime atualizadoEm,     // Último bloco gravado
+        double linhasPorSegundo,        // Vazão média desde o início
+        List<ErroLoteDTO> erros         // Primeiros registros rejeitados
+) {
+    public ImportacaoDTO(Importacao i, List<ErroLoteDTO> erros) {
+        this(i.getId(), i.getFormato(), i.getStatus(), i.getLinhasProcessadas(), i.getInseridos(), i.getRejeitados(),
+                i.getMensagem(), i.getIniciadoEm(), i.getAtualizadoEm(), vazao(i), erros);
+    }
+
+    // Linhas processadas por segundo entre o início e o último bloco gravado
+    private static double vazao(Importacao i) {
+        long millis = Duration.between(i.getIniciadoEm(), i.getAtualizadoEm()).toMillis();
+        return millis > 0 ? i.getLinhasProcessadas() * 1000.0 / millis : 0;
+    }
+}
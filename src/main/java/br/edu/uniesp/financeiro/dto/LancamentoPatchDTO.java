@@ -0,0 +1,48 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * DTO de entrada da alteração parcial de Lancamento (PATCH /lancamentos/{id}).
+ * - Só os campos enviados no JSON são gravados; os demais continuam como estão.
+ * - Campo ausente = nulo (não altera); campo enviado como null = Optional vazio (limpa o valor).
+ * - Aceita apenas campos que não afetam o saldo mensal; valor, vencimento, tipo, pessoa e
+ *   categoria continuam sendo alterados pelo PUT.
+ * - É uma classe com setters (e não um record) porque o Jackson só chama o setter dos campos
+ *   presentes no JSON; é isso que diferencia "ausente" de "enviado como null".
+ */
+public class LancamentoPatchDTO {
+
+    private Optional<String> descricao;         // Nova descrição (não pode ser vazia)
+    private Optional<LocalDate> dataPagamento;  // Nova data de pagamento (null limpa)
+    private Optional<String> observacao;        // Nova observação (null limpa)
+
+    // Acessores: retornam null quando o campo não foi enviado
+
+    public Optional<String> descricao() {
+        return descricao;
+    }
+
+    public Optional<LocalDate> dataPagamento() {
+        return dataPagamento;
+    }
+
+    public Optional<String> observacao() {
+        return observacao;
+    }
+
+    // Setters chamados pelo Jackson apenas para os campos presentes no JSON
+
+    public void setDescricao(String descricao) {
+        this.descricao = Optional.ofNullable(descricao);
+    }
+
+    public void setDataPagamento(LocalDate dataPagamento) {
+        this.dataPagamento = Optional.ofNullable(dataPagamento);
+    }
+
+    public void setObservacao(String observacao) {
+        this.observacao = Optional.ofNullable(observacao);
+    }
+}
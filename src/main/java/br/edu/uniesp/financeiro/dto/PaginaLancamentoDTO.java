@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.util.List;
+
+/**
+ * DTO de saída para a listagem paginada de lançamentos.
+ * - "itens" traz os lançamentos da página atual.
+ * - "next" é o cursor a ser enviado na próxima chamada (nulo quando não há mais páginas).
+ */
+public record PaginaLancamentoDTO(
+        List<LancamentoResponseDTO> itens,  // Lançamentos da página
+        String next                         // Cursor da próxima página
+) { }
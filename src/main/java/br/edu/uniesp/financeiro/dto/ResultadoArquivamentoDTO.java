@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de saída do arquivamento de lançamentos.
+ */
+public record ResultadoArquivamentoDTO(
+        LocalDate corte,    // Lançamentos vencidos antes desta data estão no arquivo
+        long movidos,       // Lançamentos movidos nesta execução
+        int blocos          // Blocos (transações) executados
+) {
+}
@@ -0,0 +1,9 @@
+package br.edu.uniesp.financeiro.dto;
+
+/**
+ * DTO de saída da baixa em massa (POST /lancamentos/baixa).
+ */
+public record ResultadoBaixaDTO(
+        long afetados,      // Lançamentos que receberam a data de pagamento
+        int blocos          // Quantidade de blocos (transações) executados
+) { }
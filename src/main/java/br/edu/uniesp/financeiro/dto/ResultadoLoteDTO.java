@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.util.List;
+
+/**
+ * DTO de saída do cadastro de lançamentos em lote (POST /lancamentos/lote).
+ * - Itens inválidos não impedem a gravação dos demais; eles aparecem na lista de erros.
+ */
+public record ResultadoLoteDTO(
+        int recebidos,              // Quantidade de itens enviados
+        int inseridos,              // Quantidade de lançamentos gravados
+        List<ErroLoteDTO> erros     // Itens rejeitados e o motivo
+) { }
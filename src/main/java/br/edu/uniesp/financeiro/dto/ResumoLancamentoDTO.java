@@ -0,0 +1,21 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de saída do resumo de lançamentos (/lancamentos/resumo).
+ * - Cada item é um grupo; os campos que não fazem parte do agrupamento pedido vêm nulos.
+ * - saldo = totalReceitas - totalDespesas.
+ */
+public record ResumoLancamentoDTO(
+        Integer ano,                // Ano do vencimento (agrupamento MES)
+        Integer mes,                // Mês do vencimento (agrupamento MES)
+        Long idCategoria,           // ID da categoria (agrupamento CATEGORIA)
+        String nomeCategoria,       // Nome da categoria (agrupamento CATEGORIA)
+        Long idPessoa,              // ID da pessoa (agrupamento PESSOA)
+        String nomePessoa,          // Nome da pessoa (agrupamento PESSOA)
+        BigDecimal totalReceitas,   // Soma dos lançamentos do tipo RECEITA
+        BigDecimal totalDespesas,   // Soma dos lançamentos do tipo DESPESA
+        BigDecimal saldo,           // Receitas menos despesas
+        Long quantidade             // Quantidade de lançamentos do grupo
+) { }
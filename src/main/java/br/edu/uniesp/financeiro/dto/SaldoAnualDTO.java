@@ -0,0 +1,17 @@
+package br.edu.uniesp.financeiro.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de saída com o saldo de uma pessoa no ano, lido da tabela de saldos mensais.
+ * - Traz os totais do ano e o detalhamento por mês, categoria e tipo.
+ */
+public record SaldoAnualDTO(
+        Long idPessoa,                  // ID da pessoa
+        Integer ano,                    // Ano consultado
+        BigDecimal totalReceitas,       // Soma das receitas no ano
+        BigDecimal totalDespesas,       // Soma das despesas no ano
+        BigDecimal saldo,               // Receitas menos despesas
+        List<SaldoMensalDTO> meses      // Detalhamento por mês, categoria e tipo
+) { }
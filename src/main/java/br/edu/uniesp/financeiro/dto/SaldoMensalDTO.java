@@ -0,0 +1,23 @@
+package br.edu.uniesp.financeiro.dto;
+
+import br.edu.uniesp.financeiro.entity.SaldoMensal;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de saída de um saldo mensal (uma linha do rollup).
+ * - Construtor auxiliar recebe a entidade e cria o DTO.
+ */
+public record SaldoMensalDTO(
+        Integer anoMes,         // Mês de vencimento no formato AAAAMM
+        Long idCategoria,       // ID da categoria
+        TipoLancamento tipo,    // RECEITA ou DESPESA
+        BigDecimal total,       // Soma dos valores
+        Long quantidade         // Quantidade de lançamentos
+) {
+    public SaldoMensalDTO(SaldoMensal saldo) {
+        this(saldo.getId().getAnoMes(), saldo.getId().getIdCategoria(), saldo.getId().getTipo(),
+                saldo.getTotal(), saldo.getQuantidade());
+    }
+}
@@ -0,0 +1,87 @@
+package br.edu.uniesp.financeiro.dto;
+
+import br.edu.uniesp.financeiro.entity.Lancamento;
+import br.edu.uniesp.financeiro.entity.Pessoa;
+
+import java.time.Instant;
+
+/**
+ * Versão de um recurso (ou de uma lista), usada nas requisições condicionais (ETag / Last-Modified).
+ * - Montada direto no SELECT a partir das colunas versao e atualizado_em, sem carregar as entidades.
+ * - Se o cliente enviar o mesmo ETag (If-None-Match) ou uma data igual ou posterior (If-Modified-Since),
+ *   a resposta é 304 (Not Modified), sem corpo.
+ * - Nas alterações, o ETag enviado em If-Match precisa ser o atual; se não for, a resposta é 409 (Conflict).
+ */
+public record VersaoRecursoDTO(
+        String etag,                // ETag forte (sem aspas; o Spring as adiciona no cabeçalho)
+        Instant ultimaAlteracao     // Data/hora da última alteração (Last-Modified); nula nas listas
+) {
+    /**
+     * Versão de um lançamento: muda quando o lançamento, sua categoria ou sua pessoa mudam,
+     * pois os nomes da categoria e da pessoa fazem parte da resposta.
+     */
+    public VersaoRecursoDTO(Long id, Long versao, Long versaoCategoria, Long versaoPessoa,
+                            Instant alteracao, Instant alteracaoCategoria, Instant alteracaoPessoa) {
+        this(id + "-" + versao + "." + versaoCategoria + "." + versaoPessoa,
+                maisRecente(alteracao, maisRecente(alteracaoCategoria, alteracaoPessoa)));
+    }
+
+    /**
+     * Versão agregada de uma lista: muda quando um registro é incluído, alterado ou excluído.
+     * - quantidade e maiorId mudam em inclusões e exclusões; somaVersoes, em alterações.
+     * - Sem Last-Modified: MAX(atualizado_em) não muda quando um registro é excluído, e um cliente que
+     *   enviasse só If-Modified-Since receberia 304 com a lista antiga. As listas usam apenas o ETag.
+     */
+    public VersaoRecursoDTO(Long quantidade, Long maiorId, Long somaVersoes) {
+        this(quantidade + "-" + (maiorId != null ? maiorId : 0) + "-" + (somaVersoes != null ? somaVersoes : 0),
+                null);
+    }
+
+    /**
+     * Versão de um lançamento já carregado (mesmo ETag da consulta por ID).
+     */
+    public static VersaoRecursoDTO de(Lancamento l) {
+        return new VersaoRecursoDTO(l.getId(), l.getVersao(), l.getCategoria().getVersao(), l.getPessoa().getVersao(),
+                l.getAtualizadoEm(), l.getCategoria().getAtualizadoEm(), l.getPessoa().getAtualizadoEm());
+    }
+
+    /**
+     * Versão de uma pessoa já carregada.
+     */
+    public static VersaoRecursoDTO de(Pessoa p) {
+        return new VersaoRecursoDTO(p.getId() + "-" + p.getVersao(), p.getAtualizadoEm());
+    }
+
+    /**
+     * Indica se o cabeçalho If-Match enviado pelo cliente corresponde a esta versão.
+     * - Sem cabeçalho ou com "*", qualquer versão é aceita.
+     * - Aceita uma lista de ETags separados por vírgula, com ou sem aspas.
+     */
+    public boolean atende(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String valor : ifMatch.split(",")) {
+            String etagCliente = valor.trim();
+            if (etagCliente.startsWith("W/")) { // ETag fraco não serve para If-Match (comparação forte)
+                continue;
+            }
+            if (etagCliente.replace("\"", "").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Last-Modified em milissegundos, no formato esperado por WebRequest.checkNotModified.
+     * - Só para registros individuais; a versão de uma lista não tem data.
+     */
+    public long ultimaAlteracaoMillis() {
+        return ultimaAlteracao.toEpochMilli();
+    }
+
+    private static Instant maisRecente(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
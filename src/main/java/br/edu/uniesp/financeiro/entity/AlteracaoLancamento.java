@@ -0,0 +1,67 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * Entidade AlteracaoLancamento (outbox).
+ * - Uma linha por criação, alteração, exclusão ou arquivamento de lançamento, gravada na mesma transação
+ *   da alteração.
+ * - "sequencia" cresce na ordem de commit: quem já leu até a sequência N só precisa pedir as seguintes
+ *   (GET /lancamentos/changes?since=N).
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Table(name = "lancamento_alteracao") // Mapeia a entidade para a tabela "lancamento_alteracao" no banco de dados
+public class AlteracaoLancamento {
+
+    @Id
+    private Long sequencia;                     // Posição no feed (atribuída por AlteracaoLancamentoService)
+
+    @NotNull
+    @Column(name = "id_lancamento")
+    private Long idLancamento;                  // Lançamento alterado (sem FK: o lançamento pode ter sido excluído)
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private OperacaoAuditoria operacao;         // CRIACAO, ALTERACAO, EXCLUSAO ou ARQUIVAMENTO
+
+    @NotNull
+    @Column(name = "ocorrido_em")
+    private Instant ocorridoEm;                 // Momento da alteração
+
+    // Getters e setters
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public Long getIdLancamento() {
+        return idLancamento;
+    }
+
+    public void setIdLancamento(Long idLancamento) {
+        this.idLancamento = idLancamento;
+    }
+
+    public OperacaoAuditoria getOperacao() {
+        return operacao;
+    }
+
+    public void setOperacao(OperacaoAuditoria operacao) {
+        this.operacao = operacao;
+    }
+
+    public Instant getOcorridoEm() {
+        return ocorridoEm;
+    }
+
+    public void setOcorridoEm(Instant ocorridoEm) {
+        this.ocorridoEm = ocorridoEm;
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Entidade ArquivamentoLancamento.
+ * - Registra cada execução do arquivamento: os lançamentos vencidos antes de "corte" vão para lancamento_arquivo.
+ * - O maior corte registrado indica até onde a tabela de arquivo pode ter lançamentos; o filtro só consulta
+ *   o arquivo quando a faixa de datas pedida começa antes dele.
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Table(name = "lancamento_arquivamento") // Mapeia a entidade para a tabela "lancamento_arquivamento" no banco de dados
+public class ArquivamentoLancamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;                            // ID da execução
+
+    @NotNull
+    private LocalDate corte;                    // Lançamentos vencidos antes desta data são arquivados
+
+    private long movidos;                       // Lançamentos movidos nesta execução
+
+    @NotNull
+    @Column(name = "executado_em")
+    private Instant executadoEm;                // Início da execução
+
+    // Getters e setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getCorte() {
+        return corte;
+    }
+
+    public void setCorte(LocalDate corte) {
+        this.corte = corte;
+    }
+
+    public long getMovidos() {
+        return movidos;
+    }
+
+    public void setMovidos(long movidos) {
+        this.movidos = movidos;
+    }
+
+    public Instant getExecutadoEm() {
+        return executadoEm;
+    }
+
+    public void setExecutadoEm(Instant executadoEm) {
+        this.executadoEm = executadoEm;
+    }
+}
@@ -2,6 +2,11 @@ package br.edu.uniesp.financeiro.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Entidade Categoria.
@@ -9,6 +14,8 @@ import jakarta.validation.constraints.NotBlank;
  */
 @Entity // Indica que esta classe é uma entidade JPA
 @Table(name = "categoria") // Mapeia a entidade para a tabela "categoria" no banco de dados
+@Cacheable // Habilita o cache de segundo nível para esta entidade
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria") // Região do cache; READ_WRITE mantém o cache consistente com as alterações
 public class Categoria {
 
     @Id // Indica que este campo é a chave primária
@@ -18,6 +25,13 @@ public class Categoria {
     @NotBlank // Valida que o nome não pode ser nulo ou vazio
     private String nome;           // Nome da categoria
 
+    @Version                                // Controle de versão (incrementado a cada alteração; usado no ETag)
+    private Long versao;
+
+    @UpdateTimestamp                        // Preenchido pelo Hibernate ao inserir e ao alterar
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;           // Data/hora da última alteração (usado no Last-Modified)
+
     // Getters e setters
 
     public Long getId() {
@@ -35,4 +49,20 @@ public class Categoria {
     public void setNome(String nome) {
         this.nome = nome;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
 }
@@ -0,0 +1,11 @@
+package br.edu.uniesp.financeiro.entity;
+
+/**
+ * Enumeração com os formatos de extrato bancário aceitos na importação.
+ * - CSV: colunas data;descricao;valor[;observacao] com linha de cabeçalho.
+ * - OFX: arquivo Open Financial Exchange (SGML 1.x ou XML 2.x).
+ */
+public enum FormatoImportacao {
+    CSV,
+    OFX
+}
@@ -0,0 +1,143 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade Importacao.
+ * - Registra o andamento da importação de um extrato bancário.
+ * - "linhasProcessadas" é o ponto de retomada: registros do arquivo já gravados.
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Table(name = "importacao") // Mapeia a entidade para a tabela "importacao" no banco de dados
+public class Importacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;                            // ID da importação
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private FormatoImportacao formato;          // Formato do arquivo (CSV ou OFX)
+
+    @NotNull
+    @Column(name = "id_pessoa")
+    private Long idPessoa;                      // Pessoa atribuída aos lançamentos importados
+
+    @NotNull
+    @Column(name = "id_categoria")
+    private Long idCategoria;                   // Categoria atribuída aos lançamentos importados
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private StatusImportacao status;            // Situação da importação
+
+    @Column(name = "linhas_processadas")
+    private long linhasProcessadas;             // Registros do arquivo já gravados
+
+    private long inseridos;                     // Lançamentos criados
+
+    private long rejeitados;                    // Registros rejeitados na validação
+
+    private String mensagem;                    // Motivo da falha, quando houver
+
+    @NotNull
+    @Column(name = "iniciado_em")
+    private LocalDateTime iniciadoEm;           // Início da importação
+
+    @NotNull
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;         // Último bloco gravado
+
+    // Getters e setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public FormatoImportacao getFormato() {
+        return formato;
+    }
+
+    public void setFormato(FormatoImportacao formato) {
+        this.formato = formato;
+    }
+
+    public Long getIdPessoa() {
+        return idPessoa;
+    }
+
+    public void setIdPessoa(Long idPessoa) {
+        this.idPessoa = idPessoa;
+    }
+
+    public Long getIdCategoria() {
+        return idCategoria;
+    }
+
+    public void setIdCategoria(Long idCategoria) {
+        this.idCategoria = idCategoria;
+    }
+
+    public StatusImportacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusImportacao status) {
+        this.status = status;
+    }
+
+    public long getLinhasProcessadas() {
+        return linhasProcessadas;
+    }
+
+    public void setLinhasProcessadas(long linhasProcessadas) {
+        this.linhasProcessadas = linhasProcessadas;
+    }
+
+    public long getInseridos() {
+        return inseridos;
+    }
+
+    public void setInseridos(long inseridos) {
+        this.inseridos = inseridos;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(long rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public void setIniciadoEm(LocalDateTime iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
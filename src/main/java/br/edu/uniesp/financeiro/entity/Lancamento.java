@@ -3,8 +3,10 @@ package br.edu.uniesp.financeiro.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 /**
@@ -15,8 +17,18 @@ import java.time.LocalDate;
 @Table(name = "lancamento") // Mapeia a entidade para a tabela "lancamento" no banco de dados
 public class Lancamento {
 
+    /**
+     * IDs reservados em blocos de 50 na tabela id_gerador (o MySQL não tem SEQUENCE), permitindo INSERT em lote.
+     * - O Hibernate reserva cada bloco em uma transação própria, com uma segunda conexão do pool, enquanto
+     *   a conexão da transação que grava continua presa. O pool (spring.datasource.hikari.maximum-pool-size)
+     *   precisa ser maior que o número de transações gravando lançamentos ao mesmo tempo; se todas as
+     *   conexões estiverem presas esperando um bloco, elas esperam connection-timeout e falham.
+     * - Um gerador SEQUENCE não evitaria isso no MySQL: sem sequências, o Hibernate usa uma tabela da mesma forma.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "lancamento_id") // IDs reservados em blocos, permitindo INSERT em lote
+    @TableGenerator(name = "lancamento_id", table = "id_gerador", pkColumnName = "nome",
+            valueColumnName = "proximo", pkColumnValue = "lancamento", allocationSize = 50)
     private Long id;                        // ID do lançamento
 
     @NotBlank
@@ -38,14 +50,21 @@ public class Lancamento {
     @Enumerated(EnumType.STRING)            // Armazena o nome da constante do enum (RECEITA/DESPESA)
     private TipoLancamento tipo;            // Tipo do lançamento
 
-    @ManyToOne(optional = false)            // Muitos lançamentos -> Uma categoria
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Muitos lançamentos -> Uma categoria (carregada só quando usada)
     @JoinColumn(name = "id_categoria")      // Nome da coluna de FK no banco
     private Categoria categoria;            // Categoria associada ao lançamento
 
-    @ManyToOne(optional = false)            // Muitos lançamentos -> Uma pessoa
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Muitos lançamentos -> Uma pessoa (carregada só quando usada)
     @JoinColumn(name = "id_pessoa")         // Nome da coluna de FK no banco
     private Pessoa pessoa;                  // Pessoa associada ao lançamento
 
+    @Version                                // Controle de versão (incrementado a cada alteração; usado no ETag)
+    private Long versao;
+
+    @UpdateTimestamp                        // Preenchido pelo Hibernate ao inserir e ao alterar
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;           // Data/hora da última alteração (usado no Last-Modified)
+
     // Getters e setters
 
     public Long getId() {
@@ -119,4 +138,20 @@ public class Lancamento {
     public void setPessoa(Pessoa pessoa) {
         this.pessoa = pessoa;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
 }
@@ -0,0 +1,113 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Entidade LancamentoArquivado.
+ * - Lançamento de um período encerrado, movido da tabela lancamento pelo ArquivamentoService.
+ * - Somente leitura: aparece no filtro, na exportação, no resumo e na busca textual, mas não é alterado
+ *   nem excluído pela API.
+ * - A tabela é compactada; pessoa e categoria são mapeadas só para os JOINs, e as FKs (V11) impedem excluir
+ *   uma pessoa ou categoria ainda referenciada por lançamentos arquivados.
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Table(name = "lancamento_arquivo") // Mapeia a entidade para a tabela "lancamento_arquivo" no banco de dados
+public class LancamentoArquivado {
+
+    @Id
+    private Long id;                        // Mesmo ID que o lançamento tinha na tabela lancamento
+
+    private String descricao;               // Descrição do lançamento
+
+    @Column(name = "data_vencimento")
+    private LocalDate dataVencimento;       // Data em que o lançamento vence
+
+    @Column(name = "data_pagamento")
+    private LocalDate dataPagamento;        // Data em que o lançamento foi pago (pode ser nula)
+
+    private BigDecimal valor;               // Valor monetário do lançamento
+
+    private String observacao;              // Campo livre para comentários adicionais
+
+    @Enumerated(EnumType.STRING)
+    private TipoLancamento tipo;            // RECEITA ou DESPESA
+
+    @Column(name = "id_categoria")
+    private Long idCategoria;               // Categoria (coluna gravada pelo arquivamento)
+
+    @Column(name = "id_pessoa")
+    private Long idPessoa;                  // Pessoa (coluna gravada pelo arquivamento)
+
+    @ManyToOne(fetch = FetchType.LAZY)      // Só para os JOINs das consultas
+    @JoinColumn(name = "id_categoria", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_lancamento_arquivo_categoria"))
+    private Categoria categoria;
+
+    @ManyToOne(fetch = FetchType.LAZY)      // Só para os JOINs das consultas
+    @JoinColumn(name = "id_pessoa", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_lancamento_arquivo_pessoa"))
+    private Pessoa pessoa;
+
+    private Long versao;                    // Versão do lançamento no momento do arquivamento
+
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;           // Última alteração antes do arquivamento
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+
+    public LocalDate getDataPagamento() {
+        return dataPagamento;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public String getObservacao() {
+        return observacao;
+    }
+
+    public TipoLancamento getTipo() {
+        return tipo;
+    }
+
+    public Long getIdCategoria() {
+        return idCategoria;
+    }
+
+    public Long getIdPessoa() {
+        return idPessoa;
+    }
+
+    public Categoria getCategoria() {
+        return categoria;
+    }
+
+    public Pessoa getPessoa() {
+        return pessoa;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+}
@@ -0,0 +1,15 @@
+package br.edu.uniesp.financeiro.entity;
+
+/**
+ * Enumeração com o tipo de alteração registrada na auditoria.
+ * - CRIACAO: registro inserido.
+ * - ALTERACAO: registro atualizado (inclusive PATCH e baixa em massa).
+ * - EXCLUSAO: registro excluído.
+ * - ARQUIVAMENTO: lançamento movido para lancamento_arquivo (só no feed de alterações; continua legível por ID).
+ */
+public enum OperacaoAuditoria {
+    CRIACAO,
+    ALTERACAO,
+    EXCLUSAO,
+    ARQUIVAMENTO
+}
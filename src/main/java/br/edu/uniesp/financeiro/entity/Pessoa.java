@@ -4,6 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Entidade Pessoa.
@@ -12,6 +17,8 @@ import jakarta.validation.constraints.NotNull;
  */
 @Entity                             // Indica que esta classe é uma entidade JPA
 @Table(name = "pessoa")            // Define o nome da tabela no banco de dados
+@Cacheable                         // Habilita o cache de segundo nível para esta entidade
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa") // Região do cache; READ_WRITE mantém o cache consistente com as alterações
 public class Pessoa {
 
     @Id                             // Indica que o campo é a chave primária
@@ -29,6 +36,13 @@ public class Pessoa {
     @Valid                          // Validação recursiva nos campos de Endereco
     private Endereco endereco;
 
+    @Version                                // Controle de versão (incrementado a cada alteração; usado no ETag)
+    private Long versao;
+
+    @UpdateTimestamp                        // Preenchido pelo Hibernate ao inserir e ao alterar
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;           // Data/hora da última alteração (usado no Last-Modified)
+
     // Getters e setters
 
     public Long getId() {
@@ -62,4 +76,20 @@ public class Pessoa {
     public void setEndereco(Endereco endereco) {
         this.endereco = endereco;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
 }
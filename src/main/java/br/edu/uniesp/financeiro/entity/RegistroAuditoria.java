@@ -0,0 +1,77 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * Entidade RegistroAuditoria.
+ * - Uma linha por criação, alteração ou exclusão de lançamento, pessoa ou categoria.
+ * - Tabela só de inserção: gravada em lote pelo AuditoriaService, fora da requisição.
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Table(name = "auditoria") // Mapeia a entidade para a tabela "auditoria" no banco de dados
+public class RegistroAuditoria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;                            // ID do registro (ordem de gravação)
+
+    @NotNull
+    private String entidade;                    // Lancamento, Pessoa ou Categoria
+
+    @NotNull
+    @Column(name = "id_registro")
+    private Long idRegistro;                    // ID do registro alterado
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private OperacaoAuditoria operacao;         // CRIACAO, ALTERACAO ou EXCLUSAO
+
+    @NotNull
+    @Column(name = "ocorrido_em")
+    private Instant ocorridoEm;                 // Momento da alteração (não o da gravação na auditoria)
+
+    // Getters e setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntidade() {
+        return entidade;
+    }
+
+    public void setEntidade(String entidade) {
+        this.entidade = entidade;
+    }
+
+    public Long getIdRegistro() {
+        return idRegistro;
+    }
+
+    public void setIdRegistro(Long idRegistro) {
+        this.idRegistro = idRegistro;
+    }
+
+    public OperacaoAuditoria getOperacao() {
+        return operacao;
+    }
+
+    public void setOperacao(OperacaoAuditoria operacao) {
+        this.operacao = operacao;
+    }
+
+    public Instant getOcorridoEm() {
+        return ocorridoEm;
+    }
+
+    public void setOcorridoEm(Instant ocorridoEm) {
+        this.ocorridoEm = ocorridoEm;
+    }
+}
@@ -0,0 +1,40 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidade SaldoMensal.
+ * - Rollup dos lançamentos: soma e quantidade por pessoa, mês, categoria e tipo.
+ * - Somente leitura pelo JPA; as alterações são feitas por SaldoMensalRepository,
+ *   que soma as diferenças (deltas) direto no banco.
+ */
+@Entity // Indica que esta classe é uma entidade JPA
+@Immutable // O Hibernate nunca gera UPDATE para esta entidade
+@Table(name = "saldo_mensal") // Mapeia a entidade para a tabela "saldo_mensal" no banco de dados
+public class SaldoMensal {
+
+    @EmbeddedId
+    private SaldoMensalId id;               // Pessoa, mês, categoria e tipo
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal total;               // Soma dos valores dos lançamentos
+
+    private Long quantidade;                // Quantidade de lançamentos
+
+    // Getters
+
+    public SaldoMensalId getId() {
+        return id;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+}
@@ -0,0 +1,68 @@
+package br.edu.uniesp.financeiro.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Chave composta de SaldoMensal.
+ * - Pessoa, mês de vencimento (AAAAMM), categoria e tipo identificam cada saldo.
+ */
+@Embeddable // Indica que esta classe é embutida na entidade SaldoMensal como chave
+public class SaldoMensalId implements Serializable {
+
+    @Column(name = "id_pessoa")
+    private Long idPessoa;          // Pessoa dos lançamentos
+
+    @Column(name = "ano_mes")
+    private Integer anoMes;         // Mês de vencimento no formato AAAAMM (ex: 202501)
+
+    @Column(name = "id_categoria")
+    private Long idCategoria;       // Categoria dos lançamentos
+
+    @Enumerated(EnumType.STRING)    // Armazena o nome da constante do enum (RECEITA/DESPESA)
+    private TipoLancamento tipo;    // Tipo dos lançamentos
+
+    // Getters
+
+    public Long getIdPessoa() {
+        return idPessoa;
+    }
+
+    public Integer getAnoMes() {
+        return anoMes;
+    }
+
+    public Long getIdCategoria() {
+        return idCategoria;
+    }
+
+    public TipoLancamento getTipo() {
+        return tipo;
+    }
+
+    // equals e hashCode são obrigatórios para chaves compostas no JPA
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SaldoMensalId outro)) {
+            return false;
+        }
+        return Objects.equals(idPessoa, outro.idPessoa)
+                && Objects.equals(anoMes, outro.anoMes)
+                && Objects.equals(idCategoria, outro.idCategoria)
+                && tipo == outro.tipo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idPessoa, anoMes, idCategoria, tipo);
+    }
+}
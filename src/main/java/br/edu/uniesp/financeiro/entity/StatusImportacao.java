@@ -0,0 +1,13 @@
+package br.edu.uniesp.financeiro.entity;
+
+/**
+ * Enumeração com a situação de uma importação de extrato.
+ * - EM_ANDAMENTO: blocos ainda sendo gravados (ou importação interrompida, que pode ser retomada).
+ * - CONCLUIDA: o arquivo foi lido até o fim.
+ * - FALHOU: a leitura parou por um erro; pode ser retomada a partir do último bloco gravado.
+ */
+public enum StatusImportacao {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,34 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.dto.AlteracaoLancamentoDTO;
+import br.edu.uniesp.financeiro.entity.AlteracaoLancamento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Repositório de AlteracaoLancamento (outbox).
+ * - A gravação é feita em lote pelo AlteracaoLancamentoService, via JDBC.
+ */
+public interface AlteracaoLancamentoRepository extends JpaRepository<AlteracaoLancamento, Long> {
+
+    /**
+     * Alterações posteriores a uma sequência, com o estado atual de cada lançamento no mesmo SELECT.
+     * - O estado vem da tabela ativa ou, para lançamentos arquivados, de lancamento_arquivo (o lançamento
+     *   está em uma das duas, nunca nas duas: o arquivamento copia e exclui na mesma transação).
+     */
+    @Query("SELECT new br.edu.uniesp.financeiro.dto.AlteracaoLancamentoDTO(" +
+           "a.sequencia, a.idLancamento, a.operacao, a.ocorridoEm, " +
+           "COALESCE(l.id, la.id), COALESCE(l.descricao, la.descricao), " +
+           "COALESCE(l.dataVencimento, la.dataVencimento), COALESCE(l.dataPagamento, la.dataPagamento), " +
+           "COALESCE(l.valor, la.valor), COALESCE(l.observacao, la.observacao), COALESCE(l.tipo, la.tipo), " +
+           "COALESCE(c.id, ca.id), COALESCE(c.nome, ca.nome), COALESCE(p.id, pa.id), COALESCE(p.nome, pa.nome)) " +
+           "FROM AlteracaoLancamento a LEFT JOIN Lancamento l ON l.id = a.idLancamento " +
+           "LEFT JOIN l.categoria c LEFT JOIN l.pessoa p " +
+           "LEFT JOIN LancamentoArquivado la ON la.id = a.idLancamento " +
+           "LEFT JOIN la.categoria ca LEFT JOIN la.pessoa pa " +
+           "WHERE a.sequencia > :desde ORDER BY a.sequencia")
+    List<AlteracaoLancamentoDTO> buscarApos(long desde, Limit limite);
+}
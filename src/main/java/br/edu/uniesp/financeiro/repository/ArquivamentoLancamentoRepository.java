@@ -0,0 +1,20 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.entity.ArquivamentoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repositório de ArquivamentoLancamento (execuções do arquivamento).
+ */
+public interface ArquivamentoLancamentoRepository extends JpaRepository<ArquivamentoLancamento, Long> {
+
+    /**
+     * Maior corte já registrado: o arquivo só tem lançamentos vencidos antes desta data (vazio = nada arquivado).
+     */
+    @Query("SELECT MAX(a.corte) FROM ArquivamentoLancamento a")
+    Optional<LocalDate> buscarCorte();
+}
@@ -0,0 +1,18 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.entity.RegistroAuditoria;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repositório de RegistroAuditoria.
+ * - Só leitura: a gravação é feita em lote pelo AuditoriaService, via JDBC.
+ */
+public interface AuditoriaRepository extends JpaRepository<RegistroAuditoria, Long> {
+
+    /**
+     * Histórico de um registro, na ordem em que foi gravado.
+     */
+    List<RegistroAuditoria> findByEntidadeAndIdRegistroOrderById(String entidade, Long idRegistro);
+}
@@ -1,10 +1,22 @@
 package br.edu.uniesp.financeiro.repository;
 
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * Repositório de Categoria.
  * - Não precisamos escrever implementação, o Spring Data JPA gera em runtime.
  */
-public interface CategoriaRepository extends JpaRepository<Categoria, Long> { }
+public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+    /**
+     * Versão agregada da lista de categorias (ETag de GET /categorias).
+     * - Uma única consulta com COUNT/MAX/SUM, sem carregar as entidades.
+     * - Sem Last-Modified: MAX(atualizadoEm) não muda quando um registro é excluído.
+     */
+    @Query("SELECT new br.edu.uniesp.financeiro.dto.VersaoRecursoDTO(" +
+           "COUNT(c), MAX(c.id), SUM(c.versao)) FROM Categoria c")
+    VersaoRecursoDTO buscarVersaoDaLista();
+}
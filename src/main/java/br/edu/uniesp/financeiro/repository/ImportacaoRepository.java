@@ -0,0 +1,34 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.entity.Importacao;
+import br.edu.uniesp.financeiro.entity.StatusImportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório de Importacao.
+ */
+public interface ImportacaoRepository extends JpaRepository<Importacao, Long> {
+
+    /**
+     * Avança o ponto de retomada após gravar um bloco, na mesma transação dos lançamentos.
+     * - Só atualiza se o ponto ainda for o esperado; retorna 0 se outra execução já avançou
+     *   a mesma importação (o bloco então é desfeito, evitando lançamentos duplicados).
+     */
+    @Modifying(clearAutomatically = true) // Descarta a cópia em memória, que ficou desatualizada
+    @Query("UPDATE Importacao i SET i.linhasProcessadas = i.linhasProcessadas + :linhas, " +
+           "i.inseridos = i.inseridos + :inseridos, i.rejeitados = i.rejeitados + :rejeitados, " +
+           "i.atualizadoEm = :agora " +
+           "WHERE i.id = :id AND i.linhasProcessadas = :linhasEsperadas")
+    int registrarBloco(Long id, long linhasEsperadas, long linhas, long inseridos, long rejeitados, LocalDateTime agora);
+
+    /**
+     * Atualiza a situação da importação (conclusão ou falha).
+     */
+    @Modifying(clearAutomatically = true) // Descarta a cópia em memória, que ficou desatualizada
+    @Query("UPDATE Importacao i SET i.status = :status, i.mensagem = :mensagem, i.atualizadoEm = :agora WHERE i.id = :id")
+    void atualizarStatus(Long id, StatusImportacao status, String mensagem, LocalDateTime agora);
+}
@@ -0,0 +1,49 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
+import br.edu.uniesp.financeiro.entity.LancamentoArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repositório de LancamentoArquivado.
+ * - As consultas do filtro sobre o arquivo ficam em ConsultasFiltroLancamento.
+ */
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long> {
+
+    /**
+     * Início das consultas de leitura do arquivo: mesma projeção de LancamentoRepository.SELECT_RESPONSE_DTO.
+     */
+    String SELECT_RESPONSE_DTO = LancamentoRepository.PROJECAO_RESPONSE_DTO +
+            "FROM LancamentoArquivado l JOIN l.categoria c JOIN l.pessoa p ";
+
+    /**
+     * Um lançamento arquivado já como DTO de saída (GET /lancamentos/{id} de um ID que saiu da tabela ativa).
+     */
+    @Query(SELECT_RESPONSE_DTO + "WHERE l.id = :id")
+    Optional<LancamentoResponseDTO> buscarResposta(Long id);
+
+    /**
+     * Versão de um lançamento arquivado (ETag / Last-Modified), no mesmo formato de LancamentoRepository.buscarVersao.
+     */
+    @Query("SELECT new br.edu.uniesp.financeiro.dto.VersaoRecursoDTO(" +
+           "l.id, l.versao, c.versao, p.versao, l.atualizadoEm, c.atualizadoEm, p.atualizadoEm) " +
+           "FROM LancamentoArquivado l JOIN l.categoria c JOIN l.pessoa p WHERE l.id = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(Long id);
+
+    /**
+     * Copia um bloco de lançamentos para o arquivo em um único INSERT ... SELECT (sem carregar as entidades).
+     */
+    @Modifying
+    @Query("INSERT INTO LancamentoArquivado (id, descricao, dataVencimento, dataPagamento, valor, observacao, tipo, " +
+           "idCategoria, idPessoa, versao, atualizadoEm) " +
+           "SELECT l.id, l.descricao, l.dataVencimento, l.dataPagamento, l.valor, l.observacao, l.tipo, " +
+           "l.categoria.id, l.pessoa.id, l.versao, l.atualizadoEm " +
+           "FROM Lancamento l WHERE l.id IN :ids")
+    int copiar(Collection<Long> ids);
+}
@@ -1,10 +1,124 @@
 package br.edu.uniesp.financeiro.repository;
 
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Lancamento;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório de Lancamento.
  * - Podemos adicionar métodos customizados depois, se necessário.
+ * - Listagens grandes usam paginação por cursor (keyset) ou streaming (EscritorJsonLancamento), nunca findAll().
+ * - As consultas de leitura montam o LancamentoResponseDTO direto no SELECT (projeção),
+ *   trazendo categoria e pessoa no mesmo JOIN, sem uma consulta extra por relação.
  */
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> { }
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+
+    /**
+     * Projeção no DTO de saída, com os apelidos l (lançamento), c (categoria) e p (pessoa).
+     * - Compartilhada com as consultas do arquivo (LancamentoArquivadoRepository).
+     */
+    String PROJECAO_RESPONSE_DTO = "SELECT new br.edu.uniesp.financeiro.dto.LancamentoResponseDTO(" +
+            "l.id, l.descricao, l.dataVencimento, l.dataPagamento, l.valor, l.observacao, l.tipo, " +
+            "c.id, c.nome, p.id, p.nome) ";
+
+    /**
+     * Início das consultas de leitura: projeção no DTO de saída com JOIN em categoria e pessoa.
+     * - Usado também pelo filtro dinâmico em LancamentoService.
+     */
+    String SELECT_RESPONSE_DTO = PROJECAO_RESPONSE_DTO + "FROM Lancamento l JOIN l.categoria c JOIN l.pessoa p ";
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Primeira página da listagem por cursor.
+     * - Ordena por (dataVencimento, id), a mesma chave usada pelo cursor.
+     */
+    @Query(SELECT_RESPONSE_DTO + "ORDER BY l.dataVencimento, l.id")
+    List<LancamentoResponseDTO> buscarPrimeiraPagina(Limit limite);
+
+    /**
+     * Próxima página da listagem por cursor (keyset).
+     * - Retorna os lançamentos posteriores ao par (data, id) do último item já entregue.
+     * - O "dataVencimento >= :data" inicial permite ao banco usar a faixa do índice.
+     */
+    @Query(SELECT_RESPONSE_DTO +
+           "WHERE l.dataVencimento >= :data " +
+           "AND (l.dataVencimento > :data OR l.id > :id) " +
+           "ORDER BY l.dataVencimento, l.id")
+    List<LancamentoResponseDTO> buscarPaginaApos(LocalDate data, Long id, Limit limite);
+
+    /**
+     * Um lançamento já como DTO de saída, lido do banco (ignora entidades em memória).
+     */
+    @Query(SELECT_RESPONSE_DTO + "WHERE l.id = :id")
+    Optional<LancamentoResponseDTO> buscarResposta(Long id);
+
+    /**
+     * Estado gravado de um lançamento, com categoria e pessoa no mesmo JOIN, sem o cache de segundo nível
+     * (resposta 409 do controle otimista, que entrega o ETag atual).
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    @Query("SELECT l FROM Lancamento l JOIN FETCH l.categoria JOIN FETCH l.pessoa WHERE l.id = :id")
+    Optional<Lancamento> buscarAtual(Long id);
+
+    /**
+     * Versão de um lançamento (ETag / Last-Modified), lida só das colunas de versão, sem carregar a entidade.
+     */
+    @Query("SELECT new br.edu.uniesp.financeiro.dto.VersaoRecursoDTO(" +
+           "l.id, l.versao, c.versao, p.versao, l.atualizadoEm, c.atualizadoEm, p.atualizadoEm) " +
+           "FROM Lancamento l JOIN l.categoria c JOIN l.pessoa p WHERE l.id = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(Long id);
+
+    /**
+     * Trava a linha do lançamento até o fim da transação (SELECT ... FOR UPDATE), sem carregar a entidade.
+     * - Usado no PATCH com If-Match: a versão conferida não muda antes do UPDATE.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id FROM Lancamento l WHERE l.id = :id")
+    Optional<Long> travar(Long id);
+
+    /**
+     * Baixa (grava a data de pagamento) de um bloco de lançamentos ainda em aberto, em um único UPDATE.
+     * - Incrementa a versão e a data de alteração, invalidando os ETags já entregues.
+     */
+    @Modifying
+    @Query("UPDATE Lancamento l SET l.dataPagamento = :dataPagamento, l.versao = l.versao + 1, l.atualizadoEm = :agora " +
+           "WHERE l.id IN :ids AND l.dataPagamento IS NULL")
+    int baixarEmAberto(Collection<Long> ids, LocalDate dataPagamento, Instant agora);
+
+    /**
+     * Igual a baixarEmAberto, mas também troca a data dos lançamentos já pagos.
+     */
+    @Modifying
+    @Query("UPDATE Lancamento l SET l.dataPagamento = :dataPagamento, l.versao = l.versao + 1, l.atualizadoEm = :agora " +
+           "WHERE l.id IN :ids")
+    int baixar(Collection<Long> ids, LocalDate dataPagamento, Instant agora);
+
+    /**
+     * Próximo bloco de IDs vencidos antes do corte (arquivamento), em ordem de ID após o último processado.
+     */
+    @Query("SELECT l.id FROM Lancamento l WHERE l.dataVencimento < :corte AND l.id > :ultimo ORDER BY l.id")
+    List<Long> buscarIdsVencidosAntes(LocalDate corte, Long ultimo, Limit limite);
+
+    /**
+     * Exclui um bloco de lançamentos em um único DELETE (após a cópia para o arquivo).
+     */
+    @Modifying
+    @Query("DELETE FROM Lancamento l WHERE l.id IN :ids")
+    int excluirTodos(Collection<Long> ids);
+}
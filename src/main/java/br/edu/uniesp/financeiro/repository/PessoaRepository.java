@@ -1,7 +1,14 @@
 package br.edu.uniesp.financeiro.repository;
 
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Pessoa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
 
 /**
  * Repositório de Pessoa.
@@ -9,4 +16,22 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *   save, findById, findAll, deleteById, etc.
  * - O primeiro parâmetro é a entidade, o segundo é o tipo da chave primária.
  */
-public interface PessoaRepository extends JpaRepository<Pessoa, Long> { }
+public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
+
+    /**
+     * Versão agregada da lista de pessoas (ETag de GET /pessoas).
+     * - Uma única consulta com COUNT/MAX/SUM, sem carregar as entidades.
+     * - Sem Last-Modified: MAX(atualizadoEm) não muda quando um registro é excluído.
+     */
+    @Query("SELECT new br.edu.uniesp.financeiro.dto.VersaoRecursoDTO(" +
+           "COUNT(p), MAX(p.id), SUM(p.versao)) FROM Pessoa p")
+    VersaoRecursoDTO buscarVersaoDaLista();
+
+    /**
+     * Estado gravado de uma pessoa, lido do banco sem passar pelo cache de segundo nível.
+     * - Usado onde o ETag precisa ser o atual (GET /pessoas/{id}, PUT com If-Match e resposta 409).
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    @Query("SELECT p FROM Pessoa p WHERE p.id = :id")
+    Optional<Pessoa> buscarAtual(Long id);
+}
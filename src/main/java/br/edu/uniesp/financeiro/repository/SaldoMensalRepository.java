@@ -0,0 +1,86 @@
+package br.edu.uniesp.financeiro.repository;
+
+import br.edu.uniesp.financeiro.entity.SaldoMensal;
+import br.edu.uniesp.financeiro.entity.SaldoMensalId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repositório de SaldoMensal (rollup dos lançamentos).
+ * - As escritas são consultas nativas que somam a diferença direto no banco (upsert),
+ *   sem ler a linha antes: duas transações alterando o mesmo saldo não perdem valores.
+ */
+public interface SaldoMensalRepository extends JpaRepository<SaldoMensal, SaldoMensalId> {
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Soma total e quantidade ao saldo do grupo, criando a linha se ainda não existir.
+     * - Valores negativos estornam (usados na atualização e exclusão de lançamentos).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "INSERT INTO saldo_mensal (id_pessoa, ano_mes, id_categoria, tipo, total, quantidade) " +
+            "VALUES (:idPessoa, :anoMes, :idCategoria, :tipo, :total, :quantidade) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)")
+    void somar(Long idPessoa, Integer anoMes, Long idCategoria, String tipo, BigDecimal total, long quantidade);
+
+    /**
+     * Saldos de uma pessoa em uma faixa de meses (AAAAMM), ignorando grupos já zerados.
+     */
+    @Query("SELECT s FROM SaldoMensal s " +
+           "WHERE s.id.idPessoa = :idPessoa AND s.id.anoMes BETWEEN :inicio AND :fim AND s.quantidade > 0 " +
+           "ORDER BY s.id.anoMes, s.id.idCategoria, s.id.tipo")
+    List<SaldoMensal> buscarPorPessoa(Long idPessoa, Integer inicio, Integer fim);
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Apaga todos os saldos (primeira etapa da reconstrução).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM saldo_mensal")
+    void apagarTodos();
+
+    /**
+     * Recalcula todos os saldos a partir dos lançamentos ativos e arquivados (segunda etapa da reconstrução).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "INSERT INTO saldo_mensal (id_pessoa, ano_mes, id_categoria, tipo, total, quantidade) " +
+            "SELECT id_pessoa, YEAR(data_vencimento) * 100 + MONTH(data_vencimento), id_categoria, tipo, SUM(valor), COUNT(*) " +
+            "FROM (SELECT id_pessoa, data_vencimento, id_categoria, tipo, valor FROM lancamento " +
+            "      UNION ALL " +
+            "      SELECT id_pessoa, data_vencimento, id_categoria, tipo, valor FROM lancamento_arquivo) l " +
+            "GROUP BY id_pessoa, YEAR(data_vencimento) * 100 + MONTH(data_vencimento), id_categoria, tipo")
+    void recalcularTodos();
+
+    /**
+     * Compara os saldos gravados com os totais calculados a partir dos lançamentos (ativos e arquivados).
+     * - Retorna só os grupos divergentes: [id_pessoa, ano_mes, id_categoria, tipo,
+     *   total gravado, quantidade gravada, total calculado, quantidade calculada].
+     */
+    @Query(nativeQuery = true, value =
+            "SELECT x.id_pessoa, x.ano_mes, x.id_categoria, x.tipo, " +
+            "SUM(x.total_saldo), SUM(x.quantidade_saldo), SUM(x.total_calculado), SUM(x.quantidade_calculada) " +
+            "FROM (" +
+            "  SELECT id_pessoa, ano_mes, id_categoria, tipo, " +
+            "         total AS total_saldo, quantidade AS quantidade_saldo, 0 AS total_calculado, 0 AS quantidade_calculada " +
+            "  FROM saldo_mensal " +
+            "  UNION ALL " +
+            "  SELECT id_pessoa, YEAR(data_vencimento) * 100 + MONTH(data_vencimento), id_categoria, tipo, " +
+            "         0, 0, valor, 1 " +
+            "  FROM lancamento" +
+            "  UNION ALL " +
+            "  SELECT id_pessoa, YEAR(data_vencimento) * 100 + MONTH(data_vencimento), id_categoria, tipo, " +
+            "         0, 0, valor, 1 " +
+            "  FROM lancamento_arquivo" +
+            ") x " +
+            "GROUP BY x.id_pessoa, x.ano_mes, x.id_categoria, x.tipo " +
+            "HAVING SUM(x.total_saldo) <> SUM(x.total_calculado) OR SUM(x.quantidade_saldo) <> SUM(x.quantidade_calculada)")
+    List<Object[]> buscarDivergencias();
+}
@@ -0,0 +1,189 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.AlteracaoLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.AlteracoesLancamentoDTO;
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
+import br.edu.uniesp.financeiro.repository.AlteracaoLancamentoRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço do outbox de lançamentos (feed de alterações).
+ * - LancamentoService informa cada criação, alteração e exclusão; as linhas são gravadas na tabela
+ *   lancamento_alteracao na mesma transação, logo antes do commit.
+ * - As sequências vêm do gerador 'lancamento_alteracao' em id_gerador. O UPDATE que as reserva bloqueia
+ *   a linha do gerador até o commit, então as sequências ficam visíveis em ordem crescente e quem leu até N
+ *   nunca perde uma alteração com sequência menor que chegue depois.
+ * - O UPDATE roda na conexão da própria transação (sem conexão extra) e só bloqueia a linha 'lancamento_alteracao':
+ *   a reserva de IDs de Lancamento, feita em outra conexão sobre a linha 'lancamento', nunca espera por ele.
+ *   Usar a mesma linha travaria a transação esperando por ela mesma (ver Lancamento.id).
+ * - Quem espera por novas alterações (long-poll) é avisado após o commit.
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+public class AlteracaoLancamentoService {
+
+    private static final String GERADOR = "lancamento_alteracao"; // Linha de id_gerador com a última sequência usada
+    private static final String INSERT =
+            "INSERT INTO lancamento_alteracao (sequencia, id_lancamento, operacao, ocorrido_em) VALUES (?, ?, ?, ?)";
+    private static final int TAMANHO_BLOCO = 1000;  // Linhas por INSERT em lote
+    private static final int LIMITE_MAXIMO = 1000;  // Máximo de alterações por resposta do feed
+
+    // Alteração informada, aguardando o fim da transação para receber a sequência
+    private record Pendente(Long idLancamento, OperacaoAuditoria operacao, Instant ocorridoEm) { }
+
+    private final AlteracaoLancamentoRepository repository;
+    private final JdbcTemplate jdbc;                                   // Reserva das sequências e INSERT em lote
+    private final Set<Runnable> aguardando = ConcurrentHashMap.newKeySet(); // Avisos das requisições em long-poll
+
+    public AlteracaoLancamentoService(AlteracaoLancamentoRepository repository, JdbcTemplate jdbc) { // Construtor com injeção de dependências
+        this.repository = repository;
+        this.jdbc = jdbc;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Registra a alteração de um lançamento no outbox da transação atual.
+     */
+    @Transactional(propagation = Propagation.MANDATORY) // Só pode rodar dentro da transação do lançamento
+    public void registrar(Long idLancamento, OperacaoAuditoria operacao) {
+        registrarTodos(List.of(idLancamento), operacao);
+    }
+
+    /**
+     * Registra a mesma alteração em vários lançamentos (cadastro em lote, baixa em massa).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(Collection<Long> ids, OperacaoAuditoria operacao) {
+        Instant agora = Instant.now();
+        List<Pendente> pendentes = pendentesDaTransacao();
+        for (Long id : ids) {
+            pendentes.add(new Pendente(id, operacao, agora));
+        }
+    }
+
+    // Lista de alterações da transação atual; na primeira chamada, agenda a gravação antes do commit
+    @SuppressWarnings("unchecked")
+    private List<Pendente> pendentesDaTransacao() {
+        List<Pendente> pendentes = (List<Pendente>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes != null) {
+            return pendentes;
+        }
+        List<Pendente> novos = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, novos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) { // Grava no fim, para segurar o bloqueio do gerador o mínimo possível
+                gravar(novos);
+            }
+
+            @Override
+            public void afterCommit() { // As alterações já estão visíveis: acorda o long-poll
+                avisar();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AlteracaoLancamentoService.this);
+            }
+        });
+        return novos;
+    }
+
+    // Reserva as sequências e grava as alterações em lote
+    private void gravar(List<Pendente> pendentes) {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        long primeira = reservar(pendentes.size()) - pendentes.size() + 1; // Sequências primeira .. primeira + n - 1
+        for (int inicio = 0; inicio < pendentes.size(); inicio += TAMANHO_BLOCO) {
+            List<Pendente> bloco = pendentes.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, pendentes.size()));
+            long sequenciaInicial = primeira + inicio;
+            jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Pendente p = bloco.get(i);
+                    ps.setLong(1, sequenciaInicial + i);
+                    ps.setLong(2, p.idLancamento());
+                    ps.setString(3, p.operacao().name());
+                    ps.setTimestamp(4, Timestamp.from(p.ocorridoEm()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return bloco.size();
+                }
+            });
+        }
+    }
+
+    // Avança o gerador em n e retorna a última sequência reservada (a linha fica bloqueada até o commit)
+    private long reservar(int n) {
+        String update = "UPDATE id_gerador SET proximo = proximo + ? WHERE nome = ?";
+        if (jdbc.update(update, n, GERADOR) == 0) { // Esquema criado pelo Hibernate (perfil embarcado): cria o gerador
+            try {
+                jdbc.update("INSERT INTO id_gerador (nome, proximo) VALUES (?, 0)", GERADOR);
+            } catch (DuplicateKeyException e) {
+                // Outra transação criou o gerador ao mesmo tempo
+            }
+            jdbc.update(update, n, GERADOR);
+        }
+        return jdbc.queryForObject("SELECT proximo FROM id_gerador WHERE nome = ?", Long.class, GERADOR);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Alterações posteriores à sequência informada, em ordem, com o estado atual de cada lançamento.
+     * - Lida do primário mesmo com réplica configurada (transação não readOnly): o long-poll é acordado
+     *   logo após o commit, antes de a alteração chegar à réplica.
+     */
+    @Transactional
+    public AlteracoesLancamentoDTO listar(long desde, int limite) {
+        List<AlteracaoLancamentoDTO> alteracoes =
+                repository.buscarApos(desde, Limit.of(Math.max(1, Math.min(limite, LIMITE_MAXIMO))));
+        long proximo = alteracoes.isEmpty() ? desde : alteracoes.get(alteracoes.size() - 1).sequencia();
+        return new AlteracoesLancamentoDTO(alteracoes, proximo);
+    }
+
+    /**
+     * Pede um aviso no próximo commit com alterações (usado pelo long-poll).
+     * - O aviso é executado uma única vez, na thread que fez o commit: deve ser rápido.
+     */
+    public void aguardar(Runnable aviso) {
+        aguardando.add(aviso);
+    }
+
+    /**
+     * Cancela um aviso ainda não executado (resposta já enviada ou expirada).
+     */
+    public void cancelar(Runnable aviso) {
+        aguardando.remove(aviso);
+    }
+
+    // Executa e remove os avisos pendentes
+    private void avisar() {
+        for (Runnable aviso : aguardando) {
+            if (aguardando.remove(aviso)) { // Garante uma única execução, mesmo com commits simultâneos
+                aviso.run();
+            }
+        }
+    }
+}
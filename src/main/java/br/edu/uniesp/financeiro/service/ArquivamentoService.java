@@ -0,0 +1,209 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoArquivamentoDTO;
+import br.edu.uniesp.financeiro.entity.ArquivamentoLancamento;
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
+import br.edu.uniesp.financeiro.repository.ArquivamentoLancamentoRepository;
+import br.edu.uniesp.financeiro.repository.LancamentoArquivadoRepository;
+import br.edu.uniesp.financeiro.repository.LancamentoRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serviço de arquivamento de lançamentos.
+ * - Move os lançamentos de períodos encerrados (vencidos antes do corte) da tabela lancamento para a
+ *   tabela compactada lancamento_arquivo, mantendo a tabela ativa e seus índices do tamanho do período usado.
+ * - O corte é o primeiro dia do mês, financeiro.arquivo.meses-ativos meses atrás.
+ * - Em blocos de TAMANHO_BLOCO lançamentos, cada bloco (INSERT ... SELECT + DELETE) na sua própria transação.
+ * - O corte é registrado antes de mover o primeiro bloco; assim, durante a execução, o filtro já consulta
+ *   as duas tabelas para as datas afetadas (ver precisaDoArquivo).
+ * - O corte fica em memória (lido a cada filtro, busca, resumo e exportação): carregado na subida, atualizado
+ *   por arquivar() e relido a cada financeiro.arquivo.recarga-corte-ms, para as outras instâncias. Quando o
+ *   corte avança, arquivar() espera esse intervalo antes de mover o primeiro bloco, para que todas as
+ *   instâncias já leiam o arquivo quando as linhas saírem da tabela ativa.
+ * - Os saldos mensais não mudam (a reconstrução soma as duas tabelas).
+ * - Cada lançamento movido entra no feed de alterações (operação ARQUIVAMENTO), na transação do seu bloco.
+ * - Uma execução por vez entre todas as instâncias: a execução trava a linha 'lancamento_arquivamento' de
+ *   id_gerador (SELECT ... FOR UPDATE NOWAIT) em uma conexão própria, até terminar; outra execução, nesta
+ *   ou em outra instância, falha na hora em vez de esperar. Se a instância cair, o banco libera a trava.
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+@Timed("financeiro.servico") // Mede o tempo de cada método público (métrica com as tags class e method)
+public class ArquivamentoService {
+
+    private static final int TAMANHO_BLOCO = 1000; // Lançamentos movidos por transação
+    private static final String TRAVA = "lancamento_arquivamento"; // Linha de id_gerador usada só como trava
+
+    private final LancamentoRepository lancamentoRepository;
+    private final LancamentoArquivadoRepository arquivoRepository;
+    private final ArquivamentoLancamentoRepository repository;
+    private final AlteracaoLancamentoService alteracoes; // Feed de alterações (outbox)
+    private final TransactionTemplate transacao;   // Uma transação por bloco
+    private final DataSource dataSource;           // Conexão da trava, fora das transações dos blocos
+    private final int mesesAtivos;                 // Meses mantidos na tabela ativa
+    private final long recargaCorteMs;             // Intervalo de releitura do corte (e espera após um novo corte)
+    private volatile Optional<LocalDate> corte = Optional.empty(); // Maior corte registrado, lido do banco
+
+    public ArquivamentoService(LancamentoRepository lancamentoRepository, // Construtor com injeção de dependências
+                               LancamentoArquivadoRepository arquivoRepository,
+                               ArquivamentoLancamentoRepository repository,
+                               AlteracaoLancamentoService alteracoes,
+                               PlatformTransactionManager transactionManager,
+                               DataSource dataSource,
+                               @Value("${financeiro.arquivo.meses-ativos:13}") int mesesAtivos,
+                               @Value("${financeiro.arquivo.recarga-corte-ms:30000}") long recargaCorteMs) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.repository = repository;
+        this.alteracoes = alteracoes;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.mesesAtivos = mesesAtivos;
+        this.recargaCorteMs = recargaCorteMs;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Maior corte já registrado (vazio = nada arquivado), sem consultar o banco.
+     * - O arquivo só tem lançamentos vencidos antes desta data.
+     */
+    public Optional<LocalDate> corte() {
+        return corte;
+    }
+
+    /**
+     * Relê o corte do banco: na subida e a cada financeiro.arquivo.recarga-corte-ms (cortes registrados
+     * por outras instâncias).
+     */
+    @PostConstruct // Executa após o Spring criar o componente
+    @Scheduled(fixedDelayString = "${financeiro.arquivo.recarga-corte-ms:30000}",
+            initialDelayString = "${financeiro.arquivo.recarga-corte-ms:30000}")
+    public void recarregarCorte() {
+        corte = repository.buscarCorte();
+    }
+
+    /**
+     * Indica se o filtro precisa ler o arquivo, ou seja, se a faixa de datas começa antes do corte.
+     * - A tabela ativa é sempre lida (pode ter lançamentos antigos cadastrados depois do arquivamento);
+     *   com uma faixa de datas, a leitura dela usa o índice de data_vencimento e é barata.
+     */
+    public static boolean precisaDoArquivo(FiltroLancamentoDTO filtro, Optional<LocalDate> corte) {
+        return corte.isPresent() && (filtro.dataInicial() == null || filtro.dataInicial().isBefore(corte.get()));
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Execução agendada (financeiro.arquivo.cron; "-" desliga o agendamento).
+     */
+    @Scheduled(cron = "${financeiro.arquivo.cron:-}")
+    public void arquivarAgendado() {
+        arquivar();
+    }
+
+    /**
+     * Move para o arquivo os lançamentos vencidos antes do corte.
+     * - O corte nunca recua: se um corte maior já foi registrado, ele é mantido (e os lançamentos antigos
+     *   cadastrados depois da última execução também são movidos).
+     */
+    public ResultadoArquivamentoDTO arquivar() {
+        try (Connection trava = dataSource.getConnection()) {
+            travar(trava);
+            try {
+                return executar();
+            } finally {
+                trava.rollback(); // Libera a trava (a linha não foi alterada)
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro na trava do arquivamento", e);
+        }
+    }
+
+    // Trava a execução em todas as instâncias, ou falha se outra execução já tem a trava
+    private void travar(Connection conexao) throws SQLException {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conexao, true)); // Tradução dos erros do banco
+        Long existe = jdbc.queryForObject("SELECT COUNT(*) FROM id_gerador WHERE nome = ?", Long.class, TRAVA);
+        if (existe == null || existe == 0) { // Primeira execução (ou esquema criado pelo Hibernate): cria a linha
+            try {
+                jdbc.update("INSERT INTO id_gerador (nome, proximo) VALUES (?, 0)", TRAVA);
+            } catch (DuplicateKeyException e) {
+                // Outra instância criou a linha ao mesmo tempo
+            }
+        }
+        conexao.setAutoCommit(false); // A trava dura até o rollback, no fim da execução
+        try {
+            jdbc.queryForList("SELECT nome FROM id_gerador WHERE nome = ? FOR UPDATE NOWAIT", String.class, TRAVA);
+        } catch (PessimisticLockingFailureException e) {
+            throw new RuntimeException("Arquivamento já em execução");
+        }
+    }
+
+    // Registra o corte e move os blocos (com a trava já obtida)
+    private ResultadoArquivamentoDTO executar() {
+        recarregarCorte(); // Outra instância pode ter registrado um corte maior
+        LocalDate novoCorte = LocalDate.now().withDayOfMonth(1).minusMonths(mesesAtivos);
+        LocalDate corte = corte().filter(c -> c.isAfter(novoCorte)).orElse(novoCorte);
+        boolean avancou = corte().map(c -> c.isBefore(corte)).orElse(true);
+
+        // Registra o corte antes de mover: a partir daqui o filtro também lê o arquivo para datas anteriores
+        ArquivamentoLancamento execucao = new ArquivamentoLancamento();
+        execucao.setCorte(corte);
+        execucao.setExecutadoEm(Instant.now());
+        execucao = repository.save(execucao);
+        this.corte = Optional.of(corte);
+        if (avancou) {
+            esperarRecarga();
+        }
+
+        long movidos = 0;
+        int blocos = 0;
+        long ultimo = 0;
+        while (true) {
+            List<Long> bloco = lancamentoRepository.buscarIdsVencidosAntes(corte, ultimo, Limit.of(TAMANHO_BLOCO));
+            if (bloco.isEmpty()) {
+                break;
+            }
+            movidos += transacao.execute(status -> { // Cópia, exclusão e feed na mesma transação
+                arquivoRepository.copiar(bloco);
+                alteracoes.registrarTodos(bloco, OperacaoAuditoria.ARQUIVAMENTO);
+                return lancamentoRepository.excluirTodos(bloco);
+            });
+            blocos++;
+            ultimo = bloco.get(bloco.size() - 1);
+        }
+
+        execucao.setMovidos(movidos);
+        repository.save(execucao);
+        return new ResultadoArquivamentoDTO(corte, movidos, blocos);
+    }
+
+    // Espera as outras instâncias relerem o novo corte (recarregarCorte) antes de mover as linhas
+    private void esperarRecarga() {
+        try {
+            Thread.sleep(recargaCorteMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Arquivamento interrompido", e);
+        }
+    }
+}
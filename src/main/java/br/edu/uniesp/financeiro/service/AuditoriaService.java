@@ -0,0 +1,317 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Serviço de auditoria (write-behind).
+ * - Os serviços informam cada criação, alteração e exclusão; o evento entra em uma fila na memória
+ *   só depois do commit da transação (alterações desfeitas não são auditadas).
+ * - Uma thread de fundo esvazia a fila e grava os eventos em lote na tabela auditoria, fora da requisição.
+ * - A fila é limitada (financeiro.auditoria.capacidade) e sem bloqueios (ConcurrentLinkedQueue + contador).
+ *   Com a fila cheia, a política (financeiro.auditoria.politica) decide:
+ *     BLOQUEAR: a requisição espera a fila ter espaço (nenhum evento perdido);
+ *     DESCARTAR: o evento é descartado e contado na métrica;
+ *     DISCO: o evento vai para um arquivo local e é gravado no banco quando a fila esvaziar.
+ * - Falhas ao gravar no banco também mandam o bloco para o arquivo, para nova tentativa depois
+ *   (entrega "ao menos uma vez": após uma falha no meio do arquivo, eventos podem se repetir).
+ * - Métricas: financeiro.auditoria.fila (eventos aguardando) e financeiro.auditoria.eventos
+ *   (por resultado: gravado, descartado, disco).
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+public class AuditoriaService {
+
+    /**
+     * O que fazer com um evento quando a fila está cheia.
+     */
+    public enum PoliticaFilaCheia {
+        BLOQUEAR,
+        DESCARTAR,
+        DISCO
+    }
+
+    /**
+     * Evento de auditoria: qual registro mudou, como e quando.
+     */
+    public record Evento(String entidade, Long idRegistro, OperacaoAuditoria operacao, Instant ocorridoEm) {
+
+        // Uma linha do arquivo de eventos pendentes: entidade;id;operacao;instante
+        String linha() {
+            return entidade + ";" + idRegistro + ";" + operacao + ";" + ocorridoEm;
+        }
+
+        // Lê de volta uma linha gravada por linha()
+        static Evento daLinha(String linha) {
+            String[] campos = linha.split(";");
+            return new Evento(campos[0], Long.valueOf(campos[1]), OperacaoAuditoria.valueOf(campos[2]), Instant.parse(campos[3]));
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditoriaService.class);
+
+    private static final String INSERT =
+            "INSERT INTO auditoria (entidade, id_registro, operacao, ocorrido_em) VALUES (?, ?, ?, ?)";
+    // Parâmetros do INSERT para cada evento
+    private static final ParameterizedPreparedStatementSetter<Evento> PARAMETROS = (ps, e) -> {
+        ps.setString(1, e.entidade());
+        ps.setLong(2, e.idRegistro());
+        ps.setString(3, e.operacao().name());
+        ps.setTimestamp(4, Timestamp.from(e.ocorridoEm()));
+    };
+
+    private static final long ESPERA_FILA_CHEIA = TimeUnit.MILLISECONDS.toNanos(1);  // Pausa de quem espera espaço (BLOQUEAR)
+    private static final long INTERVALO_DISCO = TimeUnit.SECONDS.toNanos(30);       // Intervalo entre tentativas de gravar o arquivo
+
+    private final ConcurrentLinkedQueue<Evento> fila = new ConcurrentLinkedQueue<>(); // Eventos aguardando gravação
+    private final AtomicInteger tamanho = new AtomicInteger();                       // Tamanho da fila (o size() da fila é O(n))
+
+    private final JdbcTemplate jdbc;            // INSERT em lote (JDBC batch)
+    private final int capacidade;               // Máximo de eventos na fila
+    private final int lote;                     // Eventos por INSERT em lote
+    private final long espera;                  // Pausa da thread de gravação com a fila vazia (nanossegundos)
+    private final PoliticaFilaCheia politica;   // Comportamento com a fila cheia
+    private final Path arquivo;                 // Arquivo dos eventos pendentes (política DISCO e falhas do banco)
+
+    private final Counter gravados;             // Eventos gravados no banco
+    private final Counter descartados;          // Eventos perdidos (DESCARTAR ou erro no arquivo)
+    private final Counter emDisco;              // Eventos enviados ao arquivo
+
+    private volatile boolean ativo = true;      // false ao encerrar a aplicação
+    private volatile Thread gravador;           // Thread de fundo que grava os eventos
+    private long proximaLeituraDisco;           // Próxima tentativa de gravar o arquivo (só usado pela thread de gravação)
+
+    public AuditoriaService(JdbcTemplate jdbc, // Construtor com injeção de dependências
+                            MeterRegistry registry, // Registro das métricas
+                            @Value("${financeiro.auditoria.capacidade:10000}") int capacidade,
+                            @Value("${financeiro.auditoria.lote:500}") int lote,
+                            @Value("${financeiro.auditoria.espera-ms:200}") long esperaMs,
+                            @Value("${financeiro.auditoria.politica:BLOQUEAR}") PoliticaFilaCheia politica,
+                            @Value("${financeiro.auditoria.arquivo:auditoria-pendente.log}") Path arquivo) {
+        this.jdbc = jdbc;
+        this.capacidade = capacidade;
+        this.lote = lote;
+        this.espera = TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        this.politica = politica;
+        this.arquivo = arquivo;
+
+        Gauge.builder("financeiro.auditoria.fila", tamanho, AtomicInteger::get)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(registry);
+        this.gravados = contador(registry, "gravado");
+        this.descartados = contador(registry, "descartado");
+        this.emDisco = contador(registry, "disco");
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("financeiro.auditoria.eventos")
+                .description("Eventos de auditoria por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Registra a alteração de um registro.
+     */
+    public void registrar(Class<?> tipo, Long id, OperacaoAuditoria operacao) {
+        registrarTodos(tipo, List.of(id), operacao);
+    }
+
+    /**
+     * Registra a mesma alteração em vários registros (cadastro em lote, baixa em massa).
+     * - Dentro de uma transação, os eventos só entram na fila após o commit.
+     */
+    public void registrarTodos(Class<?> tipo, Collection<Long> ids, OperacaoAuditoria operacao) {
+        Instant agora = Instant.now(); // Momento da alteração, não o da gravação na auditoria
+        List<Evento> eventos = ids.stream()
+                .map(id -> new Evento(tipo.getSimpleName(), id, operacao, agora))
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) { // Espera o commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventos.forEach(AuditoriaService.this::enfileirar);
+                }
+            });
+        } else { // Sem transação: a alteração já foi gravada
+            eventos.forEach(this::enfileirar);
+        }
+    }
+
+    // Coloca o evento na fila, aplicando a política se ela estiver cheia
+    private void enfileirar(Evento evento) {
+        while (tamanho.incrementAndGet() > capacidade) { // Reserva uma vaga; se passou do limite, devolve
+            tamanho.decrementAndGet();
+            switch (politica) {
+                case DESCARTAR -> {
+                    descartados.increment();
+                    return;
+                }
+                case DISCO -> {
+                    gravarNoArquivo(List.of(evento));
+                    return;
+                }
+                case BLOQUEAR -> {
+                    if (!ativo) { // Encerrando: a fila não vai mais esvaziar
+                        gravarNoArquivo(List.of(evento));
+                        return;
+                    }
+                    LockSupport.unpark(gravador);           // Acorda a gravação
+                    LockSupport.parkNanos(ESPERA_FILA_CHEIA); // e espera a fila ter espaço
+                }
+            }
+        }
+        fila.offer(evento);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Inicia a thread de gravação.
+     */
+    @PostConstruct // Executa após o Spring criar o componente
+    void iniciar() {
+        gravador = Thread.ofPlatform().name("auditoria-gravador").daemon().start(this::gravar);
+    }
+
+    /**
+     * Encerra a thread de gravação, depois de gravar o que ainda estiver na fila.
+     */
+    @PreDestroy // Executa antes do Spring destruir o componente (o DataSource ainda está aberto)
+    void parar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(gravador);
+        gravador.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Laço da thread de gravação: esvazia a fila em lotes; com a fila vazia, grava o arquivo pendente
+    private void gravar() {
+        List<Evento> bloco = new ArrayList<>(lote);
+        while (ativo || tamanho.get() > 0) {
+            Evento evento;
+            while (bloco.size() < lote && (evento = fila.poll()) != null) { // Retira até um lote da fila
+                tamanho.decrementAndGet();
+                bloco.add(evento);
+            }
+            if (!bloco.isEmpty()) {
+                inserir(bloco);
+                bloco.clear();
+            } else if (ativo) { // Fila vazia: aproveita para gravar os eventos em disco e espera
+                gravarPendentes();
+                LockSupport.parkNanos(espera);
+            }
+        }
+    }
+
+    // INSERT em lote; se o banco falhar, o bloco vai para o arquivo
+    private void inserir(List<Evento> bloco) {
+        try {
+            jdbc.batchUpdate(INSERT, bloco, bloco.size(), PARAMETROS);
+            gravados.increment(bloco.size());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar {} eventos de auditoria; enviados para {}", bloco.size(), arquivo, e);
+            gravarNoArquivo(bloco);
+        }
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Acrescenta eventos ao arquivo de pendentes (synchronized: várias requisições podem chegar aqui)
+    private synchronized void gravarNoArquivo(List<Evento> eventos) {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Evento e : eventos) {
+                saida.write(e.linha());
+                saida.newLine();
+            }
+            emDisco.increment(eventos.size());
+        } catch (IOException e) {
+            log.error("Falha ao gravar {} eventos de auditoria em {}; eventos perdidos", eventos.size(), arquivo, e);
+            descartados.increment(eventos.size());
+        }
+    }
+
+    // Grava no banco os eventos do arquivo de pendentes (no máximo a cada INTERVALO_DISCO)
+    private void gravarPendentes() {
+        if (System.nanoTime() - proximaLeituraDisco < 0) {
+            return;
+        }
+        proximaLeituraDisco = System.nanoTime() + INTERVALO_DISCO;
+
+        // O arquivo é renomeado antes da leitura, para que novos eventos comecem um arquivo novo
+        Path emGravacao = arquivo.resolveSibling(arquivo.getFileName() + ".gravando");
+        try {
+            if (Files.notExists(emGravacao)) { // Sem sobra de uma tentativa anterior
+                synchronized (this) {
+                    if (Files.notExists(arquivo)) {
+                        return;
+                    }
+                    Files.move(arquivo, emGravacao);
+                }
+            }
+            long total = 0;
+            List<Evento> bloco = new ArrayList<>(lote);
+            try (BufferedReader entrada = Files.newBufferedReader(emGravacao, StandardCharsets.UTF_8)) {
+                String linha;
+                while ((linha = entrada.readLine()) != null) {
+                    if (linha.isBlank()) {
+                        continue;
+                    }
+                    bloco.add(Evento.daLinha(linha));
+                    if (bloco.size() == lote) {
+                        total += inserirPendentes(bloco);
+                    }
+                }
+            }
+            total += inserirPendentes(bloco);
+            Files.delete(emGravacao);
+            log.info("{} eventos de auditoria pendentes gravados a partir de {}", total, arquivo);
+        } catch (IOException | RuntimeException e) { // Nova tentativa no próximo intervalo
+            log.warn("Eventos de auditoria pendentes em {} não gravados: {}", emGravacao, e.getMessage());
+        }
+    }
+
+    // INSERT de um bloco lido do arquivo (sem desvio para o arquivo em caso de falha)
+    private int inserirPendentes(List<Evento> bloco) {
+        if (bloco.isEmpty()) {
+            return 0;
+        }
+        jdbc.batchUpdate(INSERT, bloco, bloco.size(), PARAMETROS);
+        int quantidade = bloco.size();
+        gravados.increment(quantidade);
+        bloco.clear();
+        return quantidade;
+    }
+}
@@ -1,9 +1,15 @@
 package br.edu.uniesp.financeiro.service;
 
 import br.edu.uniesp.financeiro.dto.CategoriaRequestDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.Categoria;
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
 import br.edu.uniesp.financeiro.repository.CategoriaRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,12 +18,15 @@ import java.util.List;
  * - Responsável por orquestrar operações relacionadas a categorias.
  */
 @Service // Indica que esta classe é um serviço gerenciado pelo Spring
+@Timed("financeiro.servico") // Mede o tempo de cada método público (métrica com as tags class e method)
 public class CategoriaService {
 
     private final CategoriaRepository repository; // Dependência do repositório, injetado pelo Spring via construtor
+    private final AuditoriaService auditoria; // Trilha de auditoria, gravada fora da requisição
 
-    public CategoriaService(CategoriaRepository repository) { // Construtor com injeção de dependência
+    public CategoriaService(CategoriaRepository repository, AuditoriaService auditoria) { // Construtor com injeção de dependência
         this.repository = repository;// Atribui o repositório injetado ao atributo da classe
+        this.auditoria = auditoria; // Atribui o serviço de auditoria
     }
 
     // -----------------------------||-------------------------------- \\ 
@@ -28,7 +37,9 @@ public class CategoriaService {
     public Categoria salvar(CategoriaRequestDTO dto) { // Recebe o DTO como parâmetro
         Categoria c = new Categoria(); // Cria uma nova instância de Categoria
         c.setNome(dto.nome()); // Preenche os campos da entidade com os dados do DTO
-        return repository.save(c);  // Salva a entidade no banco e retorna a entidade persistida
+        Categoria salva = repository.save(c);  // Salva a entidade no banco
+        auditoria.registrar(Categoria.class, salva.getId(), OperacaoAuditoria.CRIACAO); // Registra a criação na auditoria
+        return salva; // Retorna a entidade persistida
     }
 
     // -----------------------------||-------------------------------- \\ 
@@ -36,15 +47,30 @@ public class CategoriaService {
     /**
      * Retorna todas as categorias cadastradas.
      */
+    @Transactional(readOnly = true) // Somente leitura: com réplica configurada, vai para a réplica
     public List<Categoria> listar() { // Retorna uma lista de categorias
         return repository.findAll(); // Busca todas as categorias no banco via repositório
     }
 
     // -----------------------------||-------------------------------- \\ 
 
+    /**
+     * Versão atual da lista de categorias, usada como ETag de GET /categorias.
+     * - Permite responder 304 sem buscar as categorias.
+     */
+    @Transactional(readOnly = true)
+    public VersaoRecursoDTO versaoDaLista() {
+        return repository.buscarVersaoDaLista(); // Consulta agregada (COUNT/MAX/SUM)
+    }
+
+    // -----------------------------||-------------------------------- \\ 
+
     /**
      * Busca uma categoria pelo ID, lançando exceção se não existir.
+     * - O resultado fica no cache "categorias"; as próximas buscas pelo mesmo ID não vão ao banco.
      */
+    @Cacheable("categorias") // Guarda a categoria no cache, usando o ID como chave
+    @Transactional(readOnly = true)
     public Categoria buscarPorId(Long id) { // Recebe o ID da categoria como parâmetro
         return repository.findById(id) // Busca a categoria pelo ID no repositório
                 .orElseThrow(() -> new RuntimeException("Categoria não encontrada")); // Lança exceção se não encontrar
@@ -55,10 +81,14 @@ public class CategoriaService {
     /**
      * Atualiza uma categoria existente a partir dos dados do DTO.
      */
+    @CacheEvict(cacheNames = "categorias", key = "#id") // Remove a versão antiga do cache
+    @Transactional // Leitura e gravação na mesma transação (no primário, mesmo com réplica)
     public Categoria atualizar(Long id, CategoriaRequestDTO dto) { // Recebe o ID e o DTO como parâmetros
         Categoria c = buscarPorId(id); // Busca a categoria pelo ID
         c.setNome(dto.nome()); // Atualiza o nome da categoria
-        return repository.save(c); // Salva a entidade atualizada no banco e retorna a entidade persistida
+        Categoria salva = repository.save(c); // Salva a entidade atualizada no banco
+        auditoria.registrar(Categoria.class, id, OperacaoAuditoria.ALTERACAO); // Registra a alteração na auditoria
+        return salva; // Retorna a entidade persistida
     }
 
     // -----------------------------||-------------------------------- \\ 
@@ -66,8 +96,10 @@ public class CategoriaService {
     /**
      * Exclui uma categoria pelo ID.
      */
+    @CacheEvict(cacheNames = "categorias", key = "#id") // Remove a categoria do cache
     public void excluir(Long id) { // Recebe o ID da categoria como parâmetro
         repository.deleteById(id); // Exclui a categoria pelo ID no repositório
+        auditoria.registrar(Categoria.class, id, OperacaoAuditoria.EXCLUSAO); // Registra a exclusão na auditoria
     }
 }
 
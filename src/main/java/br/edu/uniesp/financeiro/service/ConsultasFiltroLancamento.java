@@ -0,0 +1,266 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import br.edu.uniesp.financeiro.repository.LancamentoArquivadoRepository;
+import br.edu.uniesp.financeiro.repository.LancamentoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Registro das consultas do filtro de lançamentos.
+ * - O filtro tem 6 campos opcionais, então existem só 64 formatos possíveis de consulta.
+ * - Cada formato é identificado por uma máscara de bits (um bit por campo preenchido).
+ * - Na inicialização, as 64 consultas são compiladas uma vez e registradas como named queries;
+ *   a cada requisição basta escolher a consulta pela máscara e definir os parâmetros.
+ * - As consultas da busca textual (ordenadas por relevância) também são registradas, uma para
+ *   cada máscara que contém o campo texto.
+ * - O filtro sobre os lançamentos arquivados (lancamento_arquivo) tem as mesmas 64 consultas, e a busca
+ *   textual no arquivo as mesmas 32.
+ * - As named queries atendem a exportação em CSV, o filtro com texto, a busca e a contagem; os filtros
+ *   sem texto de GET /lancamentos/filtro são lidos por JDBC (EscritorJsonLancamento), com o SQL de condicoesSql.
+ * - Os campos do filtro são definidos uma única vez, em CampoFiltro; as condições e os parâmetros do JPQL
+ *   e do SQL (EscritorJsonLancamento) saem todos dessa tabela.
+ */
+@Component // Indica que esta classe é um componente gerenciado pelo Spring
+public class ConsultasFiltroLancamento {
+
+    // Bits da máscara: cada campo preenchido do filtro liga um bit
+    public static final int DATA_INICIAL = 1;   // dataInicial preenchida
+    public static final int DATA_FINAL = 1 << 1; // dataFinal preenchida
+    public static final int TIPO = 1 << 2;       // tipo preenchido
+    public static final int CATEGORIA = 1 << 3;  // idCategoria preenchido
+    public static final int PESSOA = 1 << 4;     // idPessoa preenchido
+    public static final int TEXTO = 1 << 5;      // texto preenchido (busca FULLTEXT)
+
+    private static final int TOTAL_FORMATOS = 1 << 6; // 2^6 = 64 combinações de filtros
+    private static final String PREFIXO_NOME = "Lancamento.filtro."; // Nome das named queries: Lancamento.filtro.{máscara}
+    private static final String PREFIXO_BUSCA = "Lancamento.busca."; // Nome das consultas por relevância: Lancamento.busca.{máscara}
+    private static final String PREFIXO_ARQUIVO = "LancamentoArquivado.filtro."; // Nome das consultas do arquivo: LancamentoArquivado.filtro.{máscara}
+    private static final String PREFIXO_BUSCA_ARQUIVO = "LancamentoArquivado.busca."; // Busca textual no arquivo: LancamentoArquivado.busca.{máscara}
+    private static final String PREFIXO_CONTAGEM = "Lancamento.contagem."; // Quantidade de lançamentos ativos do filtro: Lancamento.contagem.{máscara}
+
+    // Relevância da busca textual (função registrada em FuncoesBancoContributor)
+    private static final String RELEVANCIA = "match_against(l.descricao, l.observacao, :texto)";
+
+    private final EntityManagerFactory emf; // Fábrica de EntityManager, onde as named queries ficam registradas
+
+    public ConsultasFiltroLancamento(EntityManagerFactory emf) { // Construtor com injeção de dependência
+        this.emf = emf;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Compila e registra as 64 consultas do filtro, uma para cada máscara, as 32 da busca textual,
+     * as 64 do filtro sobre o arquivo, as 32 da busca textual no arquivo e as 64 contagens da tabela ativa.
+     * - Executado uma única vez, na inicialização da aplicação.
+     */
+    @PostConstruct // Executa após o Spring criar o componente
+    void registrar() {
+        EntityManager em = emf.createEntityManager(); // EntityManager temporário só para compilar as consultas
+        try {
+            for (int mascara = 0; mascara < TOTAL_FORMATOS; mascara++) { // Uma consulta para cada combinação de filtros
+                String jpql = LancamentoRepository.SELECT_RESPONSE_DTO + "WHERE 1 = 1 " + condicoes(mascara);
+                emf.addNamedQuery(nome(mascara), em.createQuery(jpql, LancamentoResponseDTO.class)); // Registra a consulta compilada
+                if ((mascara & TEXTO) != 0) { // Busca textual: mesmas condições, ordenadas pela relevância
+                    String busca = jpql + "ORDER BY " + RELEVANCIA + " DESC, l.id";
+                    emf.addNamedQuery(PREFIXO_BUSCA + mascara, em.createQuery(busca, LancamentoResponseDTO.class));
+                }
+                String arquivo = LancamentoArquivadoRepository.SELECT_RESPONSE_DTO + "WHERE 1 = 1 " + condicoes(mascara);
+                emf.addNamedQuery(PREFIXO_ARQUIVO + mascara, em.createQuery(arquivo, LancamentoResponseDTO.class));
+                if ((mascara & TEXTO) != 0) {
+                    String buscaArquivo = arquivo + "ORDER BY " + RELEVANCIA + " DESC, l.id";
+                    emf.addNamedQuery(PREFIXO_BUSCA_ARQUIVO + mascara, em.createQuery(buscaArquivo, LancamentoResponseDTO.class));
+                }
+                String contagem = "SELECT COUNT(l) FROM Lancamento l JOIN l.categoria c JOIN l.pessoa p WHERE 1 = 1 " + condicoes(mascara);
+                emf.addNamedQuery(PREFIXO_CONTAGEM + mascara, em.createQuery(contagem, Long.class));
+            }
+        } finally {
+            em.close(); // Libera o EntityManager temporário
+        }
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Cria a consulta do filtro já com os parâmetros definidos.
+     * - Usa a named query registrada para o formato (máscara) do filtro recebido.
+     */
+    public TypedQuery<LancamentoResponseDTO> criar(EntityManager em, FiltroLancamentoDTO filtro) {
+        int mascara = mascara(filtro); // Identifica quais campos do filtro estão preenchidos
+        TypedQuery<LancamentoResponseDTO> query = em.createNamedQuery(nome(mascara), LancamentoResponseDTO.class);
+        aplicarParametros(query, filtro, mascara); // Define os parâmetros dos campos preenchidos
+        return query;
+    }
+
+    /**
+     * Cria a consulta do filtro sobre os lançamentos arquivados, já com os parâmetros definidos.
+     */
+    public TypedQuery<LancamentoResponseDTO> criarArquivo(EntityManager em, FiltroLancamentoDTO filtro) {
+        int mascara = mascara(filtro);
+        TypedQuery<LancamentoResponseDTO> query = em.createNamedQuery(PREFIXO_ARQUIVO + mascara, LancamentoResponseDTO.class);
+        aplicarParametros(query, filtro, mascara);
+        return query;
+    }
+
+    /**
+     * Cria a consulta da busca textual, ordenada por relevância, já com os parâmetros definidos.
+     * - O filtro precisa ter o campo texto preenchido.
+     */
+    public TypedQuery<LancamentoResponseDTO> criarBusca(EntityManager em, FiltroLancamentoDTO filtro) {
+        int mascara = mascara(filtro);
+        if ((mascara & TEXTO) == 0) {
+            throw new RuntimeException("Informe o texto da busca");
+        }
+        TypedQuery<LancamentoResponseDTO> query = em.createNamedQuery(PREFIXO_BUSCA + mascara, LancamentoResponseDTO.class);
+        aplicarParametros(query, filtro, mascara);
+        return query;
+    }
+
+    /**
+     * Cria a consulta da busca textual sobre os lançamentos arquivados, ordenada por relevância.
+     */
+    public TypedQuery<LancamentoResponseDTO> criarBuscaArquivo(EntityManager em, FiltroLancamentoDTO filtro) {
+        int mascara = mascara(filtro);
+        if ((mascara & TEXTO) == 0) {
+            throw new RuntimeException("Informe o texto da busca");
+        }
+        TypedQuery<LancamentoResponseDTO> query = em.createNamedQuery(PREFIXO_BUSCA_ARQUIVO + mascara, LancamentoResponseDTO.class);
+        aplicarParametros(query, filtro, mascara);
+        return query;
+    }
+
+    /**
+     * Cria a contagem dos lançamentos ativos que atendem ao filtro (paginação da busca sobre as duas tabelas).
+     */
+    public TypedQuery<Long> criarContagem(EntityManager em, FiltroLancamentoDTO filtro) {
+        int mascara = mascara(filtro);
+        TypedQuery<Long> query = em.createNamedQuery(PREFIXO_CONTAGEM + mascara, Long.class);
+        aplicarParametros(query, filtro, mascara);
+        return query;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Calcula a máscara de bits do filtro: um bit ligado para cada campo preenchido.
+     */
+    public static int mascara(FiltroLancamentoDTO filtro) {
+        int mascara = 0;
+        for (CampoFiltro campo : CampoFiltro.values()) {
+            if (campo.presente.test(filtro)) {
+                mascara |= campo.bit;
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Monta as condições JPQL ("AND ...") correspondentes à máscara.
+     * - Usa os apelidos l (lançamento), c (categoria) e p (pessoa).
+     */
+    public static String condicoes(int mascara) {
+        StringBuilder jpql = new StringBuilder();
+        for (CampoFiltro campo : CampoFiltro.values()) {
+            if ((mascara & campo.bit) != 0) {
+                jpql.append("AND ").append(campo.jpql).append(' ');
+            }
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * Define na consulta os parâmetros dos campos presentes na máscara.
+     */
+    public static void aplicarParametros(Query query, FiltroLancamentoDTO filtro, int mascara) {
+        for (CampoFiltro campo : CampoFiltro.values()) {
+            if ((mascara & campo.bit) != 0) {
+                query.setParameter(campo.parametro, campo.valor.apply(filtro));
+            }
+        }
+    }
+
+    /**
+     * Monta as condições SQL ("AND ...", parâmetros posicionais) correspondentes à máscara, sem o campo texto.
+     * - Usa os apelidos l (lançamento ou arquivo), c (categoria) e p (pessoa).
+     */
+    static String condicoesSql(int mascara) {
+        StringBuilder sql = new StringBuilder();
+        for (CampoFiltro campo : CampoFiltro.values()) {
+            if ((mascara & campo.bit) != 0 && campo.sql != null) {
+                sql.append("AND ").append(campo.sql).append(' ');
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Valores dos parâmetros posicionais de condicoesSql, na mesma ordem (enums pelo nome, como na coluna).
+     */
+    static Object[] parametrosSql(FiltroLancamentoDTO filtro, int mascara) {
+        List<Object> valores = new ArrayList<>(CampoFiltro.values().length);
+        for (CampoFiltro campo : CampoFiltro.values()) {
+            if ((mascara & campo.bit) != 0 && campo.sql != null) {
+                Object valor = campo.valor.apply(filtro);
+                valores.add(valor instanceof Enum<?> constante ? constante.name() : valor);
+            }
+        }
+        return valores.toArray();
+    }
+
+    // Nome da named query registrada para a máscara
+    private static String nome(int mascara) {
+        return PREFIXO_NOME + mascara;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Campos do filtro, na ordem em que as condições e os parâmetros são montados.
+     * - bit: bit da máscara; presente: se o campo foi preenchido;
+     * - jpql / sql: condição sobre os apelidos l, c e p (sql nulo: campo só existe no JPQL);
+     * - parametro / valor: nome do parâmetro no JPQL e valor tirado do filtro.
+     */
+    enum CampoFiltro {
+        DATA_INICIAL(ConsultasFiltroLancamento.DATA_INICIAL, f -> f.dataInicial() != null,
+                "l.dataVencimento >= :dataInicial", "l.data_vencimento >= ?", "dataInicial", FiltroLancamentoDTO::dataInicial),
+        DATA_FINAL(ConsultasFiltroLancamento.DATA_FINAL, f -> f.dataFinal() != null,
+                "l.dataVencimento <= :dataFinal", "l.data_vencimento <= ?", "dataFinal", FiltroLancamentoDTO::dataFinal),
+        TIPO(ConsultasFiltroLancamento.TIPO, f -> f.tipo() != null && !f.tipo().isBlank(),
+                "l.tipo = :tipo", "l.tipo = ?", "tipo", f -> TipoLancamento.valueOf(f.tipo().toUpperCase())),
+        CATEGORIA(ConsultasFiltroLancamento.CATEGORIA, f -> f.idCategoria() != null,
+                "c.id = :idCategoria", "l.id_categoria = ?", "idCategoria", FiltroLancamentoDTO::idCategoria),
+        PESSOA(ConsultasFiltroLancamento.PESSOA, f -> f.idPessoa() != null,
+                "p.id = :idPessoa", "l.id_pessoa = ?", "idPessoa", FiltroLancamentoDTO::idPessoa),
+        TEXTO(ConsultasFiltroLancamento.TEXTO, f -> f.texto() != null && !f.texto().isBlank(),
+                RELEVANCIA + " > 0", null, "texto", f -> f.texto().trim()); // Busca FULLTEXT, só no JPQL
+
+        final int bit;
+        final Predicate<FiltroLancamentoDTO> presente;
+        final String jpql;
+        final String sql;
+        final String parametro;
+        final Function<FiltroLancamentoDTO, Object> valor;
+
+        CampoFiltro(int bit, Predicate<FiltroLancamentoDTO> presente, String jpql, String sql, String parametro,
+                    Function<FiltroLancamentoDTO, Object> valor) {
+            this.bit = bit;
+            this.presente = presente;
+            this.jpql = jpql;
+            this.sql = sql;
+            this.parametro = parametro;
+            this.valor = valor;
+        }
+    }
+}
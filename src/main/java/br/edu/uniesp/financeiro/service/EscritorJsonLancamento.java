@@ -0,0 +1,183 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Escrita das listas de lançamentos em JSON direto das linhas do JDBC (GET /lancamentos e /lancamentos/filtro).
+ * - Cada linha do ResultSet vai para o JsonGenerator sem passar por LancamentoResponseDTO, sem lista
+ *   intermediária e sem o serializador genérico do Jackson; os nomes dos campos são pré-codificados.
+ * - O JSON é o mesmo de LancamentoResponseDTO (mesmos campos, na mesma ordem, com null explícito).
+ * - Valor e datas são copiados como texto da coluna (DECIMAL e DATE já vêm no formato do JSON),
+ *   sem criar BigDecimal/LocalDate por linha.
+ * - O filtro por texto (FULLTEXT) continua pela consulta JPQL (a relevância é uma função do Hibernate).
+ */
+@Component // Indica que esta classe é um componente gerenciado pelo Spring
+public class EscritorJsonLancamento {
+
+    private static final int TAMANHO_BLOCO_LEITURA = 500; // Linhas trazidas do banco por vez
+
+    // Nomes dos campos, codificados uma única vez (mesmos nomes de LancamentoResponseDTO)
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString DESCRICAO = new SerializedString("descricao");
+    private static final SerializableString DATA_VENCIMENTO = new SerializedString("dataVencimento");
+    private static final SerializableString DATA_PAGAMENTO = new SerializedString("dataPagamento");
+    private static final SerializableString VALOR = new SerializedString("valor");
+    private static final SerializableString OBSERVACAO = new SerializedString("observacao");
+    private static final SerializableString TIPO = new SerializedString("tipo");
+    private static final SerializableString ID_CATEGORIA = new SerializedString("idCategoria");
+    private static final SerializableString NOME_CATEGORIA = new SerializedString("nomeCategoria");
+    private static final SerializableString ID_PESSOA = new SerializedString("idPessoa");
+    private static final SerializableString NOME_PESSOA = new SerializedString("nomePessoa");
+
+    // Colunas na ordem dos campos do JSON
+    private static final String COLUNAS = "SELECT l.id, l.descricao, l.data_vencimento, l.data_pagamento, l.valor, " +
+            "l.observacao, l.tipo, c.id, c.nome, p.id, p.nome ";
+    private static final String JOINS = " l JOIN categoria c ON c.id = l.id_categoria JOIN pessoa p ON p.id = l.id_pessoa ";
+
+    private static final String SQL_TODOS = COLUNAS + "FROM lancamento" + JOINS + "ORDER BY l.data_vencimento, l.id";
+
+    // SQL do filtro para cada máscara sem o campo texto, na tabela ativa e no arquivo (montados uma única vez)
+    private static final String[] SQL_FILTRO = new String[ConsultasFiltroLancamento.TEXTO];
+    private static final String[] SQL_FILTRO_ARQUIVO = new String[ConsultasFiltroLancamento.TEXTO];
+
+    static {
+        for (int mascara = 0; mascara < ConsultasFiltroLancamento.TEXTO; mascara++) {
+            SQL_FILTRO[mascara] = COLUNAS + "FROM lancamento" + JOINS + "WHERE 1 = 1 "
+                    + ConsultasFiltroLancamento.condicoesSql(mascara);
+            SQL_FILTRO_ARQUIVO[mascara] = COLUNAS + "FROM lancamento_arquivo" + JOINS + "WHERE 1 = 1 "
+                    + ConsultasFiltroLancamento.condicoesSql(mascara);
+        }
+    }
+
+    private final JdbcTemplate jdbc;                    // Leitura em blocos (fetch size)
+    private final LancamentoService lancamentoService;  // Filtro por texto (JPQL)
+    private final ArquivamentoService arquivamento;     // Corte dos lançamentos arquivados
+
+    public EscritorJsonLancamento(DataSource dataSource, // Construtor com injeção de dependências
+                                  LancamentoService lancamentoService,
+                                  ArquivamentoService arquivamento) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(TAMANHO_BLOCO_LEITURA); // Com useCursorFetch=true, o MySQL entrega o resultado em blocos
+        this.lancamentoService = lancamentoService;
+        this.arquivamento = arquivamento;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Escreve todos os lançamentos (ordenados por vencimento e ID) como um array JSON.
+     */
+    @Transactional(readOnly = true) // Mantém a conexão enquanto o resultado é percorrido
+    public void escreverTodos(JsonGenerator gerador) throws IOException {
+        gerador.writeStartArray();
+        jdbc.query(SQL_TODOS, linhas(gerador));
+        gerador.writeEndArray();
+    }
+
+    /**
+     * Escreve os lançamentos filtrados como um array JSON.
+     * - Lê também o arquivo quando a faixa de datas começa antes do corte (mesma regra de LancamentoService.percorrerFiltro).
+     */
+    @Transactional(readOnly = true)
+    public void escreverFiltro(FiltroLancamentoDTO filtro, JsonGenerator gerador) throws IOException {
+        int mascara = ConsultasFiltroLancamento.mascara(filtro);
+        gerador.writeStartArray();
+        if ((mascara & ConsultasFiltroLancamento.TEXTO) != 0) { // Texto: consulta JPQL, serializando cada DTO
+            lancamentoService.percorrerFiltro(filtro, dto -> {
+                try {
+                    gerador.writeObject(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            Object[] parametros = ConsultasFiltroLancamento.parametrosSql(filtro, mascara);
+            if (ArquivamentoService.precisaDoArquivo(filtro, arquivamento.corte())) {
+                jdbc.query(SQL_FILTRO_ARQUIVO[mascara], linhas(gerador), parametros);
+            }
+            jdbc.query(SQL_FILTRO[mascara], linhas(gerador), parametros);
+        }
+        gerador.writeEndArray();
+    }
+
+    /**
+     * Valida os campos do filtro (tipo) antes de a resposta começar a ser escrita.
+     * - Depois do início do streaming, o status HTTP já foi enviado e um erro não chega mais ao cliente.
+     */
+    public static void validar(FiltroLancamentoDTO filtro) {
+        ConsultasFiltroLancamento.parametrosSql(filtro, ConsultasFiltroLancamento.mascara(filtro));
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Escreve a linha atual do ResultSet como um objeto JSON.
+     * - As colunas devem estar na ordem de COLUNAS.
+     */
+    public static void escreverLinha(JsonGenerator gerador, ResultSet rs) throws SQLException, IOException {
+        gerador.writeStartObject();
+        gerador.writeFieldName(ID);
+        gerador.writeNumber(rs.getLong(1));
+        gerador.writeFieldName(DESCRICAO);
+        gerador.writeString(rs.getString(2));
+        gerador.writeFieldName(DATA_VENCIMENTO);
+        gerador.writeString(rs.getString(3));                   // DATE como texto: yyyy-MM-dd
+        gerador.writeFieldName(DATA_PAGAMENTO);
+        escreverTextoOuNull(gerador, rs.getString(4));
+        gerador.writeFieldName(VALOR);
+        gerador.writeNumber(rs.getString(5));                   // DECIMAL como texto, sem criar BigDecimal
+        gerador.writeFieldName(OBSERVACAO);
+        escreverTextoOuNull(gerador, rs.getString(6));
+        gerador.writeFieldName(TIPO);
+        gerador.writeString(rs.getString(7));
+        gerador.writeFieldName(ID_CATEGORIA);
+        gerador.writeNumber(rs.getLong(8));
+        gerador.writeFieldName(NOME_CATEGORIA);
+        escreverTextoOuNull(gerador, rs.getString(9));
+        gerador.writeFieldName(ID_PESSOA);
+        gerador.writeNumber(rs.getLong(10));
+        gerador.writeFieldName(NOME_PESSOA);
+        escreverTextoOuNull(gerador, rs.getString(11));
+        gerador.writeEndObject();
+    }
+
+    // writeString(null) já escreve null; o método deixa explícito que a coluna pode ser nula
+    private static void escreverTextoOuNull(JsonGenerator gerador, String texto) throws IOException {
+        if (texto == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeString(texto);
+        }
+    }
+
+    // Escreve cada linha assim que sai do banco
+    private static RowCallbackHandler linhas(JsonGenerator gerador) {
+        return rs -> {
+            try {
+                escreverLinha(gerador, rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // SQL do filtro na tabela ativa para a máscara (sem o campo texto); também usado no teste dos planos de execução
+    static String sqlFiltro(int mascara) {
+        return SQL_FILTRO[mascara];
+    }
+}
@@ -0,0 +1,201 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.CategoriaRequestDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoRequestDTO;
+import br.edu.uniesp.financeiro.dto.PessoaRequestDTO;
+import br.edu.uniesp.financeiro.entity.Endereco;
+import br.edu.uniesp.financeiro.repository.LancamentoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gerador de massa de dados sintética para o teste de carga (perfil "carga", ver scripts/teste-carga.sh).
+ * - Roda na subida da aplicação quando financeiro.gerador.lancamentos está configurado e o banco ainda não
+ *   tem lançamentos.
+ * - Grava pelos próprios serviços (cadastro de categorias e pessoas, salvarLote dos lançamentos), então
+ *   saldos mensais, auditoria e feed de alterações ficam consistentes com os dados.
+ * - Distribuições assimétricas, como no uso real:
+ *   - pessoas, categorias, descrições e cidades escolhidas por Zipf (poucas concentram a maior parte);
+ *   - vencimentos concentrados nos meses recentes (decaimento exponencial para o passado, até 3 anos);
+ *   - valores log-normais (muitos pequenos, poucos grandes); 80% despesas.
+ * - Determinístico: a mesma semente e a mesma data de referência geram sempre os mesmos dados.
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+@ConditionalOnProperty("financeiro.gerador.lancamentos") // Só existe quando a geração foi configurada
+public class GeradorDadosService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDadosService.class);
+
+    private static final int TAMANHO_LOTE = 1000;          // Lançamentos por chamada de salvarLote
+    private static final int DIAS_HISTORICO = 3 * 365;     // Vencimento mais antigo gerado (dias antes da referência)
+    private static final double MEDIA_DIAS_ATRAS = 240;    // Média do decaimento exponencial dos vencimentos
+    private static final double FRACAO_FUTURO = 0.08;      // Lançamentos a vencer (até 60 dias após a referência)
+
+    private static final String[] CATEGORIAS = {"Moradia", "Alimentação", "Transporte", "Saúde", "Salário",
+            "Educação", "Lazer", "Serviços", "Impostos", "Vestuário", "Investimentos", "Pets", "Viagens",
+            "Presentes", "Assinaturas", "Manutenção", "Seguros", "Doações", "Tarifas bancárias", "Outros"};
+    private static final String[] DESPESAS = {"Supermercado", "Aluguel apartamento", "Conta de energia",
+            "Combustível", "Restaurante", "Farmácia", "Internet fibra", "Conta de água", "Plano de saúde",
+            "Mensalidade faculdade", "Streaming", "Academia", "Padaria", "Estacionamento", "Condomínio",
+            "IPTU", "Seguro do carro", "Material escolar", "Consulta médica", "Oficina mecânica"};
+    private static final String[] RECEITAS = {"Salário", "Freelance", "Rendimento poupança", "Aluguel recebido",
+            "Reembolso", "Venda usado", "Décimo terceiro", "Dividendos"};
+    private static final String[][] CIDADES = {{"João Pessoa", "PB", "580"}, {"Campina Grande", "PB", "584"},
+            {"Recife", "PE", "500"}, {"Natal", "RN", "590"}, {"Cabedelo", "PB", "583"}, {"Santa Rita", "PB", "583"},
+            {"Fortaleza", "CE", "600"}, {"Salvador", "BA", "400"}, {"Patos", "PB", "587"}, {"Maceió", "AL", "570"}};
+    private static final String[] BAIRROS = {"Centro", "Manaíra", "Tambaú", "Bancários", "Mangabeira",
+            "Cabo Branco", "Bessa", "Torre", "Jaguaribe", "Cristo Redentor", "Valentina", "Altiplano"};
+    private static final String[] NOMES = {"Ana", "João", "Maria", "José", "Francisca", "Antônio", "Adriana",
+            "Carlos", "Juliana", "Paulo", "Fernanda", "Pedro", "Camila", "Lucas", "Patrícia", "Marcos",
+            "Aline", "Rafael", "Beatriz", "Gabriel"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Ferreira", "Costa", "Rodrigues", "Almeida", "Nascimento", "Araújo", "Cavalcanti", "Barbosa",
+            "Medeiros", "Dantas"};
+
+    private final PessoaService pessoaService;
+    private final CategoriaService categoriaService;
+    private final LancamentoService lancamentoService;
+    private final LancamentoRepository lancamentoRepository;
+    private final int pessoas;              // Quantidade de pessoas geradas
+    private final int categorias;           // Quantidade de categorias geradas
+    private final int lancamentos;          // Quantidade de lançamentos gerados
+    private final long semente;             // Semente do gerador aleatório
+    private final LocalDate referencia;     // "Hoje" dos dados gerados (fixo, para os dados não mudarem com a data)
+
+    public GeradorDadosService(PessoaService pessoaService, // Construtor com injeção de dependências
+                               CategoriaService categoriaService,
+                               LancamentoService lancamentoService,
+                               LancamentoRepository lancamentoRepository,
+                               @Value("${financeiro.gerador.pessoas:1000}") int pessoas,
+                               @Value("${financeiro.gerador.categorias:20}") int categorias,
+                               @Value("${financeiro.gerador.lancamentos}") int lancamentos,
+                               @Value("${financeiro.gerador.semente:42}") long semente,
+                               @Value("${financeiro.gerador.referencia:2025-12-31}") String referencia) {
+        this.pessoaService = pessoaService;
+        this.categoriaService = categoriaService;
+        this.lancamentoService = lancamentoService;
+        this.lancamentoRepository = lancamentoRepository;
+        this.pessoas = pessoas;
+        this.categorias = categorias;
+        this.lancamentos = lancamentos;
+        this.semente = semente;
+        this.referencia = LocalDate.parse(referencia);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (lancamentoRepository.count() > 0) { // Banco já carregado (ex: H2 em arquivo reaproveitado)
+            log.info("Gerador de dados: o banco já tem lançamentos, nada foi gerado");
+            return;
+        }
+        long inicio = System.nanoTime();
+        Random aleatorio = new Random(semente);
+
+        long[] idsCategorias = new long[categorias];
+        for (int i = 0; i < categorias; i++) {
+            String nome = i < CATEGORIAS.length ? CATEGORIAS[i] : CATEGORIAS[i % CATEGORIAS.length] + " " + (i / CATEGORIAS.length + 1);
+            idsCategorias[i] = categoriaService.salvar(new CategoriaRequestDTO(nome)).getId();
+        }
+
+        Zipf cidades = new Zipf(CIDADES.length, 1.2, aleatorio);
+        long[] idsPessoas = new long[pessoas];
+        for (int i = 0; i < pessoas; i++) {
+            idsPessoas[i] = pessoaService.salvar(pessoa(aleatorio, cidades)).getId();
+        }
+
+        Zipf escolhaPessoa = new Zipf(pessoas, 0.8, aleatorio);         // Poucas pessoas com muitos lançamentos
+        Zipf escolhaCategoria = new Zipf(categorias, 1.1, aleatorio);
+        Zipf escolhaDespesa = new Zipf(DESPESAS.length, 0.9, aleatorio);
+        Zipf escolhaReceita = new Zipf(RECEITAS.length, 1.5, aleatorio);
+        List<LancamentoRequestDTO> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < lancamentos; i++) {
+            lote.add(lancamento(aleatorio, idsPessoas[escolhaPessoa.proximo()], idsCategorias[escolhaCategoria.proximo()],
+                    escolhaDespesa, escolhaReceita));
+            if (lote.size() == TAMANHO_LOTE || i == lancamentos - 1) {
+                lancamentoService.salvarLote(lote); // Mesmo caminho de POST /lancamentos/lote (saldos, auditoria, feed)
+                lote.clear();
+            }
+        }
+        log.info("Gerador de dados: {} categorias, {} pessoas e {} lançamentos em {} s (semente {}, referência {})",
+                categorias, pessoas, lancamentos, (System.nanoTime() - inicio) / 1_000_000_000, semente, referencia);
+    }
+
+    // Pessoa com nome e endereço sorteados (cidade por Zipf)
+    private static PessoaRequestDTO pessoa(Random aleatorio, Zipf cidades) {
+        String nome = NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+        String[] cidade = CIDADES[cidades.proximo()];
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro("Rua " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)] + " " + NOMES[aleatorio.nextInt(NOMES.length)]);
+        endereco.setNumero(String.valueOf(1 + aleatorio.nextInt(2000)));
+        endereco.setComplemento(aleatorio.nextInt(10) < 3 ? "Apto " + (101 + aleatorio.nextInt(1200)) : null);
+        endereco.setBairro(BAIRROS[aleatorio.nextInt(BAIRROS.length)]);
+        endereco.setCep(String.format("%s%02d-%03d", cidade[2], aleatorio.nextInt(100), aleatorio.nextInt(1000)));
+        endereco.setCidade(cidade[0]);
+        endereco.setEstado(cidade[1]);
+        return new PessoaRequestDTO(nome, aleatorio.nextInt(100) < 95, endereco); // 5% inativas
+    }
+
+    // Lançamento com vencimento, valor, tipo e descrição sorteados
+    private LancamentoRequestDTO lancamento(Random aleatorio, long idPessoa, long idCategoria, Zipf despesas, Zipf receitas) {
+        boolean receita = aleatorio.nextInt(100) < 20;
+        LocalDate vencimento = aleatorio.nextDouble() < FRACAO_FUTURO
+                ? referencia.plusDays(1 + aleatorio.nextInt(60))
+                : referencia.minusDays(Math.min(DIAS_HISTORICO, (long) (-MEDIA_DIAS_ATRAS * Math.log(1 - aleatorio.nextDouble()))));
+        LocalDate pagamento = !vencimento.isAfter(referencia) && aleatorio.nextInt(100) < 90 // 10% dos vencidos em aberto
+                ? vencimento.plusDays(aleatorio.nextInt(16) - 5)
+                : null;
+        double mediana = receita ? 600 : 120;
+        BigDecimal valor = BigDecimal.valueOf(Math.max(1, mediana * Math.exp(1.1 * aleatorio.nextGaussian()))) // Log-normal
+                .setScale(2, RoundingMode.HALF_EVEN);
+        String descricao = receita ? RECEITAS[receitas.proximo()] : DESPESAS[despesas.proximo()];
+        String observacao = aleatorio.nextInt(100) < 20 ? "Ref. " + vencimento.getMonthValue() + "/" + vencimento.getYear() : null;
+        return new LancamentoRequestDTO(descricao, vencimento, pagamento, valor, observacao,
+                receita ? "RECEITA" : "DESPESA", idCategoria, idPessoa);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Sorteio de índices 0..n-1 com distribuição de Zipf: P(i) proporcional a 1 / (i + 1)^expoente.
+     * - Probabilidades acumuladas calculadas uma vez; cada sorteio é uma busca binária.
+     */
+    private static final class Zipf {
+
+        private final double[] acumulado;
+        private final Random aleatorio;
+
+        Zipf(int n, double expoente, Random aleatorio) {
+            this.acumulado = new double[n];
+            this.aleatorio = aleatorio;
+            double soma = 0;
+            for (int i = 0; i < n; i++) {
+                soma += 1 / Math.pow(i + 1, expoente);
+                acumulado[i] = soma;
+            }
+            for (int i = 0; i < n; i++) {
+                acumulado[i] /= soma;
+            }
+        }
+
+        int proximo() {
+            int i = Arrays.binarySearch(acumulado, aleatorio.nextDouble());
+            return Math.min(i >= 0 ? i : -i - 1, acumulado.length - 1);
+        }
+    }
+}
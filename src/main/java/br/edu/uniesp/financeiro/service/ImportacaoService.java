@@ -0,0 +1,202 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.ErroLoteDTO;
+import br.edu.uniesp.financeiro.dto.ImportacaoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoRequestDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoLoteDTO;
+import br.edu.uniesp.financeiro.entity.FormatoImportacao;
+import br.edu.uniesp.financeiro.entity.Importacao;
+import br.edu.uniesp.financeiro.entity.StatusImportacao;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import br.edu.uniesp.financeiro.repository.CategoriaRepository;
+import br.edu.uniesp.financeiro.repository.ImportacaoRepository;
+import br.edu.uniesp.financeiro.repository.PessoaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Serviço de importação de extratos bancários (CSV e OFX).
+ * - O arquivo é lido em streaming, registro a registro, e gravado em blocos de TAMANHO_BLOCO registros.
+ * - Cada bloco é uma transação: os lançamentos do bloco e o avanço do ponto de retomada
+ *   (linhasProcessadas) são gravados juntos. Se a importação for interrompida, basta reenviar
+ *   o mesmo arquivo para /importacoes/{id}/retomada, que pula os registros já gravados.
+ * - A leitura só avança depois que o bloco anterior foi gravado, então um arquivo grande nunca
+ *   é carregado inteiro na memória, independentemente da velocidade do banco.
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+public class ImportacaoService {
+
+    private static final int TAMANHO_BLOCO = 1000;     // Registros gravados por transação
+    private static final int MAXIMO_ERROS = 100;       // Registros rejeitados listados na resposta
+
+    private final ImportacaoRepository repository;
+    private final PessoaRepository pessoaRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final LancamentoService lancamentoService;  // Grava cada bloco com o cadastro em lote
+    private final TransactionTemplate transacao;        // Uma transação por bloco
+
+    public ImportacaoService(ImportacaoRepository repository, // Construtor com injeção de dependências
+                             PessoaRepository pessoaRepository,
+                             CategoriaRepository categoriaRepository,
+                             LancamentoService lancamentoService,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.pessoaRepository = pessoaRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.lancamentoService = lancamentoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Inicia a importação de um extrato.
+     * - Todos os lançamentos importados recebem a pessoa e a categoria informadas.
+     * - Valor negativo vira DESPESA e positivo vira RECEITA; a data do extrato é usada
+     *   como vencimento e pagamento.
+     */
+    public ImportacaoDTO iniciar(FormatoImportacao formato, Long idPessoa, Long idCategoria,
+                                 InputStream arquivo, Charset charset) {
+        if (!pessoaRepository.existsById(idPessoa)) {
+            throw new RuntimeException("Pessoa não encontrada");
+        }
+        if (!categoriaRepository.existsById(idCategoria)) {
+            throw new RuntimeException("Categoria não encontrada");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        Importacao importacao = new Importacao();
+        importacao.setFormato(formato);
+        importacao.setIdPessoa(idPessoa);
+        importacao.setIdCategoria(idCategoria);
+        importacao.setStatus(StatusImportacao.EM_ANDAMENTO);
+        importacao.setIniciadoEm(agora);
+        importacao.setAtualizadoEm(agora);
+        importacao = repository.save(importacao);
+
+        return processar(importacao, arquivo, charset);
+    }
+
+    /**
+     * Retoma uma importação interrompida ou que falhou.
+     * - O arquivo enviado deve ser o mesmo da importação original; os registros já gravados são pulados.
+     */
+    public ImportacaoDTO retomar(Long id, InputStream arquivo, Charset charset) {
+        Importacao importacao = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Importação não encontrada"));
+        if (importacao.getStatus() == StatusImportacao.CONCLUIDA) {
+            throw new RuntimeException("Importação já concluída");
+        }
+        return processar(importacao, arquivo, charset);
+    }
+
+    /**
+     * Busca o andamento de uma importação pelo ID.
+     */
+    public ImportacaoDTO buscarPorId(Long id) {
+        Importacao importacao = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Importação não encontrada"));
+        return new ImportacaoDTO(importacao, List.of());
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    // Lê o arquivo e grava os blocos a partir do ponto de retomada
+    private ImportacaoDTO processar(Importacao importacao, InputStream arquivo, Charset charset) {
+        Long id = importacao.getId();
+        List<ErroLoteDTO> erros = new ArrayList<>(); // Rejeitados desta execução (no máximo MAXIMO_ERROS)
+        try (Reader reader = new InputStreamReader(arquivo, charset)) {
+            Iterator<LinhaExtrato> linhas = importacao.getFormato() == FormatoImportacao.CSV
+                    ? new LeitorExtratoCsv(reader)
+                    : new LeitorExtratoOfx(reader);
+
+            long processadas = importacao.getLinhasProcessadas();
+            for (long i = 0; i < processadas && linhas.hasNext(); i++) { // Pula os registros já gravados
+                linhas.next();
+            }
+
+            List<LinhaExtrato> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            while (linhas.hasNext()) {
+                bloco.add(linhas.next());
+                if (bloco.size() == TAMANHO_BLOCO || !linhas.hasNext()) {
+                    gravarBloco(importacao, processadas, bloco, erros);
+                    processadas += bloco.size();
+                    bloco.clear();
+                }
+            }
+            finalizar(id, StatusImportacao.CONCLUIDA, null);
+        } catch (Exception e) { // Os blocos já gravados continuam válidos; a importação pode ser retomada
+            finalizar(id, StatusImportacao.FALHOU, e.getMessage());
+        }
+
+        Importacao atualizada = repository.findById(id).orElseThrow();
+        return new ImportacaoDTO(atualizada, erros);
+    }
+
+    // Grava os lançamentos do bloco e avança o ponto de retomada na mesma transação
+    private void gravarBloco(Importacao importacao, long processadas, List<LinhaExtrato> bloco, List<ErroLoteDTO> erros) {
+        List<LancamentoRequestDTO> itens = new ArrayList<>(bloco.size());
+        List<LinhaExtrato> origem = new ArrayList<>(bloco.size()); // Registro de origem de cada item, para os erros
+        long rejeitados = 0;
+        for (LinhaExtrato linha : bloco) {
+            if (linha.erro() != null) { // Registro que não pôde ser lido
+                rejeitados++;
+                adicionarErro(erros, linha.numero(), linha.erro());
+                continue;
+            }
+            itens.add(paraLancamento(linha, importacao));
+            origem.add(linha);
+        }
+
+        long rejeitadosLeitura = rejeitados;
+        ResultadoLoteDTO resultado = transacao.execute(status -> {
+            ResultadoLoteDTO r = lancamentoService.salvarLote(itens);
+            int atualizadas = repository.registrarBloco(importacao.getId(), processadas, bloco.size(),
+                    r.inseridos(), rejeitadosLeitura + r.erros().size(), LocalDateTime.now());
+            if (atualizadas == 0) { // Outra execução já gravou este bloco: desfaz para não duplicar
+                throw new RuntimeException("Importação alterada por outra execução");
+            }
+            return r;
+        });
+
+        for (ErroLoteDTO erro : resultado.erros()) { // Traduz a posição no bloco para o número do registro no arquivo
+            adicionarErro(erros, origem.get(erro.indice()).numero(), erro.mensagem());
+        }
+    }
+
+    // Converte um registro do extrato em lançamento
+    private static LancamentoRequestDTO paraLancamento(LinhaExtrato linha, Importacao importacao) {
+        TipoLancamento tipo = linha.valor().signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA;
+        return new LancamentoRequestDTO(
+                linha.descricao(),
+                linha.data(),               // Vencimento
+                linha.data(),               // Pagamento: o movimento já ocorreu
+                linha.valor().abs(),
+                linha.observacao(),
+                tipo.name(),
+                importacao.getIdCategoria(),
+                importacao.getIdPessoa());
+    }
+
+    private static void adicionarErro(List<ErroLoteDTO> erros, long numero, String mensagem) {
+        if (erros.size() < MAXIMO_ERROS) {
+            erros.add(new ErroLoteDTO((int) numero, mensagem));
+        }
+    }
+
+    // Grava a situação final da execução
+    private void finalizar(Long id, StatusImportacao status, String mensagem) {
+        String texto = mensagem != null && mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem; // Tamanho da coluna
+        transacao.executeWithoutResult(s -> repository.atualizarStatus(id, status, texto, LocalDateTime.now()));
+    }
+}
@@ -1,30 +1,88 @@
 package br.edu.uniesp.financeiro.service;
 
+import br.edu.uniesp.financeiro.dto.AgrupamentoResumo;
+import br.edu.uniesp.financeiro.dto.BaixaLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.ErroLoteDTO;
 import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoPatchDTO;
 import br.edu.uniesp.financeiro.dto.LancamentoRequestDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PaginaLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoBaixaDTO;
+import br.edu.uniesp.financeiro.dto.ResultadoLoteDTO;
+import br.edu.uniesp.financeiro.dto.ResumoLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
 import br.edu.uniesp.financeiro.entity.*;
 import br.edu.uniesp.financeiro.repository.CategoriaRepository;
+import br.edu.uniesp.financeiro.repository.LancamentoArquivadoRepository;
 import br.edu.uniesp.financeiro.repository.LancamentoRepository;
 import br.edu.uniesp.financeiro.repository.PessoaRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço de Lancamento.
  * - Centraliza a lógica de criação, atualização, exclusão e busca (inclusive com filtro).
  */
 @Service // Indica que esta classe é um serviço gerenciado pelo Spring
+@Timed("financeiro.servico") // Mede o tempo de cada método público (métrica com as tags class e method)
 public class LancamentoService {
 
+    private static final int TAMANHO_PAGINA_MAXIMO = 1000; // Limite de itens por página na listagem por cursor
+    private static final int TAMANHO_BLOCO_LOTE = 500;     // Lançamentos enviados ao banco por vez no cadastro em lote
+    private static final int TAMANHO_BLOCO_LEITURA = 500;  // Linhas trazidas do banco por vez nas leituras em streaming
+    private static final int TAMANHO_BLOCO_BAIXA = 1000;   // Lançamentos atualizados por transação na baixa em massa
+
     private final LancamentoRepository repository;
     private final PessoaRepository pessoaRepository;
     private final CategoriaRepository categoriaRepository;
+    private final PessoaService pessoaService;           // Busca de pessoas com cache
+    private final CategoriaService categoriaService;     // Busca de categorias com cache
+    private final ConsultasFiltroLancamento consultasFiltro; // Consultas do filtro, compiladas na inicialização
+    private final SaldoMensalService saldoMensalService; // Mantém os saldos mensais em dia com os lançamentos
+    private final Validator validator; // Validador do Bean Validation, usado item a item no cadastro em lote
+    private final TransactionTemplate transacao; // Transações curtas, uma por bloco, na baixa em massa
+    private final AuditoriaService auditoria; // Trilha de auditoria, gravada fora da requisição
+    private final AlteracaoLancamentoService alteracoes; // Outbox do feed de alterações, gravado na mesma transação
+    private final ArquivamentoService arquivamento; // Corte dos lançamentos arquivados (filtro sobre as duas tabelas)
+    private final LancamentoArquivadoRepository arquivoRepository; // Lançamentos arquivados (busca por ID)
 
-    // EntityManager permite criar consultas JPQL dinâmicas manualmente
+    // EntityManager permite executar as consultas JPQL do filtro
     @PersistenceContext // Injeta o EntityManager gerenciado pelo Spring
     private EntityManager em; // Gerenciador de entidades JPA
 
@@ -33,61 +91,390 @@ public class LancamentoService {
 
     public LancamentoService(LancamentoRepository repository, // Construtor com injeção de dependências
                              PessoaRepository pessoaRepository, // Repositório de Pessoa
-                             CategoriaRepository categoriaRepository) { // Repositório de Categoria
+                             CategoriaRepository categoriaRepository, // Repositório de Categoria
+                             PessoaService pessoaService, // Serviço de Pessoa (busca com cache)
+                             CategoriaService categoriaService, // Serviço de Categoria (busca com cache)
+                             ConsultasFiltroLancamento consultasFiltro, // Registro das consultas do filtro
+                             SaldoMensalService saldoMensalService, // Serviço dos saldos mensais
+                             Validator validator, // Validador do Bean Validation
+                             PlatformTransactionManager transactionManager, // Gerenciador de transações (baixa em massa)
+                             AuditoriaService auditoria, // Serviço de auditoria
+                             AlteracaoLancamentoService alteracoes, // Outbox do feed de alterações
+                             ArquivamentoService arquivamento, // Arquivamento de lançamentos
+                             LancamentoArquivadoRepository arquivoRepository) { // Repositório do arquivo
         this.repository = repository;   // Repositório de Lancamento
         this.pessoaRepository = pessoaRepository; // Repositório de Pessoa
         this.categoriaRepository = categoriaRepository; // Repositório de Categoria
+        this.pessoaService = pessoaService; // Serviço de Pessoa
+        this.categoriaService = categoriaService; // Serviço de Categoria
+        this.consultasFiltro = consultasFiltro; // Registro das consultas do filtro
+        this.saldoMensalService = saldoMensalService; // Serviço dos saldos mensais
+        this.validator = validator; // Validador do Bean Validation
+        this.transacao = new TransactionTemplate(transactionManager); // Uma transação por bloco
+        this.auditoria = auditoria; // Serviço de auditoria
+        this.alteracoes = alteracoes; // Outbox do feed de alterações
+        this.arquivamento = arquivamento; // Arquivamento de lançamentos
+        this.arquivoRepository = arquivoRepository; // Repositório do arquivo
     }
 
     // -----------------------------||-------------------------------- \\ 
 
     /**
      * Cria um novo lançamento a partir do DTO.
+     * - Soma o lançamento ao saldo mensal na mesma transação.
      */
+    @Transactional
     public Lancamento salvar(LancamentoRequestDTO dto) {    // Recebe o DTO como parâmetro
         Lancamento l = new Lancamento();               // Cria uma nova instância de Lancamento
         preencherLancamento(l, dto);               // Preenche os campos do lançamento com os dados do DTO
-        return repository.save(l);                // Salva a entidade no banco e retorna a entidade persistida
+        Lancamento salvo = repository.save(l);    // Salva a entidade no banco
+        saldoMensalService.registrar(SaldoMensalService.Movimento.de(salvo)); // Soma ao saldo mensal
+        auditoria.registrar(Lancamento.class, salvo.getId(), OperacaoAuditoria.CRIACAO); // Auditado após o commit
+        alteracoes.registrar(salvo.getId(), OperacaoAuditoria.CRIACAO); // Entra no feed de alterações
+        return salvo;                             // Retorna a entidade persistida
+    }
+
+    // -----------------------------||-------------------------------- \\ 
+
+    /**
+     * Cria vários lançamentos de uma vez (ex: importação de extrato bancário).
+     * - Busca todas as pessoas e categorias referenciadas com uma consulta IN para cada.
+     * - Valida item a item: os inválidos são listados nos erros e os demais são gravados.
+     * - Os INSERTs vão ao banco em lotes (JDBC batch) e os saldos mensais são somados por grupo.
+     */
+    @Transactional
+    public ResultadoLoteDTO salvarLote(List<LancamentoRequestDTO> itens) { // Recebe a lista de DTOs
+        // Carrega de uma vez as pessoas e categorias usadas no lote
+        Map<Long, Pessoa> pessoas = pessoaRepository.findAllById(idsReferenciados(itens, LancamentoRequestDTO::idPessoa))
+                .stream().collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+        Map<Long, Categoria> categorias = categoriaRepository.findAllById(idsReferenciados(itens, LancamentoRequestDTO::idCategoria))
+                .stream().collect(Collectors.toMap(Categoria::getId, Function.identity()));
+
+        List<ErroLoteDTO> erros = new ArrayList<>();                              // Itens rejeitados
+        List<SaldoMensalService.Movimento> movimentos = new ArrayList<>();        // Lançamentos gravados, para o saldo mensal
+        List<Long> ids = new ArrayList<>();                                       // IDs gravados, para a auditoria
+        for (int i = 0; i < itens.size(); i++) {
+            LancamentoRequestDTO dto = itens.get(i);
+            String erro = validarItemLote(dto, pessoas, categorias); // Verifica o item sem interromper o lote
+            if (erro != null) {
+                erros.add(new ErroLoteDTO(i, erro));
+                continue;
+            }
+
+            Lancamento l = new Lancamento();
+            preencherCampos(l, dto, pessoas.get(dto.idPessoa()), categorias.get(dto.idCategoria())); // Mesmo mapeamento do cadastro individual
+            em.persist(l); // Agenda o INSERT (enviado no próximo flush, em lote)
+            movimentos.add(SaldoMensalService.Movimento.de(l));
+            ids.add(l.getId()); // O ID já foi reservado no persist (TableGenerator)
+
+            if (movimentos.size() % TAMANHO_BLOCO_LOTE == 0) { // A cada bloco, envia os INSERTs e libera a memória
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush(); // Envia os INSERTs restantes
+
+        saldoMensalService.registrarLote(movimentos); // Soma os lançamentos gravados aos saldos mensais
+        auditoria.registrarTodos(Lancamento.class, ids, OperacaoAuditoria.CRIACAO);
+        alteracoes.registrarTodos(ids, OperacaoAuditoria.CRIACAO);
+        return new ResultadoLoteDTO(itens.size(), movimentos.size(), erros);
+    }
+
+    // IDs distintos (não nulos) de uma relação referenciados pelos itens do lote
+    private static Set<Long> idsReferenciados(List<LancamentoRequestDTO> itens, Function<LancamentoRequestDTO, Long> id) {
+        return itens.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // Valida um item do lote; retorna a mensagem de erro ou null se estiver válido
+    private String validarItemLote(LancamentoRequestDTO dto, Map<Long, Pessoa> pessoas, Map<Long, Categoria> categorias) {
+        if (dto == null) {
+            return "Item vazio";
+        }
+        Set<ConstraintViolation<LancamentoRequestDTO>> violacoes = validator.validate(dto); // Mesmas regras do @Valid
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            TipoLancamento.valueOf(dto.tipo().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Tipo inválido: " + dto.tipo();
+        }
+        if (!pessoas.containsKey(dto.idPessoa())) {
+            return "Pessoa não encontrada";
+        }
+        if (!categorias.containsKey(dto.idCategoria())) {
+            return "Categoria não encontrada";
+        }
+        return null;
     }
 
     // -----------------------------||-------------------------------- \\ 
 
     /**
      * Atualiza um lançamento existente.
+     * - Estorna os valores antigos e soma os novos no saldo mensal, na mesma transação.
+     * - versaoEsperada é o ETag enviado em If-Match (opcional): se o lançamento já mudou desde então,
+     *   nada é gravado e a resposta é 409. Alterações concorrentes também são barradas pelo @Version.
+     * - Lançamentos arquivados são somente leitura: a resposta é 410.
      */
-    public Lancamento atualizar(Long id, LancamentoRequestDTO dto) {    // Recebe o ID e o DTO como parâmetros  
+    @Transactional
+    public Lancamento atualizar(Long id, LancamentoRequestDTO dto, String versaoEsperada) {    // Recebe o ID, o DTO e o ETag esperado
         Lancamento l = repository.findById(id)  // Busca o lançamento pelo ID
-                .orElseThrow(() -> new RuntimeException("Lançamento não encontrado"));  // Lança exceção se não encontrar
+                .orElseThrow(() -> naoEncontrado(id));  // Lança exceção se não encontrar (410 se arquivado)
+        if (versaoEsperada != null && !VersaoRecursoDTO.de(l).atende(versaoEsperada)) { // O cliente partiu de uma versão antiga
+            throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+        }
+        SaldoMensalService.Movimento antes = SaldoMensalService.Movimento.de(l); // Guarda os valores antigos para o saldo
         preencherLancamento(l, dto);               // Preenche os campos do lançamento com os dados do DTO
-        return repository.save(l);                // Salva a entidade no banco e retorna a entidade persistida
+        Lancamento salvo = repository.save(l);    // Salva a entidade atualizada no banco
+        saldoMensalService.atualizar(antes, SaldoMensalService.Movimento.de(salvo)); // Aplica a diferença no saldo mensal
+        auditoria.registrar(Lancamento.class, id, OperacaoAuditoria.ALTERACAO);
+        alteracoes.registrar(id, OperacaoAuditoria.ALTERACAO);
+        return salvo;                             // Retorna a entidade persistida
+    }
+
+    /**
+     * Altera só os campos enviados (descrição, data de pagamento e/ou observação).
+     * - Executa um único UPDATE com as colunas enviadas, sem ler o lançamento antes; assim,
+     *   alterações simultâneas em campos diferentes (ex: dataPagamento e observacao) não se sobrescrevem
+     *   nem geram conflito.
+     * - Incrementa a versão, invalidando os ETags já entregues.
+     * - versaoEsperada é o ETag enviado em If-Match (opcional), como no PUT: se o lançamento já mudou
+     *   desde então, nada é gravado e a resposta é 409. Com If-Match, a linha fica travada da conferência
+     *   até o UPDATE, para que outra alteração não entre no meio.
+     * - Lançamentos arquivados são somente leitura: a resposta é 410.
+     */
+    @Transactional
+    public LancamentoResponseDTO atualizarParcial(Long id, LancamentoPatchDTO dto, String versaoEsperada) { // Recebe o ID, os campos a alterar e o ETag esperado
+        if (versaoEsperada != null) { // O cliente informou a versão que leu
+            repository.travar(id).orElseThrow(() -> naoEncontrado(id)); // 410 se arquivado
+            if (!repository.buscarVersao(id).orElseThrow().atende(versaoEsperada)) { // O cliente partiu de uma versão antiga
+                throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+            }
+        }
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+        Root<Lancamento> l = update.from(Lancamento.class);
+
+        if (dto.descricao() != null) { // Descrição enviada
+            String descricao = dto.descricao().filter(d -> !d.isBlank())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Descrição não pode ser vazia"));
+            update.set(l.<String>get("descricao"), descricao);
+        }
+        if (dto.dataPagamento() != null) { // Data de pagamento enviada (vazia = limpa)
+            update.set(l.<LocalDate>get("dataPagamento"),
+                    dto.dataPagamento().<Expression<LocalDate>>map(cb::literal).orElse(cb.nullLiteral(LocalDate.class)));
+        }
+        if (dto.observacao() != null) { // Observação enviada (vazia = limpa)
+            update.set(l.<String>get("observacao"),
+                    dto.observacao().<Expression<String>>map(cb::literal).orElse(cb.nullLiteral(String.class)));
+        }
+        update.set(l.<Long>get("versao"), cb.sum(l.<Long>get("versao"), 1L)); // Nova versão (novo ETag)
+        update.set(l.<Instant>get("atualizadoEm"), Instant.now());             // Novo Last-Modified
+        update.where(cb.equal(l.get("id"), id));
+
+        if (em.createQuery(update).executeUpdate() == 0) {
+            throw naoEncontrado(id); // 410 se arquivado
+        }
+        auditoria.registrar(Lancamento.class, id, OperacaoAuditoria.ALTERACAO);
+        alteracoes.registrar(id, OperacaoAuditoria.ALTERACAO);
+        return repository.buscarResposta(id).orElseThrow(); // Estado gravado (lido do banco, não da memória)
+    }
+
+    /**
+     * Baixa em massa: grava a data de pagamento nos lançamentos escolhidos por IDs ou por filtro.
+     * - Em blocos de TAMANHO_BLOCO_BAIXA lançamentos, cada bloco com um único UPDATE na sua própria
+     *   transação, para segurar os bloqueios de linha por pouco tempo.
+     * - Os blocos são percorridos em ordem de ID (keyset); uma falha no meio mantém os blocos já gravados,
+     *   e repetir a chamada só baixa o que ainda está em aberto.
+     * - A data de pagamento não entra nos saldos mensais (agrupados pelo vencimento), e Lancamento não está
+     *   no cache de segundo nível; os ETags mudam porque a versão é incrementada.
+     */
+    public ResultadoBaixaDTO baixar(BaixaLancamentoDTO dto) { // Recebe a data e os lançamentos a baixar
+        if (dto.ids() == null && dto.filtro() == null) {
+            throw new RuntimeException("Informe os IDs ou o filtro dos lançamentos");
+        }
+        long afetados = 0;
+        int blocos = 0;
+        Instant agora = Instant.now();
+
+        if (dto.ids() != null) { // Lista de IDs: blocos de IDs ordenados e sem repetição
+            List<Long> ids = dto.ids().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_BAIXA) {
+                List<Long> bloco = ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_BAIXA, ids.size()));
+                afetados += baixarBloco(bloco, dto, agora);
+                blocos++;
+            }
+            return new ResultadoBaixaDTO(afetados, blocos);
+        }
+
+        // Filtro: busca o próximo bloco de IDs após o último processado, até não haver mais
+        int mascara = ConsultasFiltroLancamento.mascara(dto.filtro());
+        String jpql = "SELECT l.id FROM Lancamento l JOIN l.categoria c JOIN l.pessoa p WHERE l.id > :ultimo "
+                + ConsultasFiltroLancamento.condicoes(mascara)
+                + (dto.sobrescrever() ? "" : "AND l.dataPagamento IS NULL ")
+                + "ORDER BY l.id";
+        long ultimo = 0;
+        while (true) {
+            long aPartirDe = ultimo;
+            List<Long> bloco = transacao.execute(status -> {
+                TypedQuery<Long> query = em.createQuery(jpql, Long.class)
+                        .setParameter("ultimo", aPartirDe)
+                        .setMaxResults(TAMANHO_BLOCO_BAIXA);
+                ConsultasFiltroLancamento.aplicarParametros(query, dto.filtro(), mascara);
+                return query.getResultList();
+            });
+            if (bloco.isEmpty()) {
+                return new ResultadoBaixaDTO(afetados, blocos);
+            }
+            afetados += baixarBloco(bloco, dto, agora);
+            blocos++;
+            ultimo = bloco.get(bloco.size() - 1);
+        }
+    }
+
+    // Um UPDATE por bloco, na sua própria transação; a auditoria e o feed recebem os IDs do bloco
+    private int baixarBloco(List<Long> ids, BaixaLancamentoDTO dto, Instant agora) {
+        return transacao.execute(status -> {
+            int afetados = dto.sobrescrever()
+                    ? repository.baixar(ids, dto.dataPagamento(), agora)
+                    : repository.baixarEmAberto(ids, dto.dataPagamento(), agora);
+            if (afetados > 0) {
+                auditoria.registrarTodos(Lancamento.class, ids, OperacaoAuditoria.ALTERACAO);
+                alteracoes.registrarTodos(ids, OperacaoAuditoria.ALTERACAO);
+            }
+            return afetados;
+        });
+    }
+
+    // -----------------------------||-------------------------------- \\ 
+
+    /**
+     * Lista uma página de lançamentos usando paginação por cursor (keyset).
+     * - O cursor codifica o par (dataVencimento, id) do último item da página anterior.
+     * - Sem cursor, retorna a primeira página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaLancamentoDTO listarPagina(String cursor, int tamanho) { // Recebe o cursor (opcional) e o tamanho da página
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO)); // Mantém o tamanho dentro da faixa permitida
+
+        // Busca um item a mais para saber se existe próxima página
+        List<LancamentoResponseDTO> lancamentos;
+        if (cursor == null || cursor.isBlank()) { // Primeira página
+            lancamentos = repository.buscarPrimeiraPagina(Limit.of(limite + 1));
+        } else { // Páginas seguintes: continua a partir do último item entregue
+            String[] partes = decodificarCursor(cursor);
+            lancamentos = repository.buscarPaginaApos(LocalDate.parse(partes[0]), Long.valueOf(partes[1]), Limit.of(limite + 1));
+        }
+
+        boolean temProxima = lancamentos.size() > limite; // Se veio o item extra, há mais páginas
+        List<LancamentoResponseDTO> itens = lancamentos.stream()
+                .limit(limite) // Descarta o item extra
+                .toList();
+
+        String next = null;
+        if (temProxima) { // Monta o cursor a partir do último item da página
+            LancamentoResponseDTO ultimo = itens.get(itens.size() - 1);
+            next = codificarCursor(ultimo.dataVencimento(), ultimo.id());
+        }
+        return new PaginaLancamentoDTO(itens, next);
     }
 
     // -----------------------------||-------------------------------- \\ 
 
     /**
-     * Retorna a lista completa de lançamentos.
+     * Gera o cursor (texto opaco em Base64) a partir do par (dataVencimento, id).
      */
-    public List<Lancamento> listar() { // Retorna uma lista de lançamentos
-        return repository.findAll();    // Busca todos os lançamentos no banco via repositório
+    private static String codificarCursor(LocalDate dataVencimento, Long id) {
+        String valor = dataVencimento + ":" + id; // Ex: "2025-01-31:42"
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o cursor recebido do cliente, devolvendo [dataVencimento, id].
+     */
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(":");
+            LocalDate.parse(partes[0]); // Valida a data
+            Long.parseLong(partes[1]);  // Valida o id
+            return partes;
+        } catch (RuntimeException e) { // Base64, data ou id inválidos: erro do cliente (400), não do servidor
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
     }
 
     // -----------------------------||-------------------------------- \\ 
 
     /**
-     * Busca um lançamento pelo ID.
+     * Busca o estado gravado de um lançamento, com categoria e pessoa (resposta 409 com o ETag atual).
+     * - Transação de escrita: com réplica configurada, lê do primário, e não da réplica atrasada.
+     */
+    @Transactional
+    public Lancamento buscarAtual(Long id) { // Recebe o ID do lançamento como parâmetro
+        return repository.buscarAtual(id) // Lançamento, categoria e pessoa em uma consulta, sem cache
+                .orElseThrow(() -> new RuntimeException("Lançamento não encontrado")); // Lança exceção se não encontrar
+    }
+
+    /**
+     * Busca um lançamento pelo ID, já como DTO de saída (GET /lancamentos/{id}).
+     * - Se o lançamento já foi arquivado, é lido de lancamento_arquivo (a leitura continua igual).
+     */
+    @Transactional(readOnly = true)
+    public LancamentoResponseDTO buscarResposta(Long id) {
+        return repository.buscarResposta(id)
+                .or(() -> arquivoRepository.buscarResposta(id)) // Arquivado: mesmo DTO, lido do arquivo
+                .orElseThrow(() -> new RuntimeException("Lançamento não encontrado")); // Lança exceção se não encontrar
+    }
+
+    /**
+     * Versão atual de um lançamento, usada como ETag de GET /lancamentos/{id}.
+     * - Lê só as colunas de versão (lançamento, categoria e pessoa), sem carregar as entidades.
+     * - Lançamentos arquivados mantêm a versão que tinham no arquivamento.
      */
-    public Lancamento buscarPorId(Long id) { // Recebe o ID do lançamento como parâmetro
-        return repository.findById(id) // Busca o lançamento pelo ID no repositório
+    @Transactional(readOnly = true)
+    public VersaoRecursoDTO buscarVersao(Long id) {
+        return repository.buscarVersao(id)
+                .or(() -> arquivoRepository.buscarVersao(id)) // Arquivado: versão gravada no arquivo
                 .orElseThrow(() -> new RuntimeException("Lançamento não encontrado")); // Lança exceção se não encontrar
     }
 
+    // Erro de lançamento ausente da tabela ativa: 410 (Gone) se foi arquivado, já que o arquivo é somente leitura
+    private RuntimeException naoEncontrado(Long id) {
+        if (arquivoRepository.existsById(id)) {
+            return new ResponseStatusException(HttpStatus.GONE, "Lançamento arquivado (somente leitura)");
+        }
+        return new RuntimeException("Lançamento não encontrado");
+    }
+
     // -----------------------------||-------------------------------- \\ 
 
     /**
      * Exclui um lançamento pelo ID.
+     * - Retira o lançamento do saldo mensal na mesma transação.
+     * - ID inexistente não é erro (a exclusão é idempotente); lançamento arquivado responde 410.
      */
+    @Transactional
     public void excluir(Long id) { // Recebe o ID do lançamento como parâmetro
-        repository.deleteById(id); // Exclui o lançamento pelo ID no repositório
+        Lancamento l = repository.findById(id).orElse(null); // Busca o lançamento para saber o que estornar do saldo
+        if (l == null) {
+            if (arquivoRepository.existsById(id)) { // Arquivado: não é excluído pela API
+                throw naoEncontrado(id);
+            }
+            return; // Já não existe
+        }
+        repository.delete(l); // Exclui o lançamento no repositório
+        saldoMensalService.estornar(SaldoMensalService.Movimento.de(l)); // Retira do saldo mensal
+        auditoria.registrar(Lancamento.class, id, OperacaoAuditoria.EXCLUSAO);
+        alteracoes.registrar(id, OperacaoAuditoria.EXCLUSAO);
     }
 
     // -----------------------------||-------------------------------- \\ 
@@ -97,6 +484,20 @@ public class LancamentoService {
      * a partir das informações do DTO.
      */
     private void preencherLancamento(Lancamento l, LancamentoRequestDTO dto) { // Recebe o objeto Lancamento e o DTO como parâmetros
+        // Busca a pessoa relacionada (FK), normalmente servida pelo cache "pessoas"
+        Pessoa pessoa = pessoaService.buscarPorId(dto.idPessoa());   // Lança exceção se não encontrar
+
+        // Busca a categoria relacionada (FK), normalmente servida pelo cache "categorias"
+        Categoria categoria = categoriaService.buscarPorId(dto.idCategoria());   // Lança exceção se não encontrar
+
+        preencherCampos(l, dto, pessoa, categoria); // Copia os dados do DTO e as relações para o lançamento
+    }
+
+    /**
+     * Copia os dados do DTO para o lançamento, com pessoa e categoria já carregadas.
+     * - Usado pelo cadastro individual e pelo cadastro em lote.
+     */
+    private void preencherCampos(Lancamento l, LancamentoRequestDTO dto, Pessoa pessoa, Categoria categoria) {
         // Copia campos simples
         l.setDescricao(dto.descricao()); // Define a descrição do lançamento
         l.setDataVencimento(dto.dataVencimento());  // Define a data de vencimento do lançamento
@@ -107,14 +508,6 @@ public class LancamentoService {
         // Converte String "RECEITA"/"DESPESA" para enum TipoLancamento
         l.setTipo(TipoLancamento.valueOf(dto.tipo().toUpperCase()));    // Define o tipo do lançamento
 
-        // Busca a pessoa relacionada no banco (FK)
-        Pessoa pessoa = pessoaRepository.findById(dto.idPessoa())   // Busca a pessoa pelo ID no repositório
-                .orElseThrow(() -> new RuntimeException("Pessoa não encontrada"));  // Lança exceção se não encontrar
-       
-        // Busca a categoria relacionada no banco (FK)  
-        Categoria categoria = categoriaRepository.findById(dto.idCategoria())   // Busca a categoria pelo ID no repositório
-                .orElseThrow(() -> new RuntimeException("Categoria não encontrada"));  // Lança exceção se não encontrar
-
         // Atribui as relações no objeto de domínio
         l.setPessoa(pessoa); // Define a pessoa associada ao lançamento
         l.setCategoria(categoria);// Define a categoria associada ao lançamento
@@ -122,54 +515,185 @@ public class LancamentoService {
 
     // -----------------------------||-------------------------------- \\
 
+    // Consultas do filtro (ver ConsultasFiltroLancamento): a do arquivo só quando a faixa de datas começa
+    // antes do corte do arquivamento (ou não tem data inicial), e sempre a da tabela ativa
+    private List<TypedQuery<LancamentoResponseDTO>> consultasDoFiltro(FiltroLancamentoDTO filtro) {
+        TypedQuery<LancamentoResponseDTO> ativos = consultasFiltro.criar(em, filtro); // Escolhe a consulta e define os parâmetros
+        if (!ArquivamentoService.precisaDoArquivo(filtro, arquivamento.corte())) {
+            return List.of(ativos);
+        }
+        return List.of(consultasFiltro.criarArquivo(em, filtro), ativos);
+    }
+
     /**
-     * Filtra lançamentos com base nos campos fornecidos em FiltroLancamentoDTO.
-     * - Monta uma query JPQL dinâmica e adiciona parâmetros conforme os filtros preenchidos.
+     * Busca textual: lançamentos cujo texto (descrição/observação) contém as palavras buscadas,
+     * dos mais relevantes para os menos.
+     * - Usa o índice FULLTEXT (ver ConsultasFiltroLancamento e FuncoesBancoContributor).
+     * - Paginada por posição (pagina x tamanho); a ordem por relevância não permite paginação por cursor.
+     * - Com o arquivo (mesma regra de percorrerFiltro), os lançamentos ativos vêm primeiro e os arquivados depois,
+     *   cada parte ordenada pela sua relevância (as relevâncias de índices FULLTEXT diferentes não se comparam).
      */
-    public List<Lancamento> filtrar(FiltroLancamentoDTO filtro) { // Recebe o DTO de filtro como parâmetro
-        
-        // StringBuilder para montar a consulta JPQL
-        StringBuilder jpql = new StringBuilder("SELECT l FROM Lancamento l WHERE 1 = 1 "); // Início da consulta JPQL
-
-        // Adiciona condições dinamicamente de acordo com os parâmetros
-        if (filtro.dataInicial() != null) { // Parâmetro dataInicial
-            jpql.append("AND l.dataVencimento >= :dataInicial "); // Parâmetro dataInicial
+    @Transactional(readOnly = true)
+    public List<LancamentoResponseDTO> buscar(FiltroLancamentoDTO filtro, int pagina, int tamanho) {
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO)); // Entre 1 e o máximo permitido
+        int inicio = Math.max(pagina, 0) * limite; // Posição do primeiro item da página
+        List<LancamentoResponseDTO> resultado = new ArrayList<>(consultasFiltro.criarBusca(em, filtro)
+                .setFirstResult(inicio) // Pula as páginas anteriores
+                .setMaxResults(limite)
+                .getResultList());
+        if (resultado.size() == limite || !ArquivamentoService.precisaDoArquivo(filtro, arquivamento.corte())) {
+            return resultado; // Página completa só com os ativos (ou o filtro não alcança o arquivo)
         }
-        if (filtro.dataFinal() != null) { // Parâmetro dataFinal
-            jpql.append("AND l.dataVencimento <= :dataFinal "); // Parâmetro dataFinal
+
+        // A página termina no arquivo: continua de onde os ativos acabaram
+        long ativos = resultado.isEmpty()
+                ? consultasFiltro.criarContagem(em, filtro).getSingleResult() // Página inteira depois dos ativos
+                : inicio + resultado.size();
+        resultado.addAll(consultasFiltro.criarBuscaArquivo(em, filtro)
+                .setFirstResult((int) Math.max(inicio - ativos, 0))
+                .setMaxResults(limite - resultado.size())
+                .getResultList());
+        return resultado;
+    }
+
+    /**
+     * Percorre os lançamentos filtrados, entregando um por vez ao consumidor (exportação em CSV e filtro
+     * por texto de GET /lancamentos/filtro; os demais filtros são lidos por EscritorJsonLancamento).
+     * - Usa a consulta já compilada para o formato do filtro, com o resultado já como DTO.
+     * - Lida do banco em blocos (fetch size) com cursor só de avanço, então a memória usada não depende
+     *   da quantidade de linhas.
+     * - Também lê os lançamentos arquivados quando a faixa de datas começa antes do corte do arquivamento.
+     */
+    @Transactional(readOnly = true) // Mantém a conexão aberta enquanto o Stream é consumido
+    public void percorrerFiltro(FiltroLancamentoDTO filtro, Consumer<LancamentoResponseDTO> consumidor) {
+        for (TypedQuery<LancamentoResponseDTO> query : consultasDoFiltro(filtro)) { // Arquivo (se preciso) e tabela ativa
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_BLOCO_LEITURA); // Quantidade de linhas trazidas por ida ao banco
+            try (Stream<LancamentoResponseDTO> stream = query.getResultStream()) { // Fecha o cursor do banco ao final
+                stream.forEach(consumidor);
+            }
         }
-        if (filtro.tipo() != null && !filtro.tipo().isBlank()) {    // Parâmetro tipo
-            jpql.append("AND l.tipo = :tipo "); // Parâmetro tipo
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Resume os lançamentos filtrados, somando receitas e despesas no próprio banco.
+     * - Aceita os mesmos critérios de FiltroLancamentoDTO.
+     * - Agrupa por mês de vencimento, categoria e/ou pessoa (sem agrupamento: um único total).
+     * - Executa uma única consulta com SUM/COUNT e GROUP BY, sem trazer os lançamentos para a aplicação.
+     * - Quando o filtro alcança o arquivo (mesma regra de percorrerFiltro), a mesma agregação roda também sobre
+     *   lancamento_arquivo e os totais de cada grupo são somados aqui (no máximo uma linha por grupo em cada tabela).
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoLancamentoDTO> resumir(FiltroLancamentoDTO filtro, Set<AgrupamentoResumo> agrupamentos) { // Recebe o filtro e os agrupamentos desejados
+        boolean porMes = agrupamentos.contains(AgrupamentoResumo.MES);             // Agrupar por ano/mês
+        boolean porCategoria = agrupamentos.contains(AgrupamentoResumo.CATEGORIA); // Agrupar por categoria
+        boolean porPessoa = agrupamentos.contains(AgrupamentoResumo.PESSOA);       // Agrupar por pessoa
+
+        // Colunas do agrupamento (usadas no SELECT, GROUP BY e ORDER BY)
+        List<String> colunas = new ArrayList<>();
+        if (porMes) {
+            colunas.add("YEAR(l.dataVencimento)");
+            colunas.add("MONTH(l.dataVencimento)");
         }
-        if (filtro.idCategoria() != null) { // Parâmetro idCategoria
-            jpql.append("AND l.categoria.id = :idCategoria "); // Parâmetro idCategoria
+        if (porCategoria) {
+            colunas.add("c.id");
+            colunas.add("c.nome");
         }
-        if (filtro.idPessoa() != null) { // Parâmetro idPessoa
-            jpql.append("AND l.pessoa.id = :idPessoa "); // Parâmetro idPessoa
+        if (porPessoa) {
+            colunas.add("p.id");
+            colunas.add("p.nome");
         }
 
-        // Cria a TypedQuery com o JPQL montado
-        TypedQuery<Lancamento> query = em.createQuery(jpql.toString(), Lancamento.class); // Cria a consulta tipada
-
-        // Define os parâmetros se eles estiverem presentes
-        if (filtro.dataInicial() != null) { // Parâmetro dataInicial
-            query.setParameter("dataInicial", filtro.dataInicial()); // Define o parâmetro dataInicial
+        // Tabela ativa e, se o filtro alcançar o arquivo, lancamento_arquivo (mesmos apelidos l, c e p)
+        List<String> tabelas = new ArrayList<>(List.of("Lancamento"));
+        if (ArquivamentoService.precisaDoArquivo(filtro, arquivamento.corte())) {
+            tabelas.add("LancamentoArquivado");
         }
-        if (filtro.dataFinal() != null) {// Parâmetro dataFinal
-            query.setParameter("dataFinal", filtro.dataFinal()); // Define o parâmetro dataFinal
+
+        // Totais por grupo (valores das colunas do agrupamento), na ordem das colunas
+        Map<List<Object>, ResumoLancamentoDTO> grupos = new TreeMap<>(LancamentoService::compararGrupos);
+        for (String tabela : tabelas) {
+            for (Tuple linha : consultaResumo(tabela, colunas, filtro).getResultList()) {
+                List<Object> grupo = new ArrayList<>(colunas.size()); // Valores das colunas do agrupamento
+                for (int i = 0; i < colunas.size(); i++) {
+                    grupo.add(linha.get(i));
+                }
+                int i = colunas.size(); // Posição das colunas agregadas na linha
+                BigDecimal receitas = paraBigDecimal(linha.get(i++));
+                BigDecimal despesas = paraBigDecimal(linha.get(i++));
+                long quantidade = (Long) linha.get(i);
+                grupos.merge(grupo, resumo(grupo, porMes, porCategoria, porPessoa, receitas, despesas, quantidade),
+                        LancamentoService::somar); // Grupo presente nas duas tabelas: soma os totais
+            }
         }
-        if (filtro.tipo() != null && !filtro.tipo().isBlank()) {    // Parâmetro tipo
-            query.setParameter("tipo", TipoLancamento.valueOf(filtro.tipo().toUpperCase())); // Define o parâmetro tipo
+        return new ArrayList<>(grupos.values());
+    }
+
+    // Consulta de agregação (SUM/COUNT com GROUP BY) de uma tabela, com as condições do filtro
+    private TypedQuery<Tuple> consultaResumo(String tabela, List<String> colunas, FiltroLancamentoDTO filtro) {
+        int mascara = ConsultasFiltroLancamento.mascara(filtro); // Identifica quais campos do filtro estão preenchidos
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (String coluna : colunas) {
+            jpql.append(coluna).append(", ");
         }
-        if (filtro.idCategoria() != null) { // Parâmetro idCategoria
-            query.setParameter("idCategoria", filtro.idCategoria()); // Define o parâmetro idCategoria
+        jpql.append("SUM(CASE WHEN l.tipo = :receita THEN l.valor ELSE 0 END), ")  // Total de receitas
+            .append("SUM(CASE WHEN l.tipo = :despesa THEN l.valor ELSE 0 END), ")  // Total de despesas
+            .append("COUNT(l) ")                                                   // Quantidade de lançamentos
+            .append("FROM ").append(tabela).append(" l JOIN l.categoria c JOIN l.pessoa p WHERE 1 = 1 ")
+            .append(ConsultasFiltroLancamento.condicoes(mascara));
+        if (!colunas.isEmpty()) {
+            jpql.append("GROUP BY ").append(String.join(", ", colunas));
         }
-        if (filtro.idPessoa() != null) { // Parâmetro idPessoa
-            query.setParameter("idPessoa", filtro.idPessoa()); // Define o parâmetro idPessoa
+
+        TypedQuery<Tuple> query = em.createQuery(jpql.toString(), Tuple.class); // Cria a consulta tipada
+        query.setParameter("receita", TipoLancamento.RECEITA);
+        query.setParameter("despesa", TipoLancamento.DESPESA);
+        ConsultasFiltroLancamento.aplicarParametros(query, filtro, mascara); // Define os parâmetros do filtro
+        return query;
+    }
+
+    // Monta o DTO de resumo a partir dos valores das colunas do agrupamento (na ordem de resumir) e dos totais
+    private static ResumoLancamentoDTO resumo(List<Object> grupo, boolean porMes, boolean porCategoria, boolean porPessoa,
+                                              BigDecimal receitas, BigDecimal despesas, long quantidade) {
+        int i = 0; // Posição da coluna atual no grupo
+        Integer ano = porMes ? ((Number) grupo.get(i++)).intValue() : null;
+        Integer mes = porMes ? ((Number) grupo.get(i++)).intValue() : null;
+        Long idCategoria = porCategoria ? (Long) grupo.get(i++) : null;
+        String nomeCategoria = porCategoria ? (String) grupo.get(i++) : null;
+        Long idPessoa = porPessoa ? (Long) grupo.get(i++) : null;
+        String nomePessoa = porPessoa ? (String) grupo.get(i) : null;
+        return new ResumoLancamentoDTO(ano, mes, idCategoria, nomeCategoria, idPessoa, nomePessoa,
+                receitas, despesas, receitas.subtract(despesas), quantidade);
+    }
+
+    // Soma os totais do mesmo grupo vindos da tabela ativa e do arquivo
+    private static ResumoLancamentoDTO somar(ResumoLancamentoDTO a, ResumoLancamentoDTO b) {
+        BigDecimal receitas = a.totalReceitas().add(b.totalReceitas());
+        BigDecimal despesas = a.totalDespesas().add(b.totalDespesas());
+        return new ResumoLancamentoDTO(a.ano(), a.mes(), a.idCategoria(), a.nomeCategoria(), a.idPessoa(), a.nomePessoa(),
+                receitas, despesas, receitas.subtract(despesas), a.quantidade() + b.quantidade());
+    }
+
+    // Ordem dos grupos: coluna a coluna, como o ORDER BY das colunas do agrupamento
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compararGrupos(List<Object> a, List<Object> b) {
+        for (int i = 0; i < a.size(); i++) {
+            int comparacao = Comparator.nullsFirst(Comparator.<Comparable>naturalOrder())
+                    .compare((Comparable) a.get(i), (Comparable) b.get(i));
+            if (comparacao != 0) {
+                return comparacao;
+            }
         }
+        return 0;
+    }
 
-        // Executa a consulta e retorna os resultados
-        return query.getResultList(); // Retorna a lista de lançamentos filtrados
+    // Converte o resultado de um SUM para BigDecimal (o banco retorna nulo quando não há linhas)
+    private static BigDecimal paraBigDecimal(Object valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        return valor instanceof BigDecimal b ? b : new BigDecimal(valor.toString());
     }
 }
 
@@ -0,0 +1,136 @@
+package br.edu.uniesp.financeiro.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Leitor de extrato bancário em CSV.
+ * - Lê uma linha por vez do arquivo (nunca o arquivo inteiro).
+ * - A primeira linha é o cabeçalho, com as colunas data, descricao e valor (observacao é opcional),
+ *   em qualquer ordem. O separador (";" ou ",") é identificado pelo cabeçalho.
+ * - Campos entre aspas podem conter o separador; aspas internas são escritas como "".
+ */
+class LeitorExtratoCsv implements Iterator<LinhaExtrato> {
+
+    private final BufferedReader leitor;    // Leitura linha a linha do arquivo
+    private final char separador;           // ";" ou ","
+    private final int colunaData;           // Posição da coluna data
+    private final int colunaDescricao;      // Posição da coluna descricao
+    private final int colunaValor;          // Posição da coluna valor
+    private final int colunaObservacao;     // Posição da coluna observacao (-1 se não existir)
+
+    private String proxima;                 // Próxima linha ainda não entregue
+    private long numero;                    // Quantidade de registros já entregues
+
+    LeitorExtratoCsv(Reader reader) {
+        this.leitor = new BufferedReader(reader);
+        String cabecalho = lerLinha();
+        if (cabecalho == null) {
+            throw new RuntimeException("Arquivo CSV vazio");
+        }
+        cabecalho = cabecalho.replace("﻿", ""); // Remove o BOM do UTF-8, se houver
+        this.separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> colunas = dividir(cabecalho).stream().map(LeitorExtratoCsv::normalizar).toList();
+        this.colunaData = colunas.indexOf("data");
+        this.colunaDescricao = colunas.indexOf("descricao");
+        this.colunaValor = colunas.indexOf("valor");
+        this.colunaObservacao = colunas.indexOf("observacao");
+        if (colunaData < 0 || colunaDescricao < 0 || colunaValor < 0) {
+            throw new RuntimeException("Cabeçalho do CSV deve conter as colunas data, descricao e valor");
+        }
+        avancar();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return proxima != null;
+    }
+
+    @Override
+    public LinhaExtrato next() {
+        if (proxima == null) {
+            throw new NoSuchElementException();
+        }
+        String linha = proxima;
+        long atual = ++numero;
+        avancar();
+
+        List<String> campos = dividir(linha);
+        try {
+            return new LinhaExtrato(atual,
+                    LinhaExtrato.lerData(campo(campos, colunaData)),
+                    campo(campos, colunaDescricao).trim(),
+                    LinhaExtrato.lerValor(campo(campos, colunaValor)),
+                    colunaObservacao >= 0 && colunaObservacao < campos.size() ? campos.get(colunaObservacao).trim() : null,
+                    null);
+        } catch (RuntimeException e) { // Data, valor ou colunas inválidos: rejeita só este registro
+            return LinhaExtrato.invalida(atual, "Registro inválido: " + e.getMessage());
+        }
+    }
+
+    // Lê a próxima linha não vazia
+    private void avancar() {
+        String linha;
+        do {
+            linha = lerLinha();
+        } while (linha != null && linha.isBlank());
+        proxima = linha;
+    }
+
+    private String lerLinha() {
+        try {
+            return leitor.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Campo obrigatório da linha
+    private static String campo(List<String> campos, int coluna) {
+        if (coluna >= campos.size()) {
+            throw new RuntimeException("coluna " + (coluna + 1) + " ausente");
+        }
+        return campos.get(coluna);
+    }
+
+    // Divide a linha pelo separador, respeitando campos entre aspas
+    private List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') { // Aspas escapadas ("")
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == separador && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    // Nome de coluna em minúsculas e sem acentos (ex: "Descrição" -> "descricao")
+    private static String normalizar(String coluna) {
+        return Normalizer.normalize(coluna.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
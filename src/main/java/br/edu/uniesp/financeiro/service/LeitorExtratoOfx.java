@@ -0,0 +1,136 @@
+package br.edu.uniesp.financeiro.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Leitor de extrato bancário em OFX.
+ * - Percorre o arquivo tag a tag, guardando na memória apenas a transação (STMTTRN) atual.
+ * - Aceita OFX 1.x (SGML, sem tags de fechamento nos campos) e OFX 2.x (XML).
+ * - Campos usados: DTPOSTED (data), TRNAMT (valor com sinal), MEMO ou NAME (descrição) e FITID (observação).
+ */
+class LeitorExtratoOfx implements Iterator<LinhaExtrato> {
+
+    private final PushbackReader leitor;    // Leitura caractere a caractere, podendo devolver o "<" da próxima tag
+    private LinhaExtrato proxima;           // Próxima transação ainda não entregue
+    private long numero;                    // Quantidade de transações já lidas
+
+    LeitorExtratoOfx(Reader reader) {
+        this.leitor = new PushbackReader(new BufferedReader(reader));
+        this.proxima = lerTransacao();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return proxima != null;
+    }
+
+    @Override
+    public LinhaExtrato next() {
+        if (proxima == null) {
+            throw new NoSuchElementException();
+        }
+        LinhaExtrato atual = proxima;
+        proxima = lerTransacao();
+        return atual;
+    }
+
+    // Lê as tags até o fim da próxima transação (ou do arquivo)
+    private LinhaExtrato lerTransacao() {
+        Map<String, String> campos = null; // Campos da transação atual (nulo fora de uma STMTTRN)
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                campos = new HashMap<>();
+            } else if (tag.equals("/STMTTRN") && campos != null) {
+                return montar(++numero, campos);
+            } else if (campos != null && !tag.startsWith("/")) {
+                String valor = texto().trim();
+                if (!valor.isEmpty()) {
+                    campos.put(tag, valor);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Converte os campos da transação em um registro do extrato
+    private static LinhaExtrato montar(long numero, Map<String, String> campos) {
+        try {
+            String data = campos.get("DTPOSTED");       // Ex: 20250105120000[-3:BRT]
+            String valor = campos.get("TRNAMT");        // Ex: -123.45
+            String descricao = campos.getOrDefault("MEMO", campos.get("NAME"));
+            if (data == null || valor == null || descricao == null) {
+                return LinhaExtrato.invalida(numero, "Transação sem DTPOSTED, TRNAMT ou MEMO/NAME");
+            }
+            String fitid = campos.get("FITID");
+            return new LinhaExtrato(numero,
+                    LocalDate.of(Integer.parseInt(data.substring(0, 4)),
+                            Integer.parseInt(data.substring(4, 6)),
+                            Integer.parseInt(data.substring(6, 8))),
+                    descricao,
+                    LinhaExtrato.lerValor(valor),
+                    fitid != null ? "FITID " + fitid : null,
+                    null);
+        } catch (RuntimeException e) { // Data ou valor inválidos: rejeita só esta transação
+            return LinhaExtrato.invalida(numero, "Transação inválida: " + e.getMessage());
+        }
+    }
+
+    // Avança até a próxima tag e retorna seu nome em maiúsculas (ex: "STMTTRN", "/STMTTRN"), ou null no fim do arquivo
+    private String proximaTag() {
+        int c;
+        while ((c = ler()) != -1 && c != '<') {
+            // Ignora o texto fora das tags (cabeçalho OFX 1.x, espaços e quebras de linha)
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder nome = new StringBuilder();
+        while ((c = ler()) != -1 && c != '>') {
+            nome.append((char) c);
+        }
+        return nome.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Lê o texto após a tag atual, até o início da próxima tag
+    private String texto() {
+        StringBuilder texto = new StringBuilder();
+        int c;
+        while ((c = ler()) != -1 && c != '<') {
+            texto.append((char) c);
+        }
+        if (c == '<') {
+            devolver(c); // O "<" pertence à próxima tag
+        }
+        return texto.toString()
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    private int ler() {
+        try {
+            return leitor.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void devolver(int c) {
+        try {
+            leitor.unread(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.uniesp.financeiro.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Registro lido de um extrato bancário (CSV ou OFX).
+ * - "numero" é a posição do registro no arquivo, começando em 1.
+ * - Quando o registro não pôde ser interpretado, "erro" traz o motivo e os demais campos podem ser nulos.
+ * - Valor negativo representa saída (despesa); positivo, entrada (receita).
+ */
+record LinhaExtrato(
+        long numero,            // Posição do registro no arquivo
+        LocalDate data,         // Data do movimento
+        String descricao,       // Histórico do movimento
+        BigDecimal valor,       // Valor com sinal
+        String observacao,      // Informação complementar (opcional)
+        String erro             // Motivo da rejeição na leitura (nulo se válido)
+) {
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Registro que não pôde ser interpretado
+    static LinhaExtrato invalida(long numero, String erro) {
+        return new LinhaExtrato(numero, null, null, null, null, erro);
+    }
+
+    // Converte valores como "1234.56", "-1.234,56" ou "R$ 10,00"
+    static BigDecimal lerValor(String texto) {
+        String valor = texto.trim().replace("R$", "").replace(" ", "");
+        if (valor.contains(",")) { // Formato brasileiro: ponto de milhar e vírgula decimal
+            valor = valor.replace(".", "").replace(',', '.');
+        }
+        return new BigDecimal(valor);
+    }
+
+    // Converte datas nos formatos AAAA-MM-DD ou DD/MM/AAAA
+    static LocalDate lerData(String texto) {
+        String data = texto.trim();
+        try {
+            return LocalDate.parse(data);
+        } catch (DateTimeParseException e) {
+            return LocalDate.parse(data, DATA_BR);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package br.edu.uniesp.financeiro.service;
 
 import br.edu.uniesp.financeiro.dto.PessoaRequestDTO;
+import br.edu.uniesp.financeiro.dto.VersaoRecursoDTO;
+import br.edu.uniesp.financeiro.entity.OperacaoAuditoria;
 import br.edu.uniesp.financeiro.entity.Pessoa;
 import br.edu.uniesp.financeiro.repository.PessoaRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,19 +20,22 @@ import java.util.List;
  * - Faz a ponte entre o controller (API) e o repositório (banco).
  */
 @Service // Indica que esta classe é um serviço gerenciado pelo Spring
+@Timed("financeiro.servico") // Mede o tempo de cada método público (métrica com as tags class e method)
 public class PessoaService {
 
     // Dependência do repositório, injetado pelo Spring via construtor
     private final PessoaRepository repository;
+    private final AuditoriaService auditoria; // Trilha de auditoria, gravada fora da requisição
 
     // -----------------------------||-------------------------------- \\ 
     
     /**
      * Construtor com injeção de dependência.
-     * - O Spring injeta automaticamente uma instância de PessoaRepository aqui.
+     * - O Spring injeta automaticamente uma instância de PessoaRepository e o serviço de auditoria aqui.
      */
-    public PessoaService(PessoaRepository repository) {
+    public PessoaService(PessoaRepository repository, AuditoriaService auditoria) {
         this.repository = repository;
+        this.auditoria = auditoria;
     }
 
     
@@ -39,7 +49,9 @@ public class PessoaService {
         p.setNome(dto.nome()); // Preenche os campos da entidade com os dados do DTO
         p.setAtivo(dto.ativo()); // Preenche o campo "ativo" da entidade com o dado do DTO
         p.setEndereco(dto.endereco()); // Preenche o campo "endereco" da entidade com o dado do DTO
-        return repository.save(p);  // Salva a entidade no banco e retorna a entidade persistida
+        Pessoa salva = repository.save(p);  // Salva a entidade no banco
+        auditoria.registrar(Pessoa.class, salva.getId(), OperacaoAuditoria.CRIACAO); // Registra a criação na auditoria
+        return salva; // Retorna a entidade persistida
     }
 
 
@@ -48,34 +60,69 @@ public class PessoaService {
     /**
      * Retorna a lista completa de pessoas cadastradas.
      */
+    @Transactional(readOnly = true) // Somente leitura: com réplica configurada, vai para a réplica
     public List<Pessoa> listar() {  // Retorna uma lista de pessoas
         return repository.findAll(); // Busca todas as pessoas no banco via repositório
     }
 
     // -----------------------------||-------------------------------- \\ 
 
+    /**
+     * Versão atual da lista de pessoas, usada como ETag de GET /pessoas.
+     * - Permite responder 304 sem buscar as pessoas.
+     */
+    @Transactional(readOnly = true)
+    public VersaoRecursoDTO versaoDaLista() {
+        return repository.buscarVersaoDaLista(); // Consulta agregada (COUNT/MAX/SUM)
+    }
+
+    // -----------------------------||-------------------------------- \\ 
+
     /**
      * Busca uma pessoa pelo ID.
      * - Se não encontrar, lança uma RuntimeException.
+     * - O resultado fica no cache "pessoas"; as próximas buscas pelo mesmo ID não vão ao banco.
      */
+    @Cacheable("pessoas") // Guarda a pessoa no cache, usando o ID como chave
+    @Transactional(readOnly = true)
     public Pessoa buscarPorId(Long id) { // Recebe o ID da pessoa como parâmetro
         return repository.findById(id)  // Busca a pessoa pelo ID no repositório
                 .orElseThrow(() -> new RuntimeException("Pessoa não encontrada"));  // Lança exceção se não encontrar
     }
 
+    /**
+     * Busca o estado gravado de uma pessoa, para respostas que entregam o ETag (GET /pessoas/{id} e 409).
+     * - Sem o cache "pessoas" nem o cache de segundo nível, que podem estar atrasados (ex: em outra instância).
+     * - Transação de escrita: com réplica configurada, lê do primário, e não da réplica atrasada.
+     */
+    @Transactional
+    public Pessoa buscarAtual(Long id) {
+        return repository.buscarAtual(id)
+                .orElseThrow(() -> new RuntimeException("Pessoa não encontrada"));  // Lança exceção se não encontrar
+    }
+
     // -----------------------------||-------------------------------- \\ 
 
     /**
      * Atualiza os dados de uma pessoa existente.
      * - Primeiro busca pelo ID, depois altera os campos e salva novamente.
+     * - versaoEsperada é o ETag enviado em If-Match (opcional): se a pessoa já mudou desde então,
+     *   nada é gravado e a resposta é 409. Alterações concorrentes também são barradas pelo @Version.
      */
-    public Pessoa atualizar(Long id, PessoaRequestDTO dto) { // Recebe o ID e o DTO como parâmetros
-        Pessoa p = buscarPorId(id); // Busca a pessoa existente pelo ID
+    @CacheEvict(cacheNames = "pessoas", key = "#id") // Remove a versão antiga do cache
+    @Transactional // Leitura e gravação na mesma transação (no primário, mesmo com réplica)
+    public Pessoa atualizar(Long id, PessoaRequestDTO dto, String versaoEsperada) { // Recebe o ID, o DTO e o ETag esperado
+        Pessoa p = buscarAtual(id); // Busca o estado gravado (o If-Match é comparado com a versão atual)
+        if (!VersaoRecursoDTO.de(p).atende(versaoEsperada)) { // O cliente partiu de uma versão antiga
+            throw new ObjectOptimisticLockingFailureException(Pessoa.class, id);
+        }
          // Atualiza os campos da entidade com os dados do DTO
         p.setNome(dto.nome());// Atualiza o nome
         p.setAtivo(dto.ativo()); // Atualiza o status ativo
         p.setEndereco(dto.endereco());// Atualiza o endereço
-        return repository.save(p);//  Salva a entidade atualizada no banco e retorna a entidade persistida
+        Pessoa salva = repository.save(p);//  Salva a entidade atualizada no banco
+        auditoria.registrar(Pessoa.class, id, OperacaoAuditoria.ALTERACAO); // Registra a alteração na auditoria
+        return salva; // Retorna a entidade persistida
     }
 
     // -----------------------------||-------------------------------- \\ 
@@ -83,8 +130,10 @@ public class PessoaService {
     /**
      * Exclui uma pessoa pelo ID.
      */
+    @CacheEvict(cacheNames = "pessoas", key = "#id") // Remove a pessoa do cache
     public void excluir(Long id) { // Recebe o ID da pessoa como parâmetro
         repository.deleteById(id);// Chama o repositório para excluir a pessoa pelo ID
+        auditoria.registrar(Pessoa.class, id, OperacaoAuditoria.EXCLUSAO); // Registra a exclusão na auditoria
     }
 }
 
@@ -0,0 +1,181 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.DivergenciaSaldoDTO;
+import br.edu.uniesp.financeiro.dto.SaldoAnualDTO;
+import br.edu.uniesp.financeiro.dto.SaldoMensalDTO;
+import br.edu.uniesp.financeiro.entity.Lancamento;
+import br.edu.uniesp.financeiro.entity.TipoLancamento;
+import br.edu.uniesp.financeiro.repository.SaldoMensalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serviço de SaldoMensal.
+ * - Mantém a tabela de saldos mensais (rollup) em dia com os lançamentos.
+ * - Chamado por LancamentoService dentro da mesma transação de salvar/atualizar/excluir.
+ * - As consultas de saldo leem O(meses) linhas em vez de percorrer todos os lançamentos.
+ */
+@Service // Indica que esta classe é um serviço gerenciado pelo Spring
+public class SaldoMensalService {
+
+    private final SaldoMensalRepository repository; // Dependência do repositório, injetado pelo Spring via construtor
+
+    public SaldoMensalService(SaldoMensalRepository repository) { // Construtor com injeção de dependência
+        this.repository = repository;
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Dados de um lançamento que afetam o saldo mensal.
+     * - Guardados antes de uma atualização para estornar os valores antigos.
+     */
+    public record Movimento(Long idPessoa, Long idCategoria, TipoLancamento tipo, LocalDate dataVencimento, BigDecimal valor) {
+
+        // Extrai os dados do lançamento (os IDs das relações não disparam a carga de pessoa/categoria)
+        public static Movimento de(Lancamento l) {
+            return new Movimento(l.getPessoa().getId(), l.getCategoria().getId(), l.getTipo(), l.getDataVencimento(), l.getValor());
+        }
+
+        // Mês de vencimento no formato AAAAMM
+        int anoMes() {
+            return dataVencimento.getYear() * 100 + dataVencimento.getMonthValue();
+        }
+
+        // Indica se dois movimentos caem no mesmo saldo (mesma pessoa, mês, categoria e tipo)
+        boolean mesmoGrupo(Movimento outro) {
+            return Objects.equals(idPessoa, outro.idPessoa) && anoMes() == outro.anoMes()
+                    && Objects.equals(idCategoria, outro.idCategoria) && tipo == outro.tipo;
+        }
+
+        // Chave do saldo afetado por este movimento
+        Grupo grupo() {
+            return new Grupo(idPessoa, anoMes(), idCategoria, tipo);
+        }
+    }
+
+    // Chave de uma linha de saldo_mensal, usada para acumular os movimentos de um lote
+    private record Grupo(Long idPessoa, int anoMes, Long idCategoria, TipoLancamento tipo) { }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Soma um novo lançamento ao saldo do seu mês.
+     */
+    @Transactional(propagation = Propagation.MANDATORY) // Só pode rodar dentro da transação do lançamento
+    public void registrar(Movimento movimento) {
+        somar(movimento, movimento.valor(), 1);
+    }
+
+    /**
+     * Soma vários lançamentos novos aos saldos.
+     * - Acumula os valores por grupo na memória e faz uma única escrita por grupo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLote(List<Movimento> movimentos) {
+        Map<Grupo, BigDecimal> totais = new HashMap<>();     // Soma dos valores por grupo
+        Map<Grupo, Long> quantidades = new HashMap<>();      // Quantidade de lançamentos por grupo
+        for (Movimento movimento : movimentos) {
+            Grupo grupo = movimento.grupo();
+            totais.merge(grupo, movimento.valor(), BigDecimal::add);
+            quantidades.merge(grupo, 1L, Long::sum);
+        }
+        totais.forEach((grupo, total) -> repository.somar(grupo.idPessoa(), grupo.anoMes(), grupo.idCategoria(),
+                grupo.tipo().name(), total, quantidades.get(grupo)));
+    }
+
+    /**
+     * Retira um lançamento excluído do saldo do seu mês.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornar(Movimento movimento) {
+        somar(movimento, movimento.valor().negate(), -1);
+    }
+
+    /**
+     * Aplica a alteração de um lançamento: estorna os valores antigos e soma os novos.
+     * - Se o grupo não mudou, aplica só a diferença de valor em uma única escrita.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void atualizar(Movimento antes, Movimento depois) {
+        if (antes.mesmoGrupo(depois)) { // Mesmo saldo: só a diferença de valor
+            BigDecimal diferenca = depois.valor().subtract(antes.valor());
+            if (diferenca.signum() != 0) {
+                somar(depois, diferenca, 0);
+            }
+            return;
+        }
+        estornar(antes);    // Retira do saldo antigo
+        registrar(depois);  // Soma no saldo novo
+    }
+
+    // Grava a diferença no banco (upsert)
+    private void somar(Movimento movimento, BigDecimal total, long quantidade) {
+        repository.somar(movimento.idPessoa(), movimento.anoMes(), movimento.idCategoria(),
+                movimento.tipo().name(), total, quantidade);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Consulta o saldo de uma pessoa no ano, lendo apenas a tabela de saldos mensais.
+     */
+    @Transactional(readOnly = true)
+    public SaldoAnualDTO consultarAno(Long idPessoa, int ano) { // Recebe a pessoa e o ano
+        List<SaldoMensalDTO> meses = repository.buscarPorPessoa(idPessoa, ano * 100 + 1, ano * 100 + 12)
+                .stream()
+                .map(SaldoMensalDTO::new) // Converte cada saldo para DTO
+                .toList();
+
+        BigDecimal receitas = BigDecimal.ZERO;
+        BigDecimal despesas = BigDecimal.ZERO;
+        for (SaldoMensalDTO mes : meses) { // Soma os meses do ano por tipo
+            if (mes.tipo() == TipoLancamento.RECEITA) {
+                receitas = receitas.add(mes.total());
+            } else {
+                despesas = despesas.add(mes.total());
+            }
+        }
+        return new SaldoAnualDTO(idPessoa, ano, receitas, despesas, receitas.subtract(despesas), meses);
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    /**
+     * Reconstrói a tabela de saldos do zero a partir dos lançamentos.
+     * - Útil após cargas feitas direto no banco ou quando a verificação encontrar divergências.
+     */
+    @Transactional
+    public void reconstruir() {
+        repository.apagarTodos();      // Apaga os saldos atuais
+        repository.recalcularTodos();  // Recalcula a partir dos lançamentos
+    }
+
+    /**
+     * Verifica a consistência dos saldos, comparando com os totais calculados dos lançamentos.
+     * - Retorna apenas os grupos divergentes (lista vazia = tabela consistente).
+     */
+    @Transactional(readOnly = true)
+    public List<DivergenciaSaldoDTO> verificar() {
+        return repository.buscarDivergencias()
+                .stream()
+                .map(linha -> new DivergenciaSaldoDTO(
+                        ((Number) linha[0]).longValue(),    // id_pessoa
+                        ((Number) linha[1]).intValue(),     // ano_mes
+                        ((Number) linha[2]).longValue(),    // id_categoria
+                        (String) linha[3],                  // tipo
+                        new BigDecimal(linha[4].toString()),// total gravado
+                        ((Number) linha[5]).longValue(),    // quantidade gravada
+                        new BigDecimal(linha[6].toString()),// total calculado
+                        ((Number) linha[7]).longValue()))   // quantidade calculada
+                .toList();
+    }
+}
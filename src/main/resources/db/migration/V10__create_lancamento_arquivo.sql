@@ -0,0 +1,46 @@
+--
+-- Arquivo de migration do Flyway
+-- V10__create_lancamento_arquivo.sql: separação entre lançamentos ativos e arquivados.
+--
+-- Quase todas as consultas usam os últimos 13 meses de data_vencimento. O particionamento
+-- por faixa (PARTITION BY RANGE) não é possível na tabela lancamento: o InnoDB não aceita
+-- chaves estrangeiras nem índices FULLTEXT em tabelas particionadas. Em vez disso, os
+-- períodos encerrados são movidos (ArquivamentoService) para lancamento_arquivo, uma tabela
+-- compactada e sem FKs; a tabela lancamento e seus índices ficam do tamanho do período ativo.
+--
+
+CREATE TABLE lancamento_arquivo (
+    id BIGINT PRIMARY KEY,                 -- Mesmo ID da tabela lancamento
+    descricao VARCHAR(255) NOT NULL,       -- Descrição do lançamento
+    data_vencimento DATE NOT NULL,         -- Data de vencimento do lançamento
+    data_pagamento DATE,                   -- Data em que foi efetivamente pago (pode ser nula)
+    valor DECIMAL(10,2) NOT NULL,          -- Valor monetário do lançamento
+    observacao TEXT,                       -- Campo livre para observações
+    tipo VARCHAR(20) NOT NULL,             -- Tipo de lançamento (RECEITA ou DESPESA)
+    id_categoria BIGINT NOT NULL,          -- Categoria (sem FK)
+    id_pessoa BIGINT NOT NULL,             -- Pessoa (sem FK)
+    versao BIGINT NOT NULL,                -- Versão no momento do arquivamento
+    atualizado_em DATETIME(6) NOT NULL     -- Última alteração antes do arquivamento
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;  -- Páginas compactadas: o arquivo é lido pouco e cresce sempre
+
+-- Mesmos índices do filtro da tabela ativa (V2), exceto o de tipo, pouco seletivo no arquivo
+CREATE INDEX idx_lancamento_arquivo_vencimento
+    ON lancamento_arquivo (data_vencimento, id);
+
+CREATE INDEX idx_lancamento_arquivo_pessoa_vencimento
+    ON lancamento_arquivo (id_pessoa, data_vencimento);
+
+CREATE INDEX idx_lancamento_arquivo_categoria_vencimento
+    ON lancamento_arquivo (id_categoria, data_vencimento);
+
+-- Filtro por texto (mesma função match_against da tabela ativa, V7)
+CREATE FULLTEXT INDEX ft_lancamento_arquivo_texto
+    ON lancamento_arquivo (descricao, observacao);
+
+-- Execuções do arquivamento; o maior corte limita as consultas que precisam ler o arquivo
+CREATE TABLE lancamento_arquivamento (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,  -- Chave primária auto incremento
+    corte DATE NOT NULL,                   -- Lançamentos vencidos antes desta data foram arquivados
+    movidos BIGINT NOT NULL,               -- Lançamentos movidos na execução
+    executado_em DATETIME(6) NOT NULL      -- Início da execução
+);
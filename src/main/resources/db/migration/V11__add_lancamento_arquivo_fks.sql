@@ -0,0 +1,25 @@
+--
+-- Arquivo de migration do Flyway
+-- V11__add_lancamento_arquivo_fks.sql: chaves estrangeiras de lancamento_arquivo.
+--
+-- As leituras do arquivo (filtro, exportação, resumo, busca) fazem JOIN com pessoa e categoria;
+-- sem as FKs, excluir uma pessoa ou categoria referenciada só por lançamentos arquivados era
+-- aceito e esses lançamentos sumiam das consultas. Com as FKs, a exclusão é recusada pelo banco,
+-- como já acontece com os lançamentos ativos (V1). Os índices da V10 que começam por id_pessoa e
+-- id_categoria atendem às FKs.
+--
+-- Se a migration falhar, há lançamentos arquivados de pessoas ou categorias já excluídas:
+--   SELECT a.id FROM lancamento_arquivo a LEFT JOIN pessoa p ON p.id = a.id_pessoa WHERE p.id IS NULL;
+--   SELECT a.id FROM lancamento_arquivo a LEFT JOIN categoria c ON c.id = a.id_categoria WHERE c.id IS NULL;
+--
+
+ALTER TABLE lancamento_arquivo
+    -- Cria a foreign key para a tabela categoria
+    ADD CONSTRAINT fk_lancamento_arquivo_categoria
+        FOREIGN KEY (id_categoria)
+        REFERENCES categoria (id),
+
+    -- Cria a foreign key para a tabela pessoa
+    ADD CONSTRAINT fk_lancamento_arquivo_pessoa
+        FOREIGN KEY (id_pessoa)
+        REFERENCES pessoa (id);
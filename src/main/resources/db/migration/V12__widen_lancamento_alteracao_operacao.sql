@@ -0,0 +1,11 @@
+--
+-- Arquivo de migration do Flyway
+-- V12__widen_lancamento_alteracao_operacao.sql: operação ARQUIVAMENTO no feed de alterações.
+--
+-- O arquivamento (ArquivamentoService) registra no outbox cada lançamento movido para
+-- lancamento_arquivo, para que os clientes de GET /lancamentos/changes saibam que ele saiu da
+-- tabela ativa. O nome da operação tem 12 caracteres, então a coluna passa de 10 para 12.
+--
+
+ALTER TABLE lancamento_alteracao
+    MODIFY operacao VARCHAR(12) NOT NULL;   -- CRIACAO, ALTERACAO, EXCLUSAO ou ARQUIVAMENTO
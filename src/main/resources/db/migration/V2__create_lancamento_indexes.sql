@@ -0,0 +1,24 @@
+--
+-- Arquivo de migration do Flyway
+-- V2__create_lancamento_indexes.sql: índices para o filtro de lançamentos (/lancamentos/filtro)
+-- e para a listagem por cursor (/lancamentos/pagina).
+--
+-- O filtro sempre pode receber uma faixa de data_vencimento, então cada índice termina
+-- em data_vencimento: a igualdade vem primeiro e a faixa de datas depois.
+--
+
+-- Faixa de datas sem outros filtros e paginação por cursor (ORDER BY data_vencimento, id)
+CREATE INDEX idx_lancamento_vencimento
+    ON lancamento (data_vencimento, id);
+
+-- Filtro por pessoa (+ faixa de datas)
+CREATE INDEX idx_lancamento_pessoa_vencimento
+    ON lancamento (id_pessoa, data_vencimento);
+
+-- Filtro por categoria (+ faixa de datas)
+CREATE INDEX idx_lancamento_categoria_vencimento
+    ON lancamento (id_categoria, data_vencimento);
+
+-- Filtro por tipo RECEITA/DESPESA (+ faixa de datas)
+CREATE INDEX idx_lancamento_tipo_vencimento
+    ON lancamento (tipo, data_vencimento);
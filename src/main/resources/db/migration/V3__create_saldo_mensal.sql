@@ -0,0 +1,31 @@
+--
+-- Arquivo de migration do Flyway
+-- V3__create_saldo_mensal.sql: tabela de saldos mensais (rollup) dos lançamentos.
+--
+-- Cada linha guarda a soma e a quantidade de lançamentos de uma pessoa, categoria e tipo
+-- em um mês de vencimento. É atualizada na mesma transação de LancamentoService
+-- (salvar/atualizar/excluir), aplicando a diferença (delta) de cada alteração.
+--
+
+CREATE TABLE saldo_mensal (
+    id_pessoa BIGINT NOT NULL,             -- Pessoa dos lançamentos
+    ano_mes INT NOT NULL,                  -- Mês de vencimento no formato AAAAMM (ex: 202501)
+    id_categoria BIGINT NOT NULL,          -- Categoria dos lançamentos
+    tipo VARCHAR(20) NOT NULL,             -- Tipo de lançamento (RECEITA ou DESPESA)
+    total DECIMAL(19,2) NOT NULL,          -- Soma dos valores
+    quantidade BIGINT NOT NULL,            -- Quantidade de lançamentos
+
+    -- Pessoa + mês no início da chave: consultas do ano de uma pessoa leem uma faixa contínua
+    PRIMARY KEY (id_pessoa, ano_mes, id_categoria, tipo)
+);
+
+-- Carga inicial a partir dos lançamentos já existentes
+INSERT INTO saldo_mensal (id_pessoa, ano_mes, id_categoria, tipo, total, quantidade)
+SELECT id_pessoa,
+       YEAR(data_vencimento) * 100 + MONTH(data_vencimento),
+       id_categoria,
+       tipo,
+       SUM(valor),
+       COUNT(*)
+FROM lancamento
+GROUP BY id_pessoa, YEAR(data_vencimento) * 100 + MONTH(data_vencimento), id_categoria, tipo;
@@ -0,0 +1,17 @@
+--
+-- Arquivo de migration do Flyway
+-- V4__create_id_gerador.sql: tabela geradora de IDs de lançamento.
+--
+-- Com AUTO_INCREMENT (IDENTITY) o Hibernate precisa executar cada INSERT na hora para
+-- descobrir o ID, o que impede o envio dos INSERTs em lote (JDBC batch).
+-- Com esta tabela o Hibernate reserva blocos de 50 IDs de uma vez e monta os lotes.
+--
+
+CREATE TABLE id_gerador (
+    nome VARCHAR(64) PRIMARY KEY,          -- Nome do gerador (ex: lancamento)
+    proximo BIGINT NOT NULL                -- Fim do próximo bloco de IDs a ser reservado
+);
+
+-- O primeiro bloco reservado começa logo após o maior ID já existente
+INSERT INTO id_gerador (nome, proximo)
+SELECT 'lancamento', COALESCE(MAX(id), 0) + 50 FROM lancamento;
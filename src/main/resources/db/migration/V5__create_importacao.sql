@@ -0,0 +1,29 @@
+--
+-- Arquivo de migration do Flyway
+-- V5__create_importacao.sql: controle das importações de extratos bancários (CSV/OFX).
+--
+-- Cada bloco de lançamentos importado é gravado na mesma transação que avança
+-- linhas_processadas, então uma importação interrompida pode ser retomada desse ponto.
+--
+
+CREATE TABLE importacao (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,  -- Chave primária auto incremento
+    formato VARCHAR(10) NOT NULL,          -- Formato do arquivo (CSV ou OFX)
+    id_pessoa BIGINT NOT NULL,             -- Pessoa atribuída aos lançamentos importados
+    id_categoria BIGINT NOT NULL,          -- Categoria atribuída aos lançamentos importados
+    status VARCHAR(20) NOT NULL,           -- EM_ANDAMENTO, CONCLUIDA ou FALHOU
+    linhas_processadas BIGINT NOT NULL,    -- Registros do arquivo já gravados (ponto de retomada)
+    inseridos BIGINT NOT NULL,             -- Lançamentos criados
+    rejeitados BIGINT NOT NULL,            -- Registros rejeitados na validação
+    mensagem VARCHAR(500),                 -- Motivo da falha, quando houver
+    iniciado_em DATETIME NOT NULL,         -- Início da importação
+    atualizado_em DATETIME NOT NULL,       -- Último bloco gravado
+
+    CONSTRAINT fk_importacao_pessoa
+        FOREIGN KEY (id_pessoa)
+        REFERENCES pessoa (id),
+
+    CONSTRAINT fk_importacao_categoria
+        FOREIGN KEY (id_categoria)
+        REFERENCES categoria (id)
+);
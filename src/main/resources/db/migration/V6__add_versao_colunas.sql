@@ -0,0 +1,21 @@
+--
+-- Arquivo de migration do Flyway
+-- V6__add_versao_colunas.sql: controle de versão de lançamentos, pessoas e categorias.
+--
+-- versao: incrementada pelo Hibernate (@Version) a cada alteração.
+-- atualizado_em: data/hora (UTC) da última alteração.
+-- As duas colunas formam o ETag e o Last-Modified das respostas, permitindo responder
+-- 304 (Not Modified) sem carregar os registros.
+--
+
+ALTER TABLE pessoa
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN atualizado_em DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE categoria
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN atualizado_em DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE lancamento
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN atualizado_em DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
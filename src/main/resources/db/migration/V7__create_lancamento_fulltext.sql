@@ -0,0 +1,11 @@
+--
+-- Arquivo de migration do Flyway
+-- V7__create_lancamento_fulltext.sql: índice FULLTEXT para a busca textual de lançamentos.
+--
+-- Um LIKE '%texto%' não usa índice e percorre a tabela inteira; o índice FULLTEXT (InnoDB)
+-- guarda as palavras de descricao e observacao e responde MATCH ... AGAINST com relevância.
+-- A consulta precisa usar as mesmas colunas do índice, na mesma ordem (ver FuncoesBancoContributor).
+--
+
+CREATE FULLTEXT INDEX ft_lancamento_texto
+    ON lancamento (descricao, observacao);
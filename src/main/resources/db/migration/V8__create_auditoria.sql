@@ -0,0 +1,20 @@
+--
+-- Arquivo de migration do Flyway
+-- V8__create_auditoria.sql: trilha de auditoria das criações, alterações e exclusões
+-- de lançamentos, pessoas e categorias.
+--
+-- Tabela só de inserção, gravada em lote por uma thread de fundo (AuditoriaService),
+-- sem chaves estrangeiras: o registro continua existindo após a exclusão do original.
+--
+
+CREATE TABLE auditoria (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,  -- Chave primária auto incremento (ordem de gravação)
+    entidade VARCHAR(30) NOT NULL,         -- Lancamento, Pessoa ou Categoria
+    id_registro BIGINT NOT NULL,           -- ID do registro alterado
+    operacao VARCHAR(10) NOT NULL,         -- CRIACAO, ALTERACAO ou EXCLUSAO
+    ocorrido_em DATETIME(6) NOT NULL       -- Momento da alteração (UTC)
+);
+
+-- Histórico de um registro (GET /auditoria/{entidade}/{id})
+CREATE INDEX idx_auditoria_registro
+    ON auditoria (entidade, id_registro, id);
@@ -0,0 +1,18 @@
+--
+-- Arquivo de migration do Flyway
+-- V9__create_lancamento_alteracao.sql: outbox das alterações de lançamentos, lida pelo
+-- feed GET /lancamentos/changes?since=<sequencia>.
+--
+-- As linhas são gravadas na mesma transação da alteração. A sequência vem do gerador
+-- 'lancamento_alteracao' em id_gerador, reservado no fim da transação: o bloqueio da linha
+-- do gerador até o commit garante que as sequências fiquem visíveis em ordem crescente.
+--
+
+CREATE TABLE lancamento_alteracao (
+    sequencia BIGINT PRIMARY KEY,          -- Posição no feed (crescente na ordem de commit)
+    id_lancamento BIGINT NOT NULL,         -- Lançamento alterado (sem FK: pode ter sido excluído)
+    operacao VARCHAR(10) NOT NULL,         -- CRIACAO, ALTERACAO ou EXCLUSAO
+    ocorrido_em DATETIME(6) NOT NULL       -- Momento da alteração (UTC)
+);
+
+INSERT INTO id_gerador (nome, proximo) VALUES ('lancamento_alteracao', 0);
@@ -0,0 +1,75 @@
+package br.edu.uniesp.financeiro;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tempo de subida do contexto e da primeira requisição (GET /categorias) com o perfil producao.
+ * - Perfis embarcado + producao: inicialização preguiçosa e Hibernate sem metadados do banco, sobre o H2; o
+ *   esquema vem do Hibernate (ddl-auto=create), pois as migrations do Flyway são próprias do MySQL.
+ * - A subida é a informada pelo Spring ("Started ... in"); a primeira requisição inclui os beans que a
+ *   inicialização preguiçosa deixou para o primeiro uso.
+ * - Os tempos vão para o log do teste. Sem AOT e CDS, que dependem do jar empacotado: para comparar todos os
+ *   modos, ver scripts/medir-inicializacao.sh.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"financeiro.auditoria.arquivo=target/teste-auditoria-pendente.log",
+                "spring.jpa.hibernate.ddl-auto=create"}) // O perfil producao usa none (esquema do Flyway)
+@ActiveProfiles({"embarcado", "producao"})
+class InicializacaoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InicializacaoTest.class);
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private Subida subida;
+
+    @Test
+    void registraSubidaEPrimeiraRequisicao() {
+        long inicio = System.nanoTime();
+        ResponseEntity<String> resposta = rest.getForEntity("/categorias", String.class);
+        Duration primeira = Duration.ofNanos(System.nanoTime() - inicio);
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(subida.tempo).isNotNull();
+        log.info("Subida do contexto: {} ms; primeira requisição (GET /categorias): {} ms",
+                subida.tempo.toMillis(), primeira.toMillis());
+    }
+
+    // Guarda o tempo de subida informado pelo Spring ao fim da inicialização do contexto
+    static class Subida implements ApplicationListener<ApplicationStartedEvent> {
+
+        private Duration tempo;
+
+        @Override
+        public void onApplicationEvent(ApplicationStartedEvent evento) {
+            tempo = evento.getTimeTaken();
+        }
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        Subida subida() {
+            return new Subida();
+        }
+    }
+}
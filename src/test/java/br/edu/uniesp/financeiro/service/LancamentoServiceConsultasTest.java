@@ -0,0 +1,172 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import br.edu.uniesp.financeiro.dto.LancamentoResponseDTO;
+import br.edu.uniesp.financeiro.dto.PaginaLancamentoDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de comandos SQL das leituras de lançamentos (regressão de N+1).
+ * - Cada lançamento tem uma categoria e uma pessoa diferentes: se a categoria ou a pessoa voltassem a ser
+ *   carregadas por linha, cada chamada faria um SELECT a mais por lançamento.
+ * - O filtro é chamado como em GET /lancamentos/filtro (EscritorJsonLancamento): SQL direto para os filtros
+ *   sem texto, named query (LancamentoService.percorrerFiltro) para o filtro com texto.
+ * - Conta os comandos na camada JDBC (ContadorSql, métrica financeiro.sql.comandos), então entram tanto as
+ *   consultas do Hibernate quanto as do JdbcTemplate.
+ * - Banco H2 do perfil embarcado. O corte do arquivamento fica em memória (ArquivamentoService) e não conta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"financeiro.auditoria.arquivo=target/teste-auditoria-pendente.log",
+                "financeiro.arquivo.recarga-corte-ms=3600000"}) // Sem releitura agendada do corte: só as consultas do teste são contadas
+@ActiveProfiles("embarcado")
+class LancamentoServiceConsultasTest {
+
+    private static final int LANCAMENTOS = 20; // Um por categoria e por pessoa
+    private static final LocalDate INICIO = LocalDate.now().withDayOfMonth(1);
+
+    @Autowired
+    private LancamentoService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EscritorJsonLancamento escritorJson;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ArquivamentoService arquivamento;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private double comandosAntes; // financeiro.sql.comandos ao fim da preparação
+
+    @BeforeEach
+    void preparar() {
+        jdbc.update("DELETE FROM lancamento_arquivamento");
+        jdbc.update("DELETE FROM lancamento");
+        jdbc.update("DELETE FROM pessoa");
+        jdbc.update("DELETE FROM categoria");
+        List<Object[]> categorias = new ArrayList<>();
+        List<Object[]> pessoas = new ArrayList<>();
+        List<Object[]> lancamentos = new ArrayList<>();
+        for (long i = 1; i <= LANCAMENTOS; i++) {
+            categorias.add(new Object[]{i, "Categoria " + i});
+            pessoas.add(new Object[]{i, "Pessoa " + i});
+            lancamentos.add(new Object[]{i, "Lançamento " + i, INICIO.plusDays(i), i * 10, i % 2 == 0 ? "RECEITA" : "DESPESA", i, i});
+        }
+        jdbc.batchUpdate("INSERT INTO categoria (id, nome, versao, atualizado_em) VALUES (?, ?, 0, CURRENT_TIMESTAMP)", categorias);
+        jdbc.batchUpdate("INSERT INTO pessoa (id, nome, ativo, logradouro, numero, bairro, cep, cidade, estado, versao, " +
+                "atualizado_em) VALUES (?, ?, TRUE, 'Rua A', '1', 'Centro', '58000-000', 'João Pessoa', 'PB', 0, " +
+                "CURRENT_TIMESTAMP)", pessoas);
+        jdbc.batchUpdate("INSERT INTO lancamento (id, descricao, data_vencimento, valor, tipo, id_categoria, id_pessoa, " +
+                "versao, atualizado_em) VALUES (?, ?, ?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)", lancamentos);
+
+        arquivamento.recarregarCorte(); // Nada arquivado
+        emf.getCache().evictAll(); // Categorias e pessoas fora do cache de segundo nível: um N+1 iria ao banco
+        comandosAntes = comandosExecutados();
+    }
+
+    // Total de comandos SQL executados na aplicação (todos os tipos)
+    private double comandosExecutados() {
+        return registry.find("financeiro.sql.comandos").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private double comandos() {
+        return comandosExecutados() - comandosAntes;
+    }
+
+    // Resposta de GET /lancamentos/filtro para o filtro
+    private JsonNode filtrar(FiltroLancamentoDTO filtro) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+            escritorJson.escreverFiltro(filtro, gerador);
+        }
+        return objectMapper.readTree(saida.toByteArray());
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Test
+    void filtroFazUmaConsulta() throws IOException {
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(INICIO, null, null, null, null, null);
+
+        JsonNode lancamentos = filtrar(filtro);
+
+        assertThat(lancamentos).hasSize(LANCAMENTOS)
+                .allSatisfy(l -> assertThat(l.get("nomePessoa").isNull()).isFalse());
+        assertThat(comandos()).isEqualTo(1); // Só a tabela ativa
+    }
+
+    @Test
+    void filtroComArquivoFazUmaConsultaPorTabela() throws IOException {
+        jdbc.update("INSERT INTO lancamento_arquivamento (id, corte, movidos, executado_em) VALUES (1, ?, 0, CURRENT_TIMESTAMP)",
+                INICIO.minusYears(1));
+        arquivamento.recarregarCorte();
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(null, null, "despesa", null, null, null); // Sem data inicial: lê também o arquivo
+        comandosAntes = comandosExecutados();
+
+        JsonNode lancamentos = filtrar(filtro);
+
+        assertThat(lancamentos).hasSize(LANCAMENTOS / 2);
+        assertThat(comandos()).isEqualTo(2); // Arquivo + tabela ativa
+    }
+
+    @Test
+    void filtroPorTextoUsaUmaConsultaRegistrada() throws IOException {
+        FiltroLancamentoDTO filtro = new FiltroLancamentoDTO(INICIO, null, null, null, null, "Lançamento");
+
+        JsonNode lancamentos = filtrar(filtro);
+
+        assertThat(lancamentos).hasSize(LANCAMENTOS)
+                .allSatisfy(l -> assertThat(l.get("nomeCategoria").isNull()).isFalse());
+        assertThat(comandos()).isEqualTo(1); // Só a tabela ativa
+    }
+
+    @Test
+    void listarPaginaFazUmaConsultaPorPagina() {
+        PaginaLancamentoDTO primeira = service.listarPagina(null, LANCAMENTOS / 2);
+        PaginaLancamentoDTO segunda = service.listarPagina(primeira.next(), LANCAMENTOS / 2);
+
+        assertThat(primeira.itens()).hasSize(LANCAMENTOS / 2)
+                .allSatisfy(l -> assertThat(l.nomeCategoria()).isNotNull());
+        assertThat(segunda.itens()).hasSize(LANCAMENTOS / 2);
+        assertThat(comandos()).isEqualTo(2);
+    }
+
+    @Test
+    void buscarRespostaFazUmaConsulta() {
+        LancamentoResponseDTO lancamento = service.buscarResposta(7L);
+
+        assertThat(lancamento.nomeCategoria()).isEqualTo("Categoria 7");
+        assertThat(lancamento.nomePessoa()).isEqualTo("Pessoa 7");
+        assertThat(comandos()).isEqualTo(1);
+    }
+}
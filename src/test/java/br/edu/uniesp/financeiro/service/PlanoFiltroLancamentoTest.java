@@ -0,0 +1,68 @@
+package br.edu.uniesp.financeiro.service;
+
+import br.edu.uniesp.financeiro.dto.FiltroLancamentoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plano de execução (EXPLAIN) de cada formato do filtro de lançamentos (GET /lancamentos/filtro).
+ * - Usa o SQL que o endpoint executa (EscritorJsonLancamento) e os índices da migration V2, aplicada ao H2.
+ * - Falha se algum dos 31 formatos com filtro ler a tabela lancamento inteira (tableScan).
+ * - O formato sem filtro (máscara 0) é a listagem completa e não entra.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"financeiro.auditoria.arquivo=target/teste-auditoria-pendente.log",
+                "financeiro.arquivo.recarga-corte-ms=3600000"}) // Igual a LancamentoServiceConsultasTest: um só contexto
+@ActiveProfiles("embarcado")
+class PlanoFiltroLancamentoTest {
+
+    private static final String MIGRATION_INDICES = "db/migration/V2__create_lancamento_indexes.sql";
+
+    // Todos os campos preenchidos; cada máscara usa só os seus
+    private static final FiltroLancamentoDTO FILTRO = new FiltroLancamentoDTO(LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 1, 31), "receita", 3L, 7L, null);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void criarIndices() {
+        Integer existentes = jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.indexes " +
+                "WHERE LOWER(index_name) = 'idx_lancamento_vencimento'", Integer.class);
+        if (existentes == null || existentes == 0) { // O esquema do perfil embarcado vem das entidades, sem as migrations
+            new ResourceDatabasePopulator(new ClassPathResource(MIGRATION_INDICES)).execute(dataSource);
+        }
+    }
+
+    // -----------------------------||-------------------------------- \\
+
+    @Test
+    void nenhumFormatoDoFiltroLeATabelaInteira() {
+        List<String> semIndice = new ArrayList<>();
+        for (int mascara = 1; mascara < ConsultasFiltroLancamento.TEXTO; mascara++) {
+            String plano = jdbc.queryForObject("EXPLAIN " + EscritorJsonLancamento.sqlFiltro(mascara), String.class,
+                    ConsultasFiltroLancamento.parametrosSql(FILTRO, mascara));
+            if (plano.toLowerCase(Locale.ROOT).contains(".lancamento.tablescan")) {
+                semIndice.add("máscara " + mascara + ":\n" + plano);
+            }
+        }
+        assertThat(semIndice).as("Formatos do filtro sem índice").isEmpty();
+    }
+}